@@ -0,0 +1,69 @@
+package com.postitapplications.user.benchmark;
+
+import static org.mockito.Mockito.when;
+
+import com.postitapplications.user.document.User;
+import com.postitapplications.user.dto.AuthenticationRequest;
+import com.postitapplications.user.repository.UserRepo;
+import com.postitapplications.user.service.PasswordHasher;
+import com.postitapplications.user.service.UserAuthenticationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(1)
+@Fork(1)
+public class UserAuthenticationBenchmark {
+
+    @Param({"0s", "10s"})
+    private String cacheTtl;
+    @Param({"10"})
+    private int hashCost;
+
+    private PasswordHasher passwordHasher;
+    private UserAuthenticationService userAuthenticationService;
+    private AuthenticationRequest authenticationRequest;
+
+    @Setup
+    public void setUp() {
+        passwordHasher = new PasswordHasher(hashCost, 1, 1024, new SimpleMeterRegistry());
+        User savedUser = new User(UUID.randomUUID(), "johnSmith123",
+            passwordHasher.hash("password"));
+        UserRepo userRepo = Mockito.mock(UserRepo.class);
+        when(userRepo.findByUsername("johnSmith123")).thenReturn(savedUser);
+
+        userAuthenticationService = new UserAuthenticationService(userRepo, passwordHasher,
+            Duration.parse("PT" + cacheTtl.toUpperCase()), 10000);
+        authenticationRequest = new AuthenticationRequest("johnSmith123", "password");
+    }
+
+    @TearDown
+    public void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Benchmark
+    public User authenticate() {
+        return userAuthenticationService.authenticate(authenticationRequest);
+    }
+}
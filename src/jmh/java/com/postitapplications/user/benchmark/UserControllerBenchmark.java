@@ -0,0 +1,81 @@
+package com.postitapplications.user.benchmark;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.postitapplications.user.controller.UserController;
+import com.postitapplications.user.controller.UserResponseCache;
+import com.postitapplications.user.document.User;
+import com.postitapplications.user.exception.UserExceptionHandler;
+import com.postitapplications.user.service.UserAuthenticationService;
+import com.postitapplications.user.service.UserBatchService;
+import com.postitapplications.user.service.UserEventService;
+import com.postitapplications.user.service.UserImportService;
+import com.postitapplications.user.service.UserQueryService;
+import com.postitapplications.user.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserControllerBenchmark {
+
+    private static final String USER_JSON =
+        "{\"username\":\"johnSmith123\",\"password\":\"password\"}";
+
+    private MockMvc mockMvc;
+    private UUID savedUserId;
+
+    @Setup
+    public void setUp() {
+        UserService userService = Mockito.mock(UserService.class);
+        User savedUser = new User(UUID.randomUUID(), "johnSmith123", "password");
+        when(userService.saveUser(Mockito.any())).thenReturn(savedUser);
+        when(userService.getUserById(savedUser.getId())).thenReturn(savedUser);
+        savedUserId = savedUser.getId();
+
+        UserController userController = new UserController(userService,
+            Mockito.mock(UserBatchService.class), Mockito.mock(UserImportService.class),
+            Mockito.mock(UserQueryService.class), Mockito.mock(UserAuthenticationService.class),
+            Mockito.mock(UserEventService.class),
+            new UserResponseCache(new ObjectMapper(), true, 10_000), "private, no-cache");
+        UserExceptionHandler userExceptionHandler = new UserExceptionHandler(
+            new SimpleMeterRegistry());
+        mockMvc = MockMvcBuilders.standaloneSetup(userController)
+                                 .setControllerAdvice(userExceptionHandler).build();
+    }
+
+    @Benchmark
+    public MvcResult saveUser() throws Exception {
+        return mockMvc
+            .perform(post("/user").contentType(MediaType.APPLICATION_JSON).content(USER_JSON))
+            .andReturn();
+    }
+
+    @Benchmark
+    public MvcResult getUserById() throws Exception {
+        return mockMvc.perform(get("/user/" + savedUserId)).andReturn();
+    }
+}
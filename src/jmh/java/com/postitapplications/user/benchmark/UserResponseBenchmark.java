@@ -0,0 +1,67 @@
+package com.postitapplications.user.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import com.postitapplications.user.controller.UserResponseCache;
+import com.postitapplications.user.document.User;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserResponseBenchmark {
+
+    private final User user = new User(UUID.randomUUID(), "johnSmith123",
+        "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z6Ot4bfTq1Zxl6eVWzSDSvWi", 3L, Instant.now());
+    private final ByteArrayOutputStream response = new ByteArrayOutputStream(512);
+    private ObjectWriter reflectiveWriter;
+    private ObjectWriter afterburnerWriter;
+    private UserResponseCache userResponseCache;
+
+    @Setup
+    public void setUp() {
+        reflectiveWriter = new ObjectMapper().writerFor(User.class);
+        ObjectMapper afterburnerMapper = new ObjectMapper().registerModule(new AfterburnerModule());
+        afterburnerWriter = afterburnerMapper.writerFor(User.class);
+        userResponseCache = new UserResponseCache(afterburnerMapper, true, 10_000);
+    }
+
+    @Benchmark
+    public int reflectiveSerialization() throws IOException {
+        response.reset();
+        reflectiveWriter.writeValue(response, user);
+        return response.size();
+    }
+
+    @Benchmark
+    public int afterburnerSerialization() throws IOException {
+        response.reset();
+        afterburnerWriter.writeValue(response, user);
+        return response.size();
+    }
+
+    @Benchmark
+    public int preEncodedResponse() throws IOException {
+        response.reset();
+        response.write(userResponseCache.encode(user).getJson());
+        return response.size();
+    }
+}
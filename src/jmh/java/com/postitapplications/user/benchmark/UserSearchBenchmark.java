@@ -0,0 +1,79 @@
+package com.postitapplications.user.benchmark;
+
+import static org.mockito.Mockito.doAnswer;
+
+import com.postitapplications.user.document.User;
+import com.postitapplications.user.repository.UserRepo;
+import com.postitapplications.user.repository.UsernameIndexingUserRepository;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class UserSearchBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int userCount;
+    @Param({"2", "4"})
+    private int prefixLength;
+    @Param({"10"})
+    private int limit;
+
+    private UsernameIndexingUserRepository usernameIndexingUserRepository;
+    private String[] prefixes;
+
+    @Setup
+    public void setUp() {
+        UserRepo userRepo = Mockito.mock(UserRepo.class);
+        doAnswer(invocation -> {
+            BiConsumer<UUID, String> consumer = invocation.getArgument(0);
+
+            for (int i = 0; i < userCount; i++) {
+                consumer.accept(UUID.randomUUID(), username(i));
+            }
+
+            return null;
+        }).when(userRepo).forEachUsername(Mockito.any());
+
+        usernameIndexingUserRepository = new UsernameIndexingUserRepository(userRepo, true);
+        usernameIndexingUserRepository.load();
+        usernameIndexingUserRepository.setCaughtUp(true);
+        prefixes = new String[1024];
+
+        for (int i = 0; i < prefixes.length; i++) {
+            prefixes[i] = username(ThreadLocalRandom.current().nextInt(userCount))
+                .substring(0, prefixLength);
+        }
+    }
+
+    @Benchmark
+    public List<User> findByUsernamePrefix() {
+        String prefix = prefixes[ThreadLocalRandom.current().nextInt(prefixes.length)];
+        return usernameIndexingUserRepository.findByUsernamePrefix(prefix, limit);
+    }
+
+    private static String username(int index) {
+        return Long.toString(index * 0x9e3779b97f4a7c15L & Long.MAX_VALUE, 36) + index;
+    }
+}
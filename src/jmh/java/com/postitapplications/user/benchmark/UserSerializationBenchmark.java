@@ -0,0 +1,45 @@
+package com.postitapplications.user.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.postitapplications.user.document.User;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserSerializationBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final User user = new User(UUID.randomUUID(), "johnSmith123", "password");
+    private String userJson;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        userJson = objectMapper.writeValueAsString(user);
+    }
+
+    @Benchmark
+    public String serializeUser() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(user);
+    }
+
+    @Benchmark
+    public User deserializeUser() throws JsonProcessingException {
+        return objectMapper.readValue(userJson, User.class);
+    }
+}
@@ -0,0 +1,107 @@
+package com.postitapplications.user.benchmark;
+
+import static org.mockito.Mockito.when;
+
+import com.postitapplications.user.UserApplication;
+import com.postitapplications.user.document.User;
+import com.postitapplications.user.repository.UserEventRepository;
+import com.postitapplications.user.repository.ReadConsistency;
+import com.postitapplications.user.repository.UserRepo;
+import com.postitapplications.user.service.PasswordHasher;
+import com.postitapplications.user.service.UserEventOutbox;
+import com.postitapplications.user.service.UserService;
+import com.postitapplications.user.service.UserUpdateBuffer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserServiceBenchmark {
+
+    @Param({"mocked", "embedded"})
+    private String repository;
+    @Param({"4", "10"})
+    private int hashCost;
+
+    private final AtomicLong usernameSequence = new AtomicLong();
+    private ConfigurableApplicationContext applicationContext;
+    private UserService userService;
+    private UUID savedUserId;
+
+    @Setup
+    public void setUp() {
+        UserRepo userRepo = "embedded".equals(repository) ? embeddedUserRepo() : mockedUserRepo();
+        UserEventOutbox userEventOutbox = userEventOutbox();
+        userService = new UserService(userRepo,
+            new PasswordHasher(hashCost, 0, 1024, new SimpleMeterRegistry()),
+            new UserUpdateBuffer(userRepo, new ReadConsistency(Duration.ofSeconds(90)),
+                userEventOutbox, false, Duration.ofMillis(5), 500, Duration.ofSeconds(5),
+                new SimpleMeterRegistry()), userEventOutbox);
+        savedUserId = userService.saveUser(new User(null, "benchmarkUser", "password")).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (applicationContext != null) {
+            applicationContext.close();
+        }
+    }
+
+    @Benchmark
+    public User saveUser() {
+        String username = "benchmarkUser" + usernameSequence.incrementAndGet();
+        return userService.saveUser(new User(null, username, "password"));
+    }
+
+    @Benchmark
+    public User getUserById() {
+        return userService.getUserById(savedUserId);
+    }
+
+    private UserRepo embeddedUserRepo() {
+        applicationContext = new SpringApplicationBuilder(UserApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties("eureka.client.enabled=false")
+            .run();
+        return applicationContext.getBean("MongoDBRepo", UserRepo.class);
+    }
+
+    private UserEventOutbox userEventOutbox() {
+        if (applicationContext != null) {
+            return applicationContext.getBean(UserEventOutbox.class);
+        }
+
+        return new UserEventOutbox(Mockito.mock(UserEventRepository.class), null);
+    }
+
+    private static UserRepo mockedUserRepo() {
+        UserRepo userRepo = Mockito.mock(UserRepo.class);
+        User savedUser = new User(UUID.randomUUID(), "benchmarkUser", "password");
+        when(userRepo.save(Mockito.any(User.class))).thenReturn(savedUser);
+        when(userRepo.findById(savedUser.getId())).thenReturn(savedUser);
+        return userRepo;
+    }
+}
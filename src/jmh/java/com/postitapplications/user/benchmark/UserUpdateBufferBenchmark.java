@@ -0,0 +1,113 @@
+package com.postitapplications.user.benchmark;
+
+import static org.mockito.Mockito.when;
+
+import com.mongodb.client.result.UpdateResult;
+import com.postitapplications.user.document.User;
+import com.postitapplications.user.dto.UpdateOutcome;
+import com.postitapplications.user.repository.ReadConsistency;
+import com.postitapplications.user.repository.UserEventRepository;
+import com.postitapplications.user.repository.UserRepo;
+import com.postitapplications.user.service.UserEventOutbox;
+import com.postitapplications.user.service.UserUpdateBuffer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(32)
+@Fork(1)
+public class UserUpdateBufferBenchmark {
+
+    private static final UpdateResult MATCHED = UpdateResult.acknowledged(1, 1L, null);
+
+    @Param({"false", "true"})
+    private boolean writeBehind;
+    @Param({"1", "5"})
+    private int flushIntervalMillis;
+    @Param({"500"})
+    private int maxBatchSize;
+    @Param({"100", "100000"})
+    private int userCount;
+    @Param({"500"})
+    private int roundTripMicros;
+    @Param({"5"})
+    private int perUserMicros;
+    @Param({"4"})
+    private int connections;
+
+    private UserUpdateBuffer userUpdateBuffer;
+    private UUID[] userIds;
+
+    @Setup
+    public void setUp() {
+        Semaphore connectionPool = new Semaphore(connections);
+        UserRepo userRepo = Mockito.mock(UserRepo.class);
+        when(userRepo.update(Mockito.any())).thenAnswer(invocation -> {
+            write(connectionPool, 1);
+            return MATCHED;
+        });
+        when(userRepo.updateAll(Mockito.any())).thenAnswer(invocation -> {
+            List<User> users = invocation.getArgument(0);
+            write(connectionPool, users.size());
+            return Collections.nCopies(users.size(), MATCHED);
+        });
+
+        userUpdateBuffer = new UserUpdateBuffer(userRepo,
+            new ReadConsistency(Duration.ofSeconds(90)),
+            new UserEventOutbox(Mockito.mock(UserEventRepository.class), null), writeBehind,
+            Duration.ofMillis(flushIntervalMillis), maxBatchSize, Duration.ofSeconds(5),
+            new SimpleMeterRegistry());
+        userIds = new UUID[userCount];
+
+        for (int i = 0; i < userCount; i++) {
+            userIds[i] = UUID.randomUUID();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        userUpdateBuffer.shutdown();
+    }
+
+    @Benchmark
+    public UpdateOutcome update() {
+        UUID id = userIds[ThreadLocalRandom.current().nextInt(userIds.length)];
+        return userUpdateBuffer.update(new User(id, "benchmarkUser", "password"));
+    }
+
+    private void write(Semaphore connectionPool, int userCount) throws InterruptedException {
+        connectionPool.acquire();
+
+        try {
+            LockSupport.parkNanos(
+                TimeUnit.MICROSECONDS.toNanos(roundTripMicros + (long) perUserMicros * userCount));
+        } finally {
+            connectionPool.release();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.postitapplications.user.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "user.json.afterburner", havingValue = "true",
+        matchIfMissing = true)
+    public Module afterburnerModule() {
+        return new AfterburnerModule();
+    }
+}
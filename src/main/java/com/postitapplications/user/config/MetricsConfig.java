@@ -0,0 +1,25 @@
+package com.postitapplications.user.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.mongodb.MongoMetricsConnectionPoolListener;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoConnectionPoolMetricsCustomizer(
+        MeterRegistry meterRegistry) {
+        return settingsBuilder -> settingsBuilder.applyToConnectionPoolSettings(
+            poolSettings -> poolSettings
+                .addConnectionPoolListener(new MongoMetricsConnectionPoolListener(meterRegistry)));
+    }
+}
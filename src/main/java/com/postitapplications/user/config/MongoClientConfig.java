@@ -0,0 +1,121 @@
+package com.postitapplications.user.config;
+
+import com.mongodb.ReadPreference;
+import com.postitapplications.user.config.MongoClientProperties.Pool;
+import com.postitapplications.user.repository.ReadConsistency;
+import java.util.concurrent.TimeUnit;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.ReactiveMongoTransactionManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.WriteConcernResolver;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+@Configuration
+@EnableConfigurationProperties(MongoClientProperties.class)
+public class MongoClientConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoClientPropertiesCustomizer(
+        MongoClientProperties properties) {
+        Pool pool = properties.getPool();
+
+        return settingsBuilder -> settingsBuilder
+            .applyToConnectionPoolSettings(poolSettings -> poolSettings
+                .minSize(pool.getMinSize())
+                .maxSize(pool.getMaxSize())
+                .maxWaitTime(pool.getMaxWaitTime().toMillis(), TimeUnit.MILLISECONDS)
+                .maxConnectionIdleTime(pool.getMaxConnectionIdleTime().toMillis(),
+                    TimeUnit.MILLISECONDS)
+                .maxConnectionLifeTime(pool.getMaxConnectionLifeTime().toMillis(),
+                    TimeUnit.MILLISECONDS))
+            .applyToSocketSettings(socketSettings -> socketSettings
+                .connectTimeout((int) properties.getConnectTimeout().toMillis(),
+                    TimeUnit.MILLISECONDS)
+                .readTimeout((int) properties.getSocketTimeout().toMillis(),
+                    TimeUnit.MILLISECONDS))
+            .readPreference(properties.getReadPreference())
+            .writeConcern(properties.getWriteConcern());
+    }
+
+    @Bean
+    public WriteConcernResolver writeConcernResolver(MongoClientProperties properties) {
+        return action -> properties.getWriteConcerns()
+                                   .getOrDefault(action.getMongoActionOperation(),
+                                       action.getDefaultWriteConcern());
+    }
+
+    @Bean
+    @Primary
+    public MongoTemplate mongoTemplate(MongoDatabaseFactory mongoDatabaseFactory,
+        MongoConverter mongoConverter, WriteConcernResolver writeConcernResolver) {
+        MongoTemplate mongoTemplate = new MongoTemplate(mongoDatabaseFactory, mongoConverter);
+        mongoTemplate.setWriteConcernResolver(writeConcernResolver);
+        return mongoTemplate;
+    }
+
+    @Bean
+    public MongoTemplate lookupMongoTemplate(MongoDatabaseFactory mongoDatabaseFactory,
+        MongoConverter mongoConverter, MongoClientProperties properties) {
+        MongoTemplate lookupMongoTemplate = new MongoTemplate(mongoDatabaseFactory,
+            mongoConverter);
+        lookupMongoTemplate.setReadPreference(properties.getLookups().getReadPreference());
+        return lookupMongoTemplate;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "user.events.transactional", havingValue = "true")
+    public MongoTransactionManager transactionManager(MongoDatabaseFactory mongoDatabaseFactory) {
+        requireTransactionSupport(mongoDatabaseFactory);
+        return new MongoTransactionManager(mongoDatabaseFactory);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = Type.REACTIVE)
+    @ConditionalOnProperty(name = "user.events.transactional", havingValue = "true")
+    public ReactiveMongoTransactionManager reactiveTransactionManager(
+        ReactiveMongoDatabaseFactory reactiveMongoDatabaseFactory,
+        MongoDatabaseFactory mongoDatabaseFactory) {
+        requireTransactionSupport(mongoDatabaseFactory);
+        return new ReactiveMongoTransactionManager(reactiveMongoDatabaseFactory);
+    }
+
+    @Bean
+    public ReadConsistency readConsistency(MongoClientProperties properties) {
+        return new ReadConsistency(properties.getLookups().getPinToPrimaryFor(),
+            ReadPreference.primary().equals(properties.getLookups().getReadPreference()));
+    }
+
+    @Bean
+    public ReactiveMongoTemplate reactiveMongoTemplate(
+        ReactiveMongoDatabaseFactory reactiveMongoDatabaseFactory, MongoConverter mongoConverter,
+        WriteConcernResolver writeConcernResolver) {
+        ReactiveMongoTemplate reactiveMongoTemplate = new ReactiveMongoTemplate(
+            reactiveMongoDatabaseFactory, mongoConverter);
+        reactiveMongoTemplate.setWriteConcernResolver(writeConcernResolver);
+        return reactiveMongoTemplate;
+    }
+
+    private static void requireTransactionSupport(MongoDatabaseFactory mongoDatabaseFactory) {
+        Document isMaster = mongoDatabaseFactory.getMongoDatabase("admin")
+                                                .runCommand(new Document("isMaster", 1));
+
+        if (!isMaster.containsKey("setName") && !"isdbgrid".equals(isMaster.get("msg"))) {
+            throw new IllegalStateException(
+                "user.events.transactional requires a replica set or sharded cluster, but the "
+                    + "configured MongoDB server is standalone. Disable "
+                    + "user.events.transactional or run MongoDB as a replica set");
+        }
+    }
+}
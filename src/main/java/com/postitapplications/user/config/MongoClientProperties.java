@@ -0,0 +1,147 @@
+package com.postitapplications.user.config;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.WriteConcern;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.data.mongodb.core.MongoActionOperation;
+
+@ConstructorBinding
+@ConfigurationProperties("user.mongo")
+public class MongoClientProperties {
+
+    private final Pool pool;
+    private final Duration connectTimeout;
+    private final Duration socketTimeout;
+    private final ReadPreference readPreference;
+    private final Lookups lookups;
+    private final WriteConcern writeConcern;
+    private final Map<MongoActionOperation, WriteConcern> writeConcerns;
+
+    public MongoClientProperties(@DefaultValue Pool pool,
+        @DefaultValue("10s") Duration connectTimeout, @DefaultValue("0s") Duration socketTimeout,
+        @DefaultValue("primary") String readPreference, @DefaultValue Lookups lookups,
+        @DefaultValue("acknowledged") String writeConcern,
+        Map<MongoActionOperation, String> writeConcerns) {
+        this.pool = pool;
+        this.connectTimeout = connectTimeout;
+        this.socketTimeout = socketTimeout;
+        this.readPreference = ReadPreference.valueOf(readPreference);
+        this.lookups = lookups;
+        this.writeConcern = toWriteConcern(writeConcern);
+        this.writeConcerns = writeConcerns == null ? Map.of() : writeConcerns.entrySet().stream()
+            .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey,
+                entry -> toWriteConcern(entry.getValue())));
+    }
+
+    public Pool getPool() {
+        return pool;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public Duration getSocketTimeout() {
+        return socketTimeout;
+    }
+
+    public ReadPreference getReadPreference() {
+        return readPreference;
+    }
+
+    public Lookups getLookups() {
+        return lookups;
+    }
+
+    public WriteConcern getWriteConcern() {
+        return writeConcern;
+    }
+
+    public Map<MongoActionOperation, WriteConcern> getWriteConcerns() {
+        return writeConcerns;
+    }
+
+    private static WriteConcern toWriteConcern(String name) {
+        WriteConcern writeConcern = WriteConcern.valueOf(name);
+
+        if (writeConcern == null) {
+            throw new IllegalArgumentException(String.format(
+                "Write concern %s is not supported, expected one of [acknowledged, w1, w2, w3, "
+                    + "unacknowledged, journaled, majority]", name));
+        }
+
+        return writeConcern;
+    }
+
+    public static class Pool {
+
+        private final int minSize;
+        private final int maxSize;
+        private final Duration maxWaitTime;
+        private final Duration maxConnectionIdleTime;
+        private final Duration maxConnectionLifeTime;
+
+        public Pool(@DefaultValue("0") int minSize, @DefaultValue("100") int maxSize,
+            @DefaultValue("2m") Duration maxWaitTime,
+            @DefaultValue("0s") Duration maxConnectionIdleTime,
+            @DefaultValue("0s") Duration maxConnectionLifeTime) {
+            this.minSize = minSize;
+            this.maxSize = maxSize;
+            this.maxWaitTime = maxWaitTime;
+            this.maxConnectionIdleTime = maxConnectionIdleTime;
+            this.maxConnectionLifeTime = maxConnectionLifeTime;
+        }
+
+        public int getMinSize() {
+            return minSize;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public Duration getMaxWaitTime() {
+            return maxWaitTime;
+        }
+
+        public Duration getMaxConnectionIdleTime() {
+            return maxConnectionIdleTime;
+        }
+
+        public Duration getMaxConnectionLifeTime() {
+            return maxConnectionLifeTime;
+        }
+    }
+
+    public static class Lookups {
+
+        private final ReadPreference readPreference;
+        private final Duration pinToPrimaryFor;
+
+        public Lookups(@DefaultValue("primary") String readPreference,
+            @DefaultValue("0s") Duration maxStaleness,
+            @DefaultValue("90s") Duration pinToPrimaryFor) {
+            ReadPreference namedReadPreference = ReadPreference.valueOf(readPreference);
+            this.readPreference =
+                maxStaleness.isZero() || namedReadPreference.equals(ReadPreference.primary())
+                    ? namedReadPreference : ReadPreference.valueOf(readPreference, List.of(),
+                    maxStaleness.toMillis(), TimeUnit.MILLISECONDS);
+            this.pinToPrimaryFor = pinToPrimaryFor;
+        }
+
+        public ReadPreference getReadPreference() {
+            return readPreference;
+        }
+
+        public Duration getPinToPrimaryFor() {
+            return pinToPrimaryFor;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.postitapplications.user.config;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionPoolClearedEvent;
+import com.mongodb.event.ConnectionPoolClosedEvent;
+import com.mongodb.event.ConnectionPoolCreatedEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.stereotype.Component;
+
+@Component
+public class MongoConnectionPoolEventListener implements ConnectionPoolListener,
+    MongoClientSettingsBuilderCustomizer {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<ServerId, PoolCounters> poolCounters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public MongoConnectionPoolEventListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void customize(MongoClientSettings.Builder settingsBuilder) {
+        settingsBuilder.applyToConnectionPoolSettings(
+            poolSettings -> poolSettings.addConnectionPoolListener(this));
+    }
+
+    @Override
+    public void connectionPoolCreated(ConnectionPoolCreatedEvent event) {
+        ServerId serverId = event.getServerId();
+        poolCounters.put(serverId, new PoolCounters(
+            counter("mongodb.driver.pool.checkout.failures",
+                "Connection checkouts that timed out or failed", serverId),
+            counter("mongodb.driver.pool.cleared", "Times the pool was cleared after an error",
+                serverId)));
+    }
+
+    @Override
+    public void connectionPoolClosed(ConnectionPoolClosedEvent event) {
+        PoolCounters counters = poolCounters.remove(event.getServerId());
+
+        if (counters != null) {
+            meterRegistry.remove(counters.checkOutFailures);
+            meterRegistry.remove(counters.cleared);
+        }
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        PoolCounters counters = poolCounters.get(event.getServerId());
+
+        if (counters != null) {
+            counters.checkOutFailures.increment();
+        }
+    }
+
+    @Override
+    public void connectionPoolCleared(ConnectionPoolClearedEvent event) {
+        PoolCounters counters = poolCounters.get(event.getServerId());
+
+        if (counters != null) {
+            counters.cleared.increment();
+        }
+    }
+
+    private Counter counter(String name, String description, ServerId serverId) {
+        return Counter.builder(name)
+                      .tag("cluster.id", serverId.getClusterId().getValue())
+                      .tag("server.address", serverId.getAddress().toString())
+                      .description(description)
+                      .register(meterRegistry);
+    }
+
+    private static class PoolCounters {
+
+        private final Counter checkOutFailures;
+        private final Counter cleared;
+
+        private PoolCounters(Counter checkOutFailures, Counter cleared) {
+            this.checkOutFailures = checkOutFailures;
+            this.cleared = cleared;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.postitapplications.user.config;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.stereotype.Component;
+
+@Component
+public class MongoInFlightCommandListener implements CommandListener, MeterBinder,
+    MongoClientSettingsBuilderCustomizer {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    @Override
+    public void customize(MongoClientSettings.Builder settingsBuilder) {
+        settingsBuilder.addCommandListener(this);
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        inFlight.decrementAndGet();
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        inFlight.decrementAndGet();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int getPeakInFlight() {
+        return peakInFlight.get();
+    }
+
+    public int resetPeakInFlight() {
+        return peakInFlight.getAndSet(inFlight.get());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("mongodb.commands.in.flight", inFlight, AtomicInteger::get)
+             .description("Mongo commands currently awaiting a reply")
+             .register(registry);
+        Gauge.builder("mongodb.commands.in.flight.peak", peakInFlight, AtomicInteger::get)
+             .description("Most Mongo commands awaiting a reply at once")
+             .register(registry);
+    }
+}
@@ -0,0 +1,26 @@
+package com.postitapplications.user.config;
+
+import com.postitapplications.user.controller.ConsistencyTokenAdvice;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final ConsistencyTokenAdvice consistencyTokenAdvice;
+
+    @Autowired
+    public WebMvcConfig(ConsistencyTokenAdvice consistencyTokenAdvice) {
+        this.consistencyTokenAdvice = consistencyTokenAdvice;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(consistencyTokenAdvice).addPathPatterns("/user/**");
+    }
+}
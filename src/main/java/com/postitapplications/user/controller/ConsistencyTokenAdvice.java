@@ -0,0 +1,66 @@
+package com.postitapplications.user.controller;
+
+import com.postitapplications.user.repository.ReadConsistency;
+import com.postitapplications.user.utility.ConsistencyTokens;
+import java.time.Instant;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+@ControllerAdvice(assignableTypes = UserController.class)
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class ConsistencyTokenAdvice implements HandlerInterceptor, ResponseBodyAdvice<Object> {
+
+    private final ReadConsistency readConsistency;
+
+    @Autowired
+    public ConsistencyTokenAdvice(ReadConsistency readConsistency) {
+        this.readConsistency = readConsistency;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response,
+        Object handler) {
+        readConsistency.clear();
+        readConsistency
+            .observeWrite(ConsistencyTokens.fromToken(request.getHeader(ConsistencyTokens.HEADER)));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+        Object handler, Exception exception) {
+        readConsistency.clear();
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType,
+        Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType,
+        MediaType selectedContentType,
+        Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+        ServerHttpResponse response) {
+        Instant lastWrite = readConsistency.getLastWrite();
+
+        if (lastWrite != null) {
+            response.getHeaders()
+                    .set(ConsistencyTokens.HEADER, ConsistencyTokens.toToken(lastWrite));
+        }
+
+        return body;
+    }
+}
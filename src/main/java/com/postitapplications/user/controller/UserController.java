@@ -1,32 +1,79 @@
 package com.postitapplications.user.controller;
 
 import com.mongodb.client.result.DeleteResult;
-import com.mongodb.client.result.UpdateResult;
 import com.postitapplications.exception.exceptions.UserNotFoundException;
+import com.postitapplications.user.controller.UserResponseCache.EncodedUser;
 import com.postitapplications.user.document.User;
+import com.postitapplications.user.dto.AuthenticationRequest;
+import com.postitapplications.user.dto.BatchDeleteResult;
+import com.postitapplications.user.dto.BatchSaveResult;
+import com.postitapplications.user.dto.ImportProgress;
+import com.postitapplications.user.dto.UpdateOutcome;
+import com.postitapplications.user.dto.UpdateOutcome.Status;
+import com.postitapplications.user.dto.UserEventPage;
+import com.postitapplications.user.dto.UserLookupRequest;
+import com.postitapplications.user.dto.UserPage;
+import com.postitapplications.user.dto.UserPatch;
+import com.postitapplications.user.dto.UsernameAvailability;
+import com.postitapplications.user.service.UserAuthenticationService;
+import com.postitapplications.user.service.UserBatchService;
+import com.postitapplications.user.service.UserEventService;
+import com.postitapplications.user.service.UserImportService;
+import com.postitapplications.user.service.UserQueryService;
 import com.postitapplications.user.service.UserService;
+import com.postitapplications.user.utility.VersionTags;
+import java.io.InputStream;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 @RequestMapping("/user")
+@ConditionalOnWebApplication(type = Type.SERVLET)
 public class UserController {
 
     private final UserService userService;
+    private final UserBatchService userBatchService;
+    private final UserImportService userImportService;
+    private final UserQueryService userQueryService;
+    private final UserAuthenticationService userAuthenticationService;
+    private final UserEventService userEventService;
+    private final UserResponseCache userResponseCache;
+    private final String cacheControl;
 
     @Autowired
-    public UserController(UserService userService) {
+    public UserController(UserService userService, UserBatchService userBatchService,
+        UserImportService userImportService, UserQueryService userQueryService,
+        UserAuthenticationService userAuthenticationService, UserEventService userEventService,
+        UserResponseCache userResponseCache,
+        @Value("${user.http.cache-control:private, no-cache}") String cacheControl) {
         this.userService = userService;
+        this.userBatchService = userBatchService;
+        this.userImportService = userImportService;
+        this.userQueryService = userQueryService;
+        this.userAuthenticationService = userAuthenticationService;
+        this.userEventService = userEventService;
+        this.userResponseCache = userResponseCache;
+        this.cacheControl = cacheControl;
     }
 
     @PostMapping
@@ -35,8 +82,67 @@ public class UserController {
         return new ResponseEntity<>(savedUser, HttpStatus.CREATED);
     }
 
+    @PostMapping("authenticate")
+    public ResponseEntity<User> authenticate(
+        @RequestBody AuthenticationRequest authenticationRequest) {
+        User authenticatedUser = userAuthenticationService.authenticate(authenticationRequest);
+        return new ResponseEntity<>(authenticatedUser, HttpStatus.OK);
+    }
+
+    @PostMapping("batch")
+    public ResponseEntity<BatchSaveResult> saveUsers(@RequestBody List<User> users) {
+        BatchSaveResult batchSaveResult = userBatchService.saveUsers(users);
+        return new ResponseEntity<>(batchSaveResult, HttpStatus.OK);
+    }
+
+    @DeleteMapping("batch")
+    public ResponseEntity<BatchDeleteResult> deleteUsers(@RequestBody List<UUID> ids) {
+        BatchDeleteResult batchDeleteResult = userBatchService.deleteUsers(ids);
+        return new ResponseEntity<>(batchDeleteResult, HttpStatus.OK);
+    }
+
+    @PostMapping("lookup")
+    public List<User> getUsers(@RequestBody UserLookupRequest userLookupRequest) {
+        return userBatchService.getUsers(userLookupRequest);
+    }
+
+    @PostMapping(value = "import", consumes = "application/x-ndjson")
+    public ResponseEntity<ImportProgress> importUsers(
+        @RequestParam(value = "importId", required = false) String importId,
+        InputStream inputStream) {
+        ImportProgress importProgress = userImportService.importUsers(importId, inputStream);
+        return new ResponseEntity<>(importProgress, HttpStatus.OK);
+    }
+
+    @GetMapping("import/{importId}")
+    public ImportProgress getImportProgress(@PathVariable("importId") String importId) {
+        return userImportService.getImportProgress(importId);
+    }
+
+    @GetMapping
+    public UserPage getUsers(@RequestParam(value = "sort", defaultValue = "id") String sort,
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "size", required = false) Integer size,
+        @RequestParam(value = "fields", required = false) List<String> fields) {
+        return userQueryService.getUsers(sort, cursor, size, fields);
+    }
+
+    @GetMapping("search")
+    public List<User> searchUsers(@RequestParam("prefix") String prefix,
+        @RequestParam(value = "limit", required = false) Integer limit) {
+        return userQueryService.searchUsers(prefix, limit);
+    }
+
+    @GetMapping("events")
+    public CompletableFuture<UserEventPage> getUserEvents(
+        @RequestParam(value = "since", required = false) String since,
+        @RequestParam(value = "limit", required = false) Integer limit,
+        @RequestParam(value = "wait", required = false) Integer wait) {
+        return userEventService.getEvents(since, limit, wait);
+    }
+
     @GetMapping("{id}")
-    public User getUserById(@PathVariable("id") UUID id) {
+    public ResponseEntity<byte[]> getUserById(@PathVariable("id") UUID id) {
         User foundUser = userService.getUserById(id);
 
         if (foundUser == null) {
@@ -44,11 +150,11 @@ public class UserController {
                 String.format("User with id: %s was not found", id));
         }
 
-        return foundUser;
+        return withValidators(foundUser);
     }
 
     @GetMapping("username/{username}")
-    public User getUserByUsername(@PathVariable("username") String username) {
+    public ResponseEntity<byte[]> getUserByUsername(@PathVariable("username") String username) {
         User foundUser = userService.getUserByUsername(username);
 
         if (foundUser == null) {
@@ -56,19 +162,52 @@ public class UserController {
                 String.format("User with username: %s was not found", username));
         }
 
-        return foundUser;
+        return withValidators(foundUser);
+    }
+
+    @GetMapping("username/{username}/available")
+    public UsernameAvailability getUsernameAvailability(
+        @PathVariable("username") String username) {
+        return userService.getUsernameAvailability(username);
     }
 
     @PutMapping
-    public ResponseEntity<User> updateUser(@RequestBody User user) {
-        UpdateResult updateResult = userService.updateUser(user);
+    public ResponseEntity<User> updateUser(
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @RequestBody User user) {
+        User versionedUser = user == null ? null
+            : user.withVersion(VersionTags.fromIfMatch(ifMatch));
+        UpdateOutcome updateOutcome = userService.updateUser(versionedUser);
+
+        if (updateOutcome.getStatus() == Status.ACCEPTED) {
+            return withETag(versionedUser, HttpStatus.ACCEPTED);
+        }
 
-        if (updateResult.getMatchedCount() == 0) {
+        if (updateOutcome.getUpdateResult().getMatchedCount() == 0) {
             throw new UserNotFoundException(
                 String.format("User with id: %s was not found", user.getId()));
         }
 
-        return new ResponseEntity<>(user, HttpStatus.OK);
+        if (updateOutcome.getStatus() == Status.SUPERSEDED) {
+            return withETag(updateOutcome.getUser(), HttpStatus.OK);
+        }
+
+        Long version = versionedUser.getVersion();
+        return withETag(version == null ? versionedUser : versionedUser.withVersion(version + 1),
+            HttpStatus.OK);
+    }
+
+    @PatchMapping("{id}")
+    public ResponseEntity<User> patchUser(@PathVariable UUID id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @RequestBody UserPatch userPatch) {
+        User patchedUser = userService.patchUser(id, VersionTags.fromIfMatch(ifMatch), userPatch);
+
+        if (patchedUser == null) {
+            throw new UserNotFoundException(String.format("User with id: %s was not found", id));
+        }
+
+        return withETag(patchedUser, HttpStatus.OK);
     }
 
     @DeleteMapping("{id}")
@@ -82,4 +221,28 @@ public class UserController {
 
         return new ResponseEntity<>(id, HttpStatus.OK);
     }
+
+    private ResponseEntity<byte[]> withValidators(User user) {
+        EncodedUser encodedUser = userResponseCache.encode(user);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setETag(encodedUser.getETag());
+        headers.setCacheControl(cacheControl);
+
+        if (user.getLastModified() != null) {
+            headers.setLastModified(user.getLastModified());
+        }
+
+        return new ResponseEntity<>(encodedUser.getJson(), headers, HttpStatus.OK);
+    }
+
+    private static ResponseEntity<User> withETag(User user, HttpStatus status) {
+        HttpHeaders headers = new HttpHeaders();
+
+        if (user.getVersion() != null) {
+            headers.setETag(VersionTags.toETag(user.getVersion()));
+        }
+
+        return new ResponseEntity<>(user, headers, status);
+    }
 }
@@ -0,0 +1,101 @@
+package com.postitapplications.user.controller;
+
+import com.postitapplications.exception.exceptions.UserNotFoundException;
+import com.postitapplications.exception.exceptions.ValidationException;
+import com.postitapplications.user.document.User;
+import com.postitapplications.user.exception.ReactiveUserExceptionHandler;
+import com.postitapplications.user.service.ReactiveUserService;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+@Component
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class UserHandler {
+
+    private final ReactiveUserService reactiveUserService;
+    private final ReactiveUserExceptionHandler exceptionHandler;
+
+    @Autowired
+    public UserHandler(ReactiveUserService reactiveUserService,
+        ReactiveUserExceptionHandler exceptionHandler) {
+        this.reactiveUserService = reactiveUserService;
+        this.exceptionHandler = exceptionHandler;
+    }
+
+    public Mono<ServerResponse> saveUser(ServerRequest request) {
+        return requestUser(request).flatMap(reactiveUserService::saveUser)
+                                   .flatMap(savedUser -> json(HttpStatus.CREATED, savedUser))
+                                   .onErrorResume(exceptionHandler::handle);
+    }
+
+    public Mono<ServerResponse> getUserById(ServerRequest request) {
+        return Mono.fromCallable(() -> pathId(request)).flatMap(
+            id -> reactiveUserService.getUserById(id).switchIfEmpty(Mono.error(
+                () -> new UserNotFoundException(
+                    String.format("User with id: %s was not found", id)))))
+                   .flatMap(foundUser -> json(HttpStatus.OK, foundUser))
+                   .onErrorResume(exceptionHandler::handle);
+    }
+
+    public Mono<ServerResponse> getUserByUsername(ServerRequest request) {
+        String username = request.pathVariable("username");
+
+        return reactiveUserService.getUserByUsername(username).switchIfEmpty(Mono.error(
+            () -> new UserNotFoundException(
+                String.format("User with username: %s was not found", username))))
+                                  .flatMap(foundUser -> json(HttpStatus.OK, foundUser))
+                                  .onErrorResume(exceptionHandler::handle);
+    }
+
+    public Mono<ServerResponse> updateUser(ServerRequest request) {
+        return requestUser(request).flatMap(
+            user -> reactiveUserService.updateUser(user).flatMap(updateResult -> {
+                if (updateResult.getMatchedCount() == 0) {
+                    return Mono.error(new UserNotFoundException(
+                        String.format("User with id: %s was not found", user.getId())));
+                }
+
+                return json(HttpStatus.OK, user);
+            })).onErrorResume(exceptionHandler::handle);
+    }
+
+    public Mono<ServerResponse> deleteUserById(ServerRequest request) {
+        return Mono.fromCallable(() -> pathId(request)).flatMap(
+            id -> reactiveUserService.deleteUserById(id).flatMap(deleteResult -> {
+                if (deleteResult.getDeletedCount() == 0) {
+                    return Mono.error(new UserNotFoundException(
+                        String.format("User with id: %s was not found", id)));
+                }
+
+                return json(HttpStatus.OK, id);
+            })).onErrorResume(exceptionHandler::handle);
+    }
+
+    private static Mono<User> requestUser(ServerRequest request) {
+        return request.bodyToMono(User.class).switchIfEmpty(
+            Mono.error(() -> new ValidationException("User cannot be null")));
+    }
+
+    private static UUID pathId(ServerRequest request) {
+        String id = request.pathVariable("id");
+
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException exception) {
+            throw new ValidationException(String.format("Id: %s is not a valid UUID", id));
+        }
+    }
+
+    private static Mono<ServerResponse> json(HttpStatus status, Object body) {
+        return ServerResponse.status(status).contentType(MediaType.APPLICATION_JSON)
+                             .bodyValue(body);
+    }
+}
@@ -0,0 +1,113 @@
+package com.postitapplications.user.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.postitapplications.user.document.User;
+import com.postitapplications.user.utility.VersionTags;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UserResponseCache implements MeterBinder {
+
+    private final ObjectWriter userWriter;
+    private final boolean enabled;
+    private final Cache<VersionKey, EncodedUser> encodedUsers;
+
+    @Autowired
+    public UserResponseCache(ObjectMapper objectMapper,
+        @Value("${user.response-cache.enabled:true}") boolean enabled,
+        @Value("${user.response-cache.maximum-size:10000}") long maximumSize) {
+        this.userWriter = objectMapper.writerFor(User.class);
+        this.enabled = enabled;
+        this.encodedUsers = Caffeine.newBuilder()
+                                    .maximumSize(maximumSize)
+                                    .executor(Runnable::run)
+                                    .recordStats()
+                                    .build();
+    }
+
+    public EncodedUser encode(User user) {
+        if (!enabled || user.getId() == null || user.getVersion() == null) {
+            return newEncodedUser(user);
+        }
+
+        return encodedUsers
+            .get(new VersionKey(user.getId(), user.getVersion()), key -> newEncodedUser(user));
+    }
+
+    public long size() {
+        return encodedUsers.estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, encodedUsers, "userResponses");
+    }
+
+    private EncodedUser newEncodedUser(User user) {
+        try {
+            return new EncodedUser(userWriter.writeValueAsBytes(user), VersionTags.eTagOf(user));
+        } catch (JsonProcessingException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private static class VersionKey {
+
+        private final UUID id;
+        private final long version;
+
+        private VersionKey(UUID id, long version) {
+            this.id = id;
+            this.version = version;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+
+            if (!(other instanceof VersionKey)) {
+                return false;
+            }
+
+            VersionKey versionKey = (VersionKey) other;
+            return version == versionKey.version && id.equals(versionKey.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * id.hashCode() + Long.hashCode(version);
+        }
+    }
+
+    public static class EncodedUser {
+
+        private final byte[] json;
+        private final String eTag;
+
+        private EncodedUser(byte[] json, String eTag) {
+            this.json = json;
+            this.eTag = eTag;
+        }
+
+        public byte[] getJson() {
+            return json;
+        }
+
+        public String getETag() {
+            return eTag;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.postitapplications.user.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+@Configuration
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class UserRouter {
+
+    @Bean
+    public RouterFunction<ServerResponse> userRoutes(UserHandler userHandler) {
+        return RouterFunctions.route()
+                              .POST("/user", userHandler::saveUser)
+                              .GET("/user/{id}", userHandler::getUserById)
+                              .GET("/user/username/{username}", userHandler::getUserByUsername)
+                              .PUT("/user", userHandler::updateUser)
+                              .DELETE("/user/{id}", userHandler::deleteUserById)
+                              .build();
+    }
+}
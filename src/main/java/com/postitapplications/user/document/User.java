@@ -1,12 +1,22 @@
 package com.postitapplications.user.document;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonProperty.Access;
+import com.postitapplications.user.utility.UsernameKeys;
+import java.time.Instant;
 import java.util.UUID;
 import javax.validation.constraints.NotBlank;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.PersistenceConstructor;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Document(collection = "users")
+@JsonInclude(Include.NON_NULL)
 public class User {
 
     @Id
@@ -14,13 +24,41 @@ public class User {
     @NotBlank
     private final String username;
     @NotBlank
+    @JsonProperty(access = Access.WRITE_ONLY)
     private final String password;
+    @Version
+    private final Long version;
+    private final Instant lastModified;
+    @JsonIgnore
+    private final String usernameKey;
+    @JsonIgnore
+    private final Instant deletedAt;
 
+    public User(UUID id, String username, String password) {
+        this(id, username, password, null);
+    }
+
+    public User(UUID id, String username, String password, Long version) {
+        this(id, username, password, version, null);
+    }
+
+    @JsonCreator
     public User(@JsonProperty("id") UUID id, @JsonProperty("username") String username,
-        @JsonProperty("password") String password) {
+        @JsonProperty("password") String password, @JsonProperty("version") Long version,
+        @JsonProperty("lastModified") Instant lastModified) {
+        this(id, username, password, version, lastModified, UsernameKeys.of(username), null);
+    }
+
+    @PersistenceConstructor
+    private User(UUID id, String username, String password, Long version, Instant lastModified,
+        String usernameKey, Instant deletedAt) {
         this.id = id;
         this.username = username;
         this.password = password;
+        this.version = version;
+        this.lastModified = lastModified;
+        this.usernameKey = usernameKey;
+        this.deletedAt = deletedAt;
     }
 
     public UUID getId() {
@@ -34,4 +72,28 @@ public class User {
     public String getPassword() {
         return password;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    public String getUsernameKey() {
+        return usernameKey;
+    }
+
+    public Instant getDeletedAt() {
+        return deletedAt;
+    }
+
+    public User withVersion(Long version) {
+        return new User(id, username, password, version, lastModified, usernameKey, deletedAt);
+    }
+
+    public User withLastModified(Instant lastModified) {
+        return new User(id, username, password, version, lastModified, usernameKey, deletedAt);
+    }
 }
@@ -0,0 +1,63 @@
+package com.postitapplications.user.document;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import java.time.Instant;
+import java.util.UUID;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.PersistenceConstructor;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Document(collection = "userEvents")
+@JsonInclude(Include.NON_NULL)
+public class UserEvent {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    @Id
+    private final Long sequence;
+    private final Type type;
+    private final UUID userId;
+    private final String username;
+    private final Instant occurredAt;
+
+    public UserEvent(Type type, UUID userId, String username) {
+        this(null, type, userId, username, null);
+    }
+
+    @PersistenceConstructor
+    private UserEvent(Long sequence, Type type, UUID userId, String username,
+        Instant occurredAt) {
+        this.sequence = sequence;
+        this.type = type;
+        this.userId = userId;
+        this.username = username;
+        this.occurredAt = occurredAt;
+    }
+
+    public Long getSequence() {
+        return sequence;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    public UserEvent withSequence(Long sequence, Instant occurredAt) {
+        return new UserEvent(sequence, type, userId, username, occurredAt);
+    }
+}
@@ -0,0 +1,20 @@
+package com.postitapplications.user.dto;
+
+public class BackfillResult {
+
+    private final long updated;
+    private final long conflicts;
+
+    public BackfillResult(long updated, long conflicts) {
+        this.updated = updated;
+        this.conflicts = conflicts;
+    }
+
+    public long getUpdated() {
+        return updated;
+    }
+
+    public long getConflicts() {
+        return conflicts;
+    }
+}
@@ -0,0 +1,20 @@
+package com.postitapplications.user.dto;
+
+public class BatchDeleteResult {
+
+    private final long requested;
+    private final long deleted;
+
+    public BatchDeleteResult(long requested, long deleted) {
+        this.requested = requested;
+        this.deleted = deleted;
+    }
+
+    public long getRequested() {
+        return requested;
+    }
+
+    public long getDeleted() {
+        return deleted;
+    }
+}
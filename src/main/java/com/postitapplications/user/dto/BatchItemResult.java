@@ -0,0 +1,63 @@
+package com.postitapplications.user.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import java.util.UUID;
+
+@JsonInclude(Include.NON_NULL)
+public class BatchItemResult {
+
+    public enum Status {
+        CREATED, CONFLICT, INVALID, FAILED
+    }
+
+    private final int index;
+    private final Status status;
+    private final UUID id;
+    private final String username;
+    private final String message;
+
+    public BatchItemResult(int index, Status status, UUID id, String username, String message) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.username = username;
+        this.message = message;
+    }
+
+    public static BatchItemResult created(int index, UUID id, String username) {
+        return new BatchItemResult(index, Status.CREATED, id, username, null);
+    }
+
+    public static BatchItemResult conflict(int index, String username, String message) {
+        return new BatchItemResult(index, Status.CONFLICT, null, username, message);
+    }
+
+    public static BatchItemResult invalid(int index, String username, String message) {
+        return new BatchItemResult(index, Status.INVALID, null, username, message);
+    }
+
+    public static BatchItemResult failed(int index, String username, String message) {
+        return new BatchItemResult(index, Status.FAILED, null, username, message);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
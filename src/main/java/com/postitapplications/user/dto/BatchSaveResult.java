@@ -0,0 +1,37 @@
+package com.postitapplications.user.dto;
+
+import com.postitapplications.user.dto.BatchItemResult.Status;
+import java.util.List;
+
+public class BatchSaveResult {
+
+    private final List<BatchItemResult> items;
+
+    public BatchSaveResult(List<BatchItemResult> items) {
+        this.items = items;
+    }
+
+    public long getCreated() {
+        return count(Status.CREATED);
+    }
+
+    public long getConflicts() {
+        return count(Status.CONFLICT);
+    }
+
+    public long getInvalid() {
+        return count(Status.INVALID);
+    }
+
+    public long getFailed() {
+        return count(Status.FAILED);
+    }
+
+    public List<BatchItemResult> getItems() {
+        return items;
+    }
+
+    private long count(Status status) {
+        return items.stream().filter(item -> item.getStatus() == status).count();
+    }
+}
@@ -0,0 +1,73 @@
+package com.postitapplications.user.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+@JsonInclude(Include.NON_NULL)
+public class ImportProgress {
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    private final String importId;
+    private final Instant startedAt;
+    private final AtomicLong read = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private volatile Status status = Status.RUNNING;
+    private volatile Instant finishedAt;
+
+    public ImportProgress(String importId, Instant startedAt) {
+        this.importId = importId;
+        this.startedAt = startedAt;
+    }
+
+    public void recordRead() {
+        read.incrementAndGet();
+    }
+
+    public void recordBatch(BatchSaveResult batchSaveResult) {
+        written.addAndGet(batchSaveResult.getCreated());
+        rejected.addAndGet(batchSaveResult.getItems().size() - batchSaveResult.getCreated());
+    }
+
+    public void recordRejected() {
+        rejected.incrementAndGet();
+    }
+
+    public void finish(Status status) {
+        this.status = status;
+        this.finishedAt = Instant.now();
+    }
+
+    public String getImportId() {
+        return importId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public long getRead() {
+        return read.get();
+    }
+
+    public long getWritten() {
+        return written.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+}
@@ -0,0 +1,45 @@
+package com.postitapplications.user.dto;
+
+import com.mongodb.client.result.UpdateResult;
+import com.postitapplications.user.document.User;
+
+public class UpdateOutcome {
+
+    public enum Status {
+        APPLIED, SUPERSEDED, ACCEPTED
+    }
+
+    private final Status status;
+    private final UpdateResult updateResult;
+    private final User user;
+
+    private UpdateOutcome(Status status, UpdateResult updateResult, User user) {
+        this.status = status;
+        this.updateResult = updateResult;
+        this.user = user;
+    }
+
+    public static UpdateOutcome applied(UpdateResult updateResult, User user) {
+        return new UpdateOutcome(Status.APPLIED, updateResult, user);
+    }
+
+    public static UpdateOutcome superseded(UpdateResult updateResult, User writtenUser) {
+        return new UpdateOutcome(Status.SUPERSEDED, updateResult, writtenUser);
+    }
+
+    public static UpdateOutcome accepted(User user) {
+        return new UpdateOutcome(Status.ACCEPTED, null, user);
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public UpdateResult getUpdateResult() {
+        return updateResult;
+    }
+
+    public User getUser() {
+        return user;
+    }
+}
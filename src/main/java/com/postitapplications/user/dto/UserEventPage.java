@@ -0,0 +1,23 @@
+package com.postitapplications.user.dto;
+
+import com.postitapplications.user.document.UserEvent;
+import java.util.List;
+
+public class UserEventPage {
+
+    private final List<UserEvent> events;
+    private final String nextCursor;
+
+    public UserEventPage(List<UserEvent> events, String nextCursor) {
+        this.events = events;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<UserEvent> getEvents() {
+        return events;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,25 @@
+package com.postitapplications.user.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+import java.util.UUID;
+
+public class UserLookupRequest {
+
+    private final List<UUID> ids;
+    private final List<String> usernames;
+
+    public UserLookupRequest(@JsonProperty("ids") List<UUID> ids,
+        @JsonProperty("usernames") List<String> usernames) {
+        this.ids = ids == null ? List.of() : ids;
+        this.usernames = usernames == null ? List.of() : usernames;
+    }
+
+    public List<UUID> getIds() {
+        return ids;
+    }
+
+    public List<String> getUsernames() {
+        return usernames;
+    }
+}
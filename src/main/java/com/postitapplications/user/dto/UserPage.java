@@ -0,0 +1,26 @@
+package com.postitapplications.user.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.postitapplications.user.document.User;
+import java.util.List;
+
+@JsonInclude(Include.NON_NULL)
+public class UserPage {
+
+    private final List<User> users;
+    private final String nextCursor;
+
+    public UserPage(List<User> users, String nextCursor) {
+        this.users = users;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<User> getUsers() {
+        return users;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
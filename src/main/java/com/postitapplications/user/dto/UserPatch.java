@@ -0,0 +1,23 @@
+package com.postitapplications.user.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class UserPatch {
+
+    private final String username;
+    private final String password;
+
+    public UserPatch(@JsonProperty("username") String username,
+        @JsonProperty("password") String password) {
+        this.username = username;
+        this.password = password;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+}
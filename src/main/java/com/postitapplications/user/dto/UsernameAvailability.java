@@ -0,0 +1,23 @@
+package com.postitapplications.user.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class UsernameAvailability {
+
+    private final String username;
+    private final boolean available;
+
+    public UsernameAvailability(@JsonProperty("username") String username,
+        @JsonProperty("available") boolean available) {
+        this.username = username;
+        this.available = available;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+}
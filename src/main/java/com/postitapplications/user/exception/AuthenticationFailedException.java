@@ -0,0 +1,8 @@
+package com.postitapplications.user.exception;
+
+public class AuthenticationFailedException extends RuntimeException {
+
+    public AuthenticationFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.postitapplications.user.exception;
+
+public class EventCursorExpiredException extends RuntimeException {
+
+    public EventCursorExpiredException(String message) {
+        super(message);
+    }
+}
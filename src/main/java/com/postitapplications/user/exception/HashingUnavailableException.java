@@ -0,0 +1,8 @@
+package com.postitapplications.user.exception;
+
+public class HashingUnavailableException extends RuntimeException {
+
+    public HashingUnavailableException(String message) {
+        super(message);
+    }
+}
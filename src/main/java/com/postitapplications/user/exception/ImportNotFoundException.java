@@ -0,0 +1,8 @@
+package com.postitapplications.user.exception;
+
+public class ImportNotFoundException extends RuntimeException {
+
+    public ImportNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,65 @@
+package com.postitapplications.user.exception;
+
+import com.postitapplications.exception.ExceptionResponseBody;
+import com.postitapplications.exception.exceptions.UserNotFoundException;
+import com.postitapplications.exception.exceptions.UsernameTakenException;
+import com.postitapplications.exception.exceptions.ValidationException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+@Component
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveUserExceptionHandler {
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public ReactiveUserExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Mono<ServerResponse> handle(Throwable throwable) {
+        HttpStatus status = statusOf(throwable);
+
+        if (status == null) {
+            return Mono.error(throwable);
+        }
+
+        ExceptionResponseBody exceptionResponseBody = new ExceptionResponseBody(status,
+            throwable.getMessage());
+        meterRegistry.counter("user.errors", "exception", throwable.getClass().getSimpleName())
+                     .increment();
+
+        return ServerResponse.status(status).contentType(MediaType.APPLICATION_JSON)
+                             .bodyValue(exceptionResponseBody);
+    }
+
+    private static HttpStatus statusOf(Throwable throwable) {
+        if (throwable instanceof ValidationException
+            || throwable instanceof ServerWebInputException) {
+            return HttpStatus.BAD_REQUEST;
+        }
+
+        if (throwable instanceof UserNotFoundException) {
+            return HttpStatus.NOT_FOUND;
+        }
+
+        if (throwable instanceof UsernameTakenException) {
+            return HttpStatus.CONFLICT;
+        }
+
+        if (throwable instanceof HashingUnavailableException) {
+            return HttpStatus.SERVICE_UNAVAILABLE;
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,8 @@
+package com.postitapplications.user.exception;
+
+public class UpdateUnavailableException extends RuntimeException {
+
+    public UpdateUnavailableException(String message) {
+        super(message);
+    }
+}
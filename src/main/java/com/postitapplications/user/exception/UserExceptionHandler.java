@@ -5,6 +5,10 @@ import com.postitapplications.exception.exceptions.NullOrEmptyException;
 import com.postitapplications.exception.exceptions.UserNotFoundException;
 import com.postitapplications.exception.exceptions.UsernameTakenException;
 import com.postitapplications.exception.exceptions.ValidationException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -12,13 +16,22 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 @RestControllerAdvice
+@ConditionalOnWebApplication(type = Type.SERVLET)
 public class UserExceptionHandler extends ResponseEntityExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public UserExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @ExceptionHandler(value = ValidationException.class)
     public ResponseEntity<Object> handleBadRequestException(Exception exception) {
         HttpStatus badRequest = HttpStatus.BAD_REQUEST;
         ExceptionResponseBody exceptionResponseBody = new ExceptionResponseBody(badRequest,
             exception.getMessage());
+        countError(exception);
 
         return new ResponseEntity<>(exceptionResponseBody, badRequest);
     }
@@ -28,6 +41,18 @@ public class UserExceptionHandler extends ResponseEntityExceptionHandler {
         HttpStatus notFound = HttpStatus.NOT_FOUND;
         ExceptionResponseBody exceptionResponseBody = new ExceptionResponseBody(notFound,
             exception.getMessage());
+        countError(exception);
+
+        return new ResponseEntity<>(exceptionResponseBody, notFound);
+    }
+
+    @ExceptionHandler(value = {ImportNotFoundException.class})
+    public ResponseEntity<Object> handleImportNotFoundException(
+        ImportNotFoundException exception) {
+        HttpStatus notFound = HttpStatus.NOT_FOUND;
+        ExceptionResponseBody exceptionResponseBody = new ExceptionResponseBody(notFound,
+            exception.getMessage());
+        countError(exception);
 
         return new ResponseEntity<>(exceptionResponseBody, notFound);
     }
@@ -37,7 +62,68 @@ public class UserExceptionHandler extends ResponseEntityExceptionHandler {
         HttpStatus notFound = HttpStatus.CONFLICT;
         ExceptionResponseBody exceptionResponseBody = new ExceptionResponseBody(notFound,
             exception.getMessage());
+        countError(exception);
 
         return new ResponseEntity<>(exceptionResponseBody, notFound);
     }
+
+    @ExceptionHandler(value = {VersionConflictException.class})
+    public ResponseEntity<Object> handleVersionConflictException(
+        VersionConflictException exception) {
+        HttpStatus preconditionFailed = HttpStatus.PRECONDITION_FAILED;
+        ExceptionResponseBody exceptionResponseBody = new ExceptionResponseBody(
+            preconditionFailed, exception.getMessage());
+        countError(exception);
+
+        return new ResponseEntity<>(exceptionResponseBody, preconditionFailed);
+    }
+
+    @ExceptionHandler(value = {EventCursorExpiredException.class})
+    public ResponseEntity<Object> handleEventCursorExpiredException(
+        EventCursorExpiredException exception) {
+        HttpStatus gone = HttpStatus.GONE;
+        ExceptionResponseBody exceptionResponseBody = new ExceptionResponseBody(gone,
+            exception.getMessage());
+        countError(exception);
+
+        return new ResponseEntity<>(exceptionResponseBody, gone);
+    }
+
+    @ExceptionHandler(value = {AuthenticationFailedException.class})
+    public ResponseEntity<Object> handleAuthenticationFailedException(
+        AuthenticationFailedException exception) {
+        HttpStatus unauthorized = HttpStatus.UNAUTHORIZED;
+        ExceptionResponseBody exceptionResponseBody = new ExceptionResponseBody(unauthorized,
+            exception.getMessage());
+        countError(exception);
+
+        return new ResponseEntity<>(exceptionResponseBody, unauthorized);
+    }
+
+    @ExceptionHandler(value = {HashingUnavailableException.class})
+    public ResponseEntity<Object> handleHashingUnavailableException(
+        HashingUnavailableException exception) {
+        HttpStatus serviceUnavailable = HttpStatus.SERVICE_UNAVAILABLE;
+        ExceptionResponseBody exceptionResponseBody = new ExceptionResponseBody(
+            serviceUnavailable, exception.getMessage());
+        countError(exception);
+
+        return new ResponseEntity<>(exceptionResponseBody, serviceUnavailable);
+    }
+
+    @ExceptionHandler(value = {UpdateUnavailableException.class})
+    public ResponseEntity<Object> handleUpdateUnavailableException(
+        UpdateUnavailableException exception) {
+        HttpStatus serviceUnavailable = HttpStatus.SERVICE_UNAVAILABLE;
+        ExceptionResponseBody exceptionResponseBody = new ExceptionResponseBody(
+            serviceUnavailable, exception.getMessage());
+        countError(exception);
+
+        return new ResponseEntity<>(exceptionResponseBody, serviceUnavailable);
+    }
+
+    private void countError(Exception exception) {
+        meterRegistry.counter("user.errors", "exception", exception.getClass().getSimpleName())
+                     .increment();
+    }
 }
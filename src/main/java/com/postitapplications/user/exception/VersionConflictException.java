@@ -0,0 +1,8 @@
+package com.postitapplications.user.exception;
+
+public class VersionConflictException extends RuntimeException {
+
+    public VersionConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,277 @@
+package com.postitapplications.user.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import com.postitapplications.user.document.User;
+import com.postitapplications.user.utility.TransactionHooks;
+import com.postitapplications.user.utility.UsernameKeys;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+@Repository("CachingRepo")
+public class CachingUserRepository implements UserRepo, MeterBinder {
+
+    private final UserRepo userRepo;
+    private final ReadConsistency readConsistency;
+    private final StatsCounter statsCounter = new ConcurrentStatsCounter();
+    private final Cache<UUID, User> usersById;
+    private final Map<String, UUID> idsByUsername = new ConcurrentHashMap<>();
+    private final AtomicLong writeCount = new AtomicLong();
+
+    @Autowired
+    public CachingUserRepository(@Qualifier("UsernameFilterRepo") UserRepo userRepo,
+        ReadConsistency readConsistency,
+        @Value("${user.cache.maximum-size:10000}") long maximumSize,
+        @Value("${user.cache.expire-after-write:5m}") Duration expireAfterWrite) {
+        this.userRepo = userRepo;
+        this.readConsistency = readConsistency;
+        this.usersById = Caffeine.newBuilder()
+                                 .maximumSize(maximumSize)
+                                 .expireAfterWrite(expireAfterWrite)
+                                 .executor(Runnable::run)
+                                 .removalListener(this::onRemoval)
+                                 .recordStats(() -> statsCounter)
+                                 .build();
+    }
+
+    @Override
+    public User save(UUID id, User user) {
+        return userRepo.save(id, user);
+    }
+
+    @Override
+    public User findById(UUID id) {
+        if (readConsistency.isPinnedToPrimary()) {
+            return cache(writeCount.get(), userRepo.findById(id));
+        }
+
+        if (readConsistency.isReadingFromPrimary()) {
+            return usersById.get(id, key -> index(userRepo.findById(key)));
+        }
+
+        User cachedUser = usersById.getIfPresent(id);
+        return cachedUser == null ? userRepo.findById(id) : cachedUser;
+    }
+
+    @Override
+    public User findByUsername(String username) {
+        if (!readConsistency.isPinnedToPrimary()) {
+            String usernameKey = UsernameKeys.of(username);
+            UUID id = idsByUsername.get(usernameKey);
+            User cachedUser = id == null ? null : usersById.getIfPresent(id);
+
+            if (cachedUser != null
+                && usernameKey.equals(UsernameKeys.of(cachedUser.getUsername()))) {
+                return cachedUser;
+            }
+
+            if (id == null) {
+                statsCounter.recordMisses(1);
+            }
+        }
+
+        // A write landing while we load may have been invalidated before we cache, so skip caching
+        long writesBeforeLoad = writeCount.get();
+        return cache(writesBeforeLoad, userRepo.findByUsername(username));
+    }
+
+    @Override
+    public List<User> findAllByIdsOrUsernames(Collection<UUID> ids, Collection<String> usernames) {
+        if (readConsistency.isPinnedToPrimary()) {
+            long writesBeforeLoad = writeCount.get();
+            List<User> loadedUsers = userRepo.findAllByIdsOrUsernames(ids, usernames);
+            loadedUsers.forEach(user -> cache(writesBeforeLoad, user));
+            return loadedUsers;
+        }
+
+        Map<UUID, User> found = new LinkedHashMap<>();
+        List<UUID> missingIds = new ArrayList<>();
+        List<String> missingUsernames = new ArrayList<>();
+
+        for (UUID id : ids) {
+            User cachedUser = usersById.getIfPresent(id);
+
+            if (cachedUser == null) {
+                missingIds.add(id);
+            } else {
+                found.put(id, cachedUser);
+            }
+        }
+
+        for (String username : usernames) {
+            String usernameKey = UsernameKeys.of(username);
+            UUID id = idsByUsername.get(usernameKey);
+            User cachedUser = id == null ? null : usersById.getIfPresent(id);
+
+            if (cachedUser != null
+                && usernameKey.equals(UsernameKeys.of(cachedUser.getUsername()))) {
+                found.put(id, cachedUser);
+                continue;
+            }
+
+            if (id == null) {
+                statsCounter.recordMisses(1);
+            }
+
+            missingUsernames.add(username);
+        }
+
+        if (!missingIds.isEmpty() || !missingUsernames.isEmpty()) {
+            long writesBeforeLoad = writeCount.get();
+            List<User> loadedUsers = userRepo
+                .findAllByIdsOrUsernames(missingIds, missingUsernames);
+
+            for (User user : loadedUsers) {
+                found.put(user.getId(), cache(writesBeforeLoad, user));
+            }
+        }
+
+        return new ArrayList<>(found.values());
+    }
+
+    @Override
+    public List<User> findByUsernamePrefix(String prefix, int limit) {
+        return userRepo.findByUsernamePrefix(prefix, limit);
+    }
+
+    @Override
+    public List<User> findPage(String sortField, Object after, int limit,
+        Collection<String> fields) {
+        return userRepo.findPage(sortField, after, limit, fields);
+    }
+
+    @Override
+    public Set<String> findTakenUsernames(Collection<String> usernames) {
+        return userRepo.findTakenUsernames(usernames);
+    }
+
+    @Override
+    public void forEachUsername(BiConsumer<UUID, String> consumer) {
+        userRepo.forEachUsername(consumer);
+    }
+
+    @Override
+    public BulkWriteResult insertAll(List<User> users) {
+        return userRepo.insertAll(users);
+    }
+
+    @Override
+    public UpdateResult update(User user) {
+        try {
+            return userRepo.update(user);
+        } finally {
+            invalidateOnCompletion(user.getId());
+        }
+    }
+
+    @Override
+    public List<UpdateResult> updateAll(List<User> users) {
+        try {
+            return userRepo.updateAll(users);
+        } finally {
+            users.forEach(user -> invalidateOnCompletion(user.getId()));
+        }
+    }
+
+    @Override
+    public User patch(UUID id, Long expectedVersion, String username, String password) {
+        try {
+            return userRepo.patch(id, expectedVersion, username, password);
+        } finally {
+            invalidateOnCompletion(id);
+        }
+    }
+
+    @Override
+    public DeleteResult removeById(UUID id) {
+        try {
+            return userRepo.removeById(id);
+        } finally {
+            invalidateOnCompletion(id);
+        }
+    }
+
+    @Override
+    public DeleteResult removeAllByIds(Collection<UUID> ids) {
+        try {
+            return userRepo.removeAllByIds(ids);
+        } finally {
+            ids.forEach(this::invalidateOnCompletion);
+        }
+    }
+
+    public void invalidate(UUID id) {
+        writeCount.incrementAndGet();
+        usersById.invalidate(id);
+    }
+
+    public void invalidateAll() {
+        writeCount.incrementAndGet();
+        usersById.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return usersById.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, usersById, "users");
+        Gauge.builder("cache.username.index.size", idsByUsername, Map::size)
+             .tag("cache", "users")
+             .description("The number of usernames indexed against cached users")
+             .register(registry);
+    }
+
+    private void invalidateOnCompletion(UUID id) {
+        TransactionHooks.afterCompletion(() -> invalidate(id));
+    }
+
+    private User cache(long writesBeforeLoad, User user) {
+        if (user != null && readConsistency.isReadingFromPrimary()
+            && writeCount.get() == writesBeforeLoad) {
+            usersById.put(user.getId(), user);
+            index(user);
+        }
+
+        return user;
+    }
+
+    private User index(User user) {
+        if (user != null) {
+            idsByUsername.put(UsernameKeys.of(user.getUsername()), user.getId());
+        }
+
+        return user;
+    }
+
+    private void onRemoval(UUID id, User user, RemovalCause cause) {
+        if (user != null) {
+            idsByUsername.remove(UsernameKeys.of(user.getUsername()), id);
+        }
+    }
+}
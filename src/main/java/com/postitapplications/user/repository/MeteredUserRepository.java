@@ -0,0 +1,135 @@
+package com.postitapplications.user.repository;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import com.postitapplications.user.document.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Repository;
+
+@Repository("MeteredRepo")
+public class MeteredUserRepository implements UserRepo {
+
+    private final UserRepo userRepo;
+    private final Timer saveTimer;
+    private final Timer findByIdTimer;
+    private final Timer findByUsernameTimer;
+    private final Timer findAllByIdsOrUsernamesTimer;
+    private final Timer findByUsernamePrefixTimer;
+    private final Timer findPageTimer;
+    private final Timer findTakenUsernamesTimer;
+    private final Timer forEachUsernameTimer;
+    private final Timer insertAllTimer;
+    private final Timer updateTimer;
+    private final Timer updateAllTimer;
+    private final Timer patchTimer;
+    private final Timer removeByIdTimer;
+    private final Timer removeAllByIdsTimer;
+
+    @Autowired
+    public MeteredUserRepository(@Qualifier("MongoDBRepo") UserRepo userRepo,
+        MeterRegistry meterRegistry) {
+        this.userRepo = userRepo;
+        this.saveTimer = timer(meterRegistry, "save");
+        this.findByIdTimer = timer(meterRegistry, "findById");
+        this.findByUsernameTimer = timer(meterRegistry, "findByUsername");
+        this.findAllByIdsOrUsernamesTimer = timer(meterRegistry, "findAllByIdsOrUsernames");
+        this.findByUsernamePrefixTimer = timer(meterRegistry, "findByUsernamePrefix");
+        this.findPageTimer = timer(meterRegistry, "findPage");
+        this.findTakenUsernamesTimer = timer(meterRegistry, "findTakenUsernames");
+        this.forEachUsernameTimer = timer(meterRegistry, "forEachUsername");
+        this.insertAllTimer = timer(meterRegistry, "insertAll");
+        this.updateTimer = timer(meterRegistry, "update");
+        this.updateAllTimer = timer(meterRegistry, "updateAll");
+        this.patchTimer = timer(meterRegistry, "patch");
+        this.removeByIdTimer = timer(meterRegistry, "removeById");
+        this.removeAllByIdsTimer = timer(meterRegistry, "removeAllByIds");
+    }
+
+    @Override
+    public User save(UUID id, User user) {
+        return saveTimer.record(() -> userRepo.save(id, user));
+    }
+
+    @Override
+    public User findById(UUID id) {
+        return findByIdTimer.record(() -> userRepo.findById(id));
+    }
+
+    @Override
+    public User findByUsername(String username) {
+        return findByUsernameTimer.record(() -> userRepo.findByUsername(username));
+    }
+
+    @Override
+    public List<User> findAllByIdsOrUsernames(Collection<UUID> ids, Collection<String> usernames) {
+        return findAllByIdsOrUsernamesTimer
+            .record(() -> userRepo.findAllByIdsOrUsernames(ids, usernames));
+    }
+
+    @Override
+    public List<User> findByUsernamePrefix(String prefix, int limit) {
+        return findByUsernamePrefixTimer.record(() -> userRepo.findByUsernamePrefix(prefix, limit));
+    }
+
+    @Override
+    public List<User> findPage(String sortField, Object after, int limit,
+        Collection<String> fields) {
+        return findPageTimer.record(() -> userRepo.findPage(sortField, after, limit, fields));
+    }
+
+    @Override
+    public Set<String> findTakenUsernames(Collection<String> usernames) {
+        return findTakenUsernamesTimer.record(() -> userRepo.findTakenUsernames(usernames));
+    }
+
+    @Override
+    public void forEachUsername(BiConsumer<UUID, String> consumer) {
+        forEachUsernameTimer.record(() -> userRepo.forEachUsername(consumer));
+    }
+
+    @Override
+    public BulkWriteResult insertAll(List<User> users) {
+        return insertAllTimer.record(() -> userRepo.insertAll(users));
+    }
+
+    @Override
+    public UpdateResult update(User user) {
+        return updateTimer.record(() -> userRepo.update(user));
+    }
+
+    @Override
+    public List<UpdateResult> updateAll(List<User> users) {
+        return updateAllTimer.record(() -> userRepo.updateAll(users));
+    }
+
+    @Override
+    public User patch(UUID id, Long expectedVersion, String username, String password) {
+        return patchTimer.record(() -> userRepo.patch(id, expectedVersion, username, password));
+    }
+
+    @Override
+    public DeleteResult removeById(UUID id) {
+        return removeByIdTimer.record(() -> userRepo.removeById(id));
+    }
+
+    @Override
+    public DeleteResult removeAllByIds(Collection<UUID> ids) {
+        return removeAllByIdsTimer.record(() -> userRepo.removeAllByIds(ids));
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("user.repository")
+                    .tag("operation", operation)
+                    .description("Time spent in UserRepo operations against MongoDB")
+                    .register(meterRegistry);
+    }
+}
@@ -0,0 +1,49 @@
+package com.postitapplications.user.repository;
+
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.postitapplications.user.document.UserEvent;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveUserEventRepository {
+
+    private static final String SEQUENCES = "sequences";
+    private static final String SEQUENCE = "sequence";
+    private static final String USER_EVENTS = "userEvents";
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final ReactiveMongoTemplate sequenceMongoTemplate;
+
+    @Autowired
+    public ReactiveUserEventRepository(ReactiveMongoTemplate reactiveMongoTemplate,
+        MongoClient reactiveMongoClient, MongoTemplate mongoTemplate) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.sequenceMongoTemplate = new ReactiveMongoTemplate(reactiveMongoClient,
+            mongoTemplate.getDb().getName());
+    }
+
+    public Mono<UserEvent> append(UserEvent userEvent) {
+        return sequenceMongoTemplate
+            .findAndModify(new Query(Criteria.where("_id").is(USER_EVENTS)),
+                new Update().inc(SEQUENCE, 1L),
+                FindAndModifyOptions.options().returnNew(true).upsert(true), Document.class,
+                SEQUENCES)
+            .flatMap(sequence -> reactiveMongoTemplate.insert(userEvent.withSequence(
+                sequence.get(SEQUENCE, Number.class).longValue(),
+                Instant.now().truncatedTo(ChronoUnit.MILLIS))));
+    }
+}
@@ -0,0 +1,25 @@
+package com.postitapplications.user.repository;
+
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import com.postitapplications.user.document.User;
+import java.util.UUID;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveUserRepo {
+
+    Mono<User> save(UUID id, User user);
+
+    default Mono<User> save(User user) {
+        UUID id = UUID.randomUUID();
+        return save(id, user);
+    }
+
+    Mono<User> findById(UUID id);
+
+    Mono<User> findByUsername(String username);
+
+    Mono<UpdateResult> update(User user);
+
+    Mono<DeleteResult> removeById(UUID id);
+}
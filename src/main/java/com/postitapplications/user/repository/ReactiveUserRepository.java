@@ -0,0 +1,86 @@
+package com.postitapplications.user.repository;
+
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import com.postitapplications.user.document.User;
+import com.postitapplications.user.utility.UsernameKeys;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.Assert;
+import reactor.core.publisher.Mono;
+
+@Repository("ReactiveMongoDBRepo")
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveUserRepository implements ReactiveUserRepo {
+
+    private static final String DELETED_AT = "deletedAt";
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final boolean softDelete;
+
+    @Autowired
+    public ReactiveUserRepository(ReactiveMongoTemplate reactiveMongoTemplate,
+        @Value("${user.delete.soft:false}") boolean softDelete) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.softDelete = softDelete;
+    }
+
+    @Override
+    public Mono<User> save(UUID id, User userToSave) {
+        User user = new User(id, userToSave.getUsername(), userToSave.getPassword(), null,
+            Instant.now().truncatedTo(ChronoUnit.MILLIS));
+        return reactiveMongoTemplate.insert(user);
+    }
+
+    @Override
+    public Mono<User> findById(UUID id) {
+        Assert.notNull(id, "Id must not be null!");
+        return reactiveMongoTemplate.findOne(new Query(byId(id)), User.class);
+    }
+
+    @Override
+    public Mono<User> findByUsername(String username) {
+        Criteria criteria = new Criteria().orOperator(
+            Criteria.where("usernameKey").is(UsernameKeys.of(username)),
+            Criteria.where("username").is(username)).and(DELETED_AT).is(null);
+
+        return reactiveMongoTemplate.findOne(new Query(criteria), User.class);
+    }
+
+    @Override
+    public Mono<UpdateResult> update(User user) {
+        Update update = new Update();
+        update.set("username", user.getUsername());
+        update.set("usernameKey", UsernameKeys.of(user.getUsername()));
+        update.set("password", user.getPassword());
+        update.inc("version", 1);
+        update.currentDate("lastModified");
+
+        return reactiveMongoTemplate.updateFirst(new Query(byId(user.getId())), update, User.class);
+    }
+
+    @Override
+    public Mono<DeleteResult> removeById(UUID id) {
+        if (softDelete) {
+            return reactiveMongoTemplate
+                .updateFirst(new Query(byId(id)), UserRepository.toTombstone(id), User.class)
+                .map(updateResult -> DeleteResult.acknowledged(updateResult.getModifiedCount()));
+        }
+
+        return reactiveMongoTemplate.remove(new Query(byId(id)), User.class);
+    }
+
+    private static Criteria byId(UUID id) {
+        return Criteria.where("id").is(id).and(DELETED_AT).is(null);
+    }
+}
@@ -0,0 +1,51 @@
+package com.postitapplications.user.repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+public class ReadConsistency {
+
+    private final ThreadLocal<Instant> lastWrite = new ThreadLocal<>();
+    private final Duration pinToPrimaryFor;
+    private final boolean lookupsFromPrimary;
+
+    public ReadConsistency(Duration pinToPrimaryFor) {
+        this(pinToPrimaryFor, true);
+    }
+
+    public ReadConsistency(Duration pinToPrimaryFor, boolean lookupsFromPrimary) {
+        this.pinToPrimaryFor = pinToPrimaryFor;
+        this.lookupsFromPrimary = lookupsFromPrimary;
+    }
+
+    public void observeWrite(Instant writtenAt) {
+        Instant previousWrite = lastWrite.get();
+
+        if (writtenAt != null && (previousWrite == null || writtenAt.isAfter(previousWrite))) {
+            lastWrite.set(writtenAt);
+        }
+    }
+
+    public void recordWrite() {
+        observeWrite(Instant.now().truncatedTo(ChronoUnit.MILLIS));
+    }
+
+    public Instant getLastWrite() {
+        return lastWrite.get();
+    }
+
+    public boolean isPinnedToPrimary() {
+        Instant writtenAt = lastWrite.get();
+
+        return writtenAt != null && writtenAt.plus(pinToPrimaryFor).isAfter(Instant.now());
+    }
+
+    public boolean isReadingFromPrimary() {
+        return lookupsFromPrimary || isPinnedToPrimary();
+    }
+
+    public void clear() {
+        lastWrite.remove();
+    }
+}
@@ -0,0 +1,123 @@
+package com.postitapplications.user.repository;
+
+import com.postitapplications.user.document.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SoftDeletePurger {
+
+    private static final String DELETED_AT = "deletedAt";
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final Duration interval;
+    private final Duration gracePeriod;
+    private final int batchSize;
+    private final Duration batchPause;
+    private final Counter purgedCounter;
+    private final Counter failedCounter;
+    private final ScheduledExecutorService purgeExecutor;
+
+    @Autowired
+    public SoftDeletePurger(MongoTemplate mongoTemplate,
+        @Value("${user.delete.purge.enabled:true}") boolean enabled,
+        @Value("${user.delete.purge.interval:1m}") Duration interval,
+        @Value("${user.delete.purge.grace-period:1h}") Duration gracePeriod,
+        @Value("${user.delete.purge.batch-size:500}") int batchSize,
+        @Value("${user.delete.purge.batch-pause:100ms}") Duration batchPause,
+        MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.interval = interval;
+        this.gracePeriod = gracePeriod;
+        this.batchSize = batchSize;
+        this.batchPause = batchPause;
+        this.purgedCounter = Counter.builder("user.delete.purged")
+                                    .description("Soft deleted users removed by the purger")
+                                    .register(meterRegistry);
+        this.failedCounter = Counter.builder("user.delete.purge.failures")
+                                    .description("Purge runs that stopped on an error")
+                                    .register(meterRegistry);
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+            "user-delete-purger-");
+        threadFactory.setDaemon(true);
+        this.purgeExecutor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            purgeExecutor.scheduleWithFixedDelay(this::runScheduledPurge, interval.toMillis(),
+                interval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        purgeExecutor.shutdownNow();
+    }
+
+    public long purge() {
+        Criteria expired = Criteria.where(DELETED_AT).lte(Instant.now().minus(gracePeriod));
+        long purged = 0;
+
+        while (!Thread.currentThread().isInterrupted()) {
+            Query query = new Query(expired).limit(batchSize);
+            query.fields().include("id");
+            List<UUID> ids = mongoTemplate.find(query, User.class).stream().map(User::getId)
+                                          .collect(Collectors.toList());
+
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            Query expiredIds = new Query(Criteria.where("id").in(ids).andOperator(expired));
+            long deletedCount = mongoTemplate.remove(expiredIds, User.class).getDeletedCount();
+            purgedCounter.increment(deletedCount);
+            purged += deletedCount;
+
+            if (ids.size() < batchSize) {
+                break;
+            }
+
+            pause();
+        }
+
+        return purged;
+    }
+
+    private void runScheduledPurge() {
+        try {
+            purge();
+        } catch (RuntimeException exception) {
+            failedCounter.increment();
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(batchPause.toMillis());
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
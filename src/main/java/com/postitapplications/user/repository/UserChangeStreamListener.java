@@ -0,0 +1,293 @@
+package com.postitapplications.user.repository;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import com.mongodb.client.model.changestream.UpdateDescription;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+import org.bson.BsonBinary;
+import org.bson.BsonBinarySubType;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.UuidRepresentation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UserChangeStreamListener {
+
+    private static final String USERS = "users";
+    private static final String RESUME_TOKENS = "changeStreamResumeTokens";
+    private static final Set<Integer> HISTORY_LOST_ERRORS = Set.of(136, 280, 286);
+
+    private final MongoTemplate mongoTemplate;
+    private final CachingUserRepository cachingUserRepository;
+    private final UsernameFilteringUserRepository usernameFilteringUserRepository;
+    private final UsernameIndexingUserRepository usernameIndexingUserRepository;
+    private final boolean enabled;
+    private final String consumerId;
+    private final Duration tokenSaveInterval;
+    private final Duration retryDelay;
+    private final MeterRegistry meterRegistry;
+    private final Counter errorCounter;
+    private final Counter resyncCounter;
+    private volatile boolean running;
+    private volatile boolean reloadOnOpen;
+    private volatile BsonDocument resumeToken;
+    private Instant tokenSavedAt = Instant.EPOCH;
+    private Thread listenerThread;
+
+    @Autowired
+    public UserChangeStreamListener(MongoTemplate mongoTemplate,
+        CachingUserRepository cachingUserRepository,
+        UsernameFilteringUserRepository usernameFilteringUserRepository,
+        UsernameIndexingUserRepository usernameIndexingUserRepository,
+        @Value("${user.change-stream.enabled:false}") boolean enabled,
+        @Value("${user.change-stream.consumer-id:${spring.application.name:user-service}:"
+            + "${spring.cloud.client.hostname:localhost}:${server.port:8080}}") String consumerId,
+        @Value("${user.change-stream.token-save-interval:1s}") Duration tokenSaveInterval,
+        @Value("${user.change-stream.retry-delay:5s}") Duration retryDelay,
+        MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.cachingUserRepository = cachingUserRepository;
+        this.usernameFilteringUserRepository = usernameFilteringUserRepository;
+        this.usernameIndexingUserRepository = usernameIndexingUserRepository;
+        this.enabled = enabled;
+        this.consumerId = consumerId;
+        this.tokenSaveInterval = tokenSaveInterval;
+        this.retryDelay = retryDelay;
+        this.meterRegistry = meterRegistry;
+        this.errorCounter = Counter.builder("user.change.stream.errors")
+                                   .description("Change stream cursors that failed and reopened")
+                                   .register(meterRegistry);
+        this.resyncCounter = Counter.builder("user.change.stream.resyncs")
+                                    .description("Full cache resyncs after losing the stream")
+                                    .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        resumeToken = loadResumeToken();
+        reloadOnOpen = resumeToken == null;
+        running = true;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+            "user-change-stream-");
+        threadFactory.setDaemon(true);
+        listenerThread = threadFactory.newThread(this::listen);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        setCaughtUp(false);
+
+        if (listenerThread != null) {
+            listenerThread.join(TimeUnit.SECONDS.toMillis(5));
+            saveResumeToken();
+        }
+    }
+
+    public BsonDocument getResumeToken() {
+        return resumeToken;
+    }
+
+    void listen() {
+        while (running) {
+            try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = watch()
+                .cursor()) {
+                if (reloadOnOpen) {
+                    reload();
+                }
+
+                while (running) {
+                    ChangeStreamDocument<Document> event = cursor.tryNext();
+
+                    if (event != null) {
+                        handle(event);
+                    } else {
+                        setCaughtUp(true);
+                    }
+
+                    if (cursor.getResumeToken() != null) {
+                        resumeToken = cursor.getResumeToken();
+                        saveResumeTokenIfDue();
+                    }
+                }
+            } catch (MongoCommandException exception) {
+                setCaughtUp(false);
+                errorCounter.increment();
+
+                if (HISTORY_LOST_ERRORS.contains(exception.getErrorCode())) {
+                    resync();
+                } else {
+                    pause();
+                }
+            } catch (MongoException exception) {
+                setCaughtUp(false);
+                errorCounter.increment();
+                pause();
+            }
+        }
+    }
+
+    void handle(ChangeStreamDocument<Document> event) {
+        OperationType operationType = event.getOperationType();
+        Counter.builder("user.change.stream.events")
+               .tag("operation", operationType.getValue())
+               .description("User change events applied to the local caches")
+               .register(meterRegistry)
+               .increment();
+
+        if (event.getDocumentKey() == null) {
+            return;
+        }
+
+        UUID id = toUuid(event.getDocumentKey());
+
+        switch (operationType) {
+            case INSERT:
+            case REPLACE:
+                Document fullDocument = event.getFullDocument();
+
+                if (fullDocument == null || fullDocument.get("deletedAt") != null) {
+                    evict(id);
+                } else {
+                    refresh(id, fullDocument.getString("username"));
+                }
+
+                break;
+            case UPDATE:
+                UpdateDescription updateDescription = event.getUpdateDescription();
+                BsonDocument updatedFields = updateDescription == null ? new BsonDocument()
+                    : updateDescription.getUpdatedFields();
+
+                if (updatedFields.containsKey("deletedAt")) {
+                    evict(id);
+                } else if (updatedFields.containsKey("username")) {
+                    refresh(id, updatedFields.getString("username").getValue());
+                } else {
+                    cachingUserRepository.invalidate(id);
+                }
+
+                break;
+            case DELETE:
+                evict(id);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private ChangeStreamIterable<Document> watch() {
+        ChangeStreamIterable<Document> changeStream = mongoTemplate.getCollection(USERS)
+            .watch(List.of(Aggregates.match(
+                Filters.in("operationType", "insert", "update", "replace", "delete"))))
+            .maxAwaitTime(1, TimeUnit.SECONDS);
+
+        return resumeToken == null ? changeStream : changeStream.resumeAfter(resumeToken);
+    }
+
+    private void setCaughtUp(boolean caughtUp) {
+        usernameFilteringUserRepository.setCaughtUp(caughtUp);
+        usernameIndexingUserRepository.setCaughtUp(caughtUp);
+    }
+
+    private void refresh(UUID id, String username) {
+        cachingUserRepository.invalidate(id);
+        usernameFilteringUserRepository.record(username);
+        usernameIndexingUserRepository.index(id, username);
+    }
+
+    private void evict(UUID id) {
+        cachingUserRepository.invalidate(id);
+        usernameIndexingUserRepository.unindex(id);
+    }
+
+    private void resync() {
+        resyncCounter.increment();
+        resumeToken = null;
+        mongoTemplate.getCollection(RESUME_TOKENS).deleteOne(Filters.eq("_id", consumerId));
+        reloadOnOpen = true;
+    }
+
+    private void reload() {
+        cachingUserRepository.invalidateAll();
+        usernameFilteringUserRepository.load();
+        usernameIndexingUserRepository.load();
+        reloadOnOpen = false;
+    }
+
+    private BsonDocument loadResumeToken() {
+        Document saved = mongoTemplate.getCollection(RESUME_TOKENS)
+                                      .find(Filters.eq("_id", consumerId)).first();
+
+        if (saved == null || saved.get("token", Document.class) == null) {
+            return null;
+        }
+
+        return BsonDocument.parse(saved.get("token", Document.class).toJson());
+    }
+
+    private void saveResumeTokenIfDue() {
+        if (Instant.now().isAfter(tokenSavedAt.plus(tokenSaveInterval))) {
+            saveResumeToken();
+        }
+    }
+
+    private void saveResumeToken() {
+        BsonDocument token = resumeToken;
+
+        if (token == null) {
+            return;
+        }
+
+        MongoCollection<Document> resumeTokens = mongoTemplate.getCollection(RESUME_TOKENS);
+        resumeTokens.replaceOne(Filters.eq("_id", consumerId),
+            new Document("_id", consumerId).append("token", Document.parse(token.toJson()))
+                                           .append("savedAt", new Date()),
+            new ReplaceOptions().upsert(true));
+        tokenSavedAt = Instant.now();
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(retryDelay.toMillis());
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private static UUID toUuid(BsonDocument documentKey) {
+        BsonBinary id = documentKey.getBinary("_id");
+
+        return id.getType() == BsonBinarySubType.UUID_STANDARD.getValue() ? id.asUuid()
+            : id.asUuid(UuidRepresentation.JAVA_LEGACY);
+    }
+}
@@ -0,0 +1,95 @@
+package com.postitapplications.user.repository;
+
+import com.mongodb.client.MongoClient;
+import com.postitapplications.user.document.UserEvent;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class UserEventRepository {
+
+    private static final String SEQUENCES = "sequences";
+    private static final String SEQUENCE = "sequence";
+    private static final String USER_EVENTS = "userEvents";
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoTemplate sequenceMongoTemplate;
+    private final Duration retention;
+
+    @Autowired
+    public UserEventRepository(MongoTemplate mongoTemplate, MongoClient mongoClient,
+        @Value("${user.events.retention:7d}") Duration retention) {
+        this.mongoTemplate = mongoTemplate;
+        this.sequenceMongoTemplate = new MongoTemplate(mongoClient,
+            mongoTemplate.getDb().getName());
+        this.retention = retention;
+    }
+
+    @PostConstruct
+    public void createIndexes() {
+        mongoTemplate.indexOps(UserEvent.class).ensureIndex(
+            new Index("occurredAt", Direction.ASC).expire(retention.toSeconds(), TimeUnit.SECONDS)
+                                                  .named("occurredAt"));
+        sequenceMongoTemplate.upsert(sequenceQuery(), new Update().inc(SEQUENCE, 0L), SEQUENCES);
+    }
+
+    public UserEvent append(UserEvent userEvent) {
+        return appendAll(List.of(userEvent)).get(0);
+    }
+
+    public List<UserEvent> appendAll(List<UserEvent> userEvents) {
+        if (userEvents.isEmpty()) {
+            return userEvents;
+        }
+
+        Document sequence = sequenceMongoTemplate.findAndModify(sequenceQuery(),
+            new Update().inc(SEQUENCE, (long) userEvents.size()),
+            FindAndModifyOptions.options().returnNew(true).upsert(true), Document.class,
+            SEQUENCES);
+        long firstSequence =
+            sequence.get(SEQUENCE, Number.class).longValue() - userEvents.size() + 1;
+        Instant occurredAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        List<UserEvent> sequencedEvents = new ArrayList<>(userEvents.size());
+
+        for (int index = 0; index < userEvents.size(); index++) {
+            sequencedEvents
+                .add(userEvents.get(index).withSequence(firstSequence + index, occurredAt));
+        }
+
+        return new ArrayList<>(mongoTemplate.insertAll(sequencedEvents));
+    }
+
+    public List<UserEvent> findAfter(long sequence, int limit) {
+        Query query = new Query(Criteria.where("sequence").gt(sequence))
+            .with(Sort.by(Direction.ASC, "sequence")).limit(limit);
+
+        return mongoTemplate.find(query, UserEvent.class);
+    }
+
+    public long getLatestSequence() {
+        Document sequence = mongoTemplate.findOne(sequenceQuery(), Document.class, SEQUENCES);
+
+        return sequence == null ? 0 : sequence.get(SEQUENCE, Number.class).longValue();
+    }
+
+    private static Query sequenceQuery() {
+        return new Query(Criteria.where("_id").is(USER_EVENTS));
+    }
+}
@@ -1,9 +1,14 @@
 package com.postitapplications.user.repository;
 
+import com.mongodb.bulk.BulkWriteResult;
 import com.mongodb.client.result.DeleteResult;
 import com.mongodb.client.result.UpdateResult;
 import com.postitapplications.user.document.User;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.BiConsumer;
 
 public interface UserRepo {
 
@@ -18,7 +23,25 @@ public interface UserRepo {
 
     User findByUsername(String username);
 
+    List<User> findAllByIdsOrUsernames(Collection<UUID> ids, Collection<String> usernames);
+
+    List<User> findByUsernamePrefix(String prefix, int limit);
+
+    List<User> findPage(String sortField, Object after, int limit, Collection<String> fields);
+
+    Set<String> findTakenUsernames(Collection<String> usernames);
+
+    void forEachUsername(BiConsumer<UUID, String> consumer);
+
+    BulkWriteResult insertAll(List<User> users);
+
     UpdateResult update(User user);
 
+    List<UpdateResult> updateAll(List<User> users);
+
+    User patch(UUID id, Long expectedVersion, String username, String password);
+
     DeleteResult removeById(UUID id);
+
+    DeleteResult removeAllByIds(Collection<UUID> ids);
 }
@@ -1,55 +1,334 @@
 package com.postitapplications.user.repository;
 
+import com.mongodb.bulk.BulkWriteResult;
 import com.mongodb.client.result.DeleteResult;
 import com.mongodb.client.result.UpdateResult;
 import com.postitapplications.user.document.User;
+import com.postitapplications.user.utility.UsernameKeys;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import org.bson.Document;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
 import org.springframework.stereotype.Repository;
+import org.springframework.util.Assert;
 
 @Repository("MongoDBRepo")
 public class UserRepository implements UserRepo {
 
+    private static final long INITIAL_VERSION = 0;
+    private static final int USERNAME_BATCH_SIZE = 1000;
+    private static final String USERNAME_KEY = "usernameKey";
+    private static final String DELETED_AT = "deletedAt";
+    private static final String TOMBSTONE_USERNAME_PREFIX = "\u0000deleted:";
+    private static final int DUPLICATE_REPORT_LIMIT = 10;
+
     private final MongoTemplate mongoTemplate;
+    private final MongoTemplate lookupMongoTemplate;
+    private final ReadConsistency readConsistency;
+    private final boolean softDelete;
 
     @Autowired
-    public UserRepository(MongoTemplate mongoTemplate) {
+    public UserRepository(MongoTemplate mongoTemplate,
+        @Qualifier("lookupMongoTemplate") MongoTemplate lookupMongoTemplate,
+        ReadConsistency readConsistency, @Value("${user.delete.soft:false}") boolean softDelete) {
         this.mongoTemplate = mongoTemplate;
+        this.lookupMongoTemplate = lookupMongoTemplate;
+        this.readConsistency = readConsistency;
+        this.softDelete = softDelete;
+    }
+
+    @PostConstruct
+    public void createIndexes() {
+        IndexOperations indexOperations = mongoTemplate.indexOps(User.class);
+        rejectDuplicates(indexOperations, "username");
+        indexOperations
+            .ensureIndex(new Index("username", Direction.ASC).unique().named("username"));
+        rejectDuplicates(indexOperations, USERNAME_KEY);
+        indexOperations.ensureIndex(new Index(USERNAME_KEY, Direction.ASC).unique()
+            .partial(PartialIndexFilter.of(Criteria.where(USERNAME_KEY).exists(true)))
+            .named(USERNAME_KEY));
+        indexOperations.ensureIndex(new Index("lastModified", Direction.ASC).named("lastModified"));
+        indexOperations.ensureIndex(new Index(DELETED_AT, Direction.ASC)
+            .partial(PartialIndexFilter.of(Criteria.where(DELETED_AT).exists(true)))
+            .named(DELETED_AT));
     }
 
     @Override
     public User save(UUID id, User userToSave) {
-        User user = new User(id, userToSave.getUsername(), userToSave.getPassword());
-        return mongoTemplate.save(user);
+        User user = new User(id, userToSave.getUsername(), userToSave.getPassword(), null,
+            now());
+        User savedUser = mongoTemplate.insert(user);
+        readConsistency.recordWrite();
+        return savedUser;
     }
 
     @Override
     public User findById(UUID id) {
-        return mongoTemplate.findById(id, User.class);
+        Assert.notNull(id, "Id must not be null!");
+        return lookups().findOne(new Query(live(Criteria.where("id").is(id))), User.class);
     }
 
     @Override
     public User findByUsername(String username) {
-        return mongoTemplate
-            .findOne(new Query(Criteria.where("username").is(username)), User.class);
+        return lookups()
+            .findOne(new Query(live(byUsernames(List.of(username)))), User.class);
+    }
+
+    @Override
+    public List<User> findAllByIdsOrUsernames(Collection<UUID> ids, Collection<String> usernames) {
+        Criteria criteria = new Criteria().orOperator(Criteria.where("id").in(ids),
+            byUsernames(usernames));
+
+        return lookups().find(new Query(live(criteria)), User.class);
+    }
+
+    @Override
+    public List<User> findByUsernamePrefix(String prefix, int limit) {
+        Query query = new Query(live(
+            Criteria.where(USERNAME_KEY).regex("^" + Pattern.quote(UsernameKeys.of(prefix)))));
+        query.with(Sort.by(Direction.ASC, USERNAME_KEY)).limit(limit);
+        query.fields().include("id").include("username");
+
+        return lookups().find(query, User.class);
+    }
+
+    @Override
+    public List<User> findPage(String sortField, Object after, int limit,
+        Collection<String> fields) {
+        Query query = new Query(
+            after == null ? notDeleted() : live(Criteria.where(sortField).gt(after)));
+        query.with(Sort.by(Direction.ASC, sortField)).limit(limit);
+        fields.forEach(query.fields()::include);
+
+        return lookups().find(query, User.class);
+    }
+
+    @Override
+    public Set<String> findTakenUsernames(Collection<String> usernames) {
+        Query query = new Query(byUsernames(usernames));
+        query.fields().include("username");
+        Set<String> takenKeys = mongoTemplate.find(query, User.class).stream()
+                                             .map(user -> UsernameKeys.of(user.getUsername()))
+                                             .collect(Collectors.toSet());
+
+        return usernames.stream().filter(username -> takenKeys.contains(UsernameKeys.of(username)))
+                        .collect(Collectors.toSet());
+    }
+
+    @Override
+    public void forEachUsername(BiConsumer<UUID, String> consumer) {
+        Query query = new Query(notDeleted()).cursorBatchSize(USERNAME_BATCH_SIZE);
+        query.fields().include("id").include("username");
+
+        try (CloseableIterator<User> users = mongoTemplate.stream(query, User.class)) {
+            users.forEachRemaining(user -> consumer.accept(user.getId(), user.getUsername()));
+        }
+    }
+
+    @Override
+    public BulkWriteResult insertAll(List<User> users) {
+        Instant lastModified = now();
+        List<User> versionedUsers = users.stream().map(
+            user -> user.getVersion() == null ? user.withVersion(INITIAL_VERSION) : user)
+                                         .map(user -> user.withLastModified(lastModified))
+                                         .collect(Collectors.toList());
+
+        try {
+            return mongoTemplate.bulkOps(BulkMode.UNORDERED, User.class).insert(versionedUsers)
+                                .execute();
+        } finally {
+            readConsistency.recordWrite();
+        }
     }
 
     @Override
     public UpdateResult update(User user) {
-        Update update = new Update();
-        update.set("username", user.getUsername());
-        update.set("password", user.getPassword());
+        UpdateResult updateResult = mongoTemplate
+            .updateFirst(byIdAndVersion(user.getId(), user.getVersion()), toUpdate(user),
+                User.class);
+        readConsistency.recordWrite();
+        return updateResult;
+    }
+
+    @Override
+    public List<UpdateResult> updateAll(List<User> users) {
+        Assert.isTrue(users.stream().allMatch(user -> user.getVersion() == null),
+            "Versioned updates must be written one at a time");
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkMode.UNORDERED, User.class);
+        users.forEach(user -> bulkOperations
+            .updateOne(byIdAndVersion(user.getId(), user.getVersion()), toUpdate(user)));
+        BulkWriteResult bulkWriteResult;
 
-        return mongoTemplate
-            .updateFirst(new Query(Criteria.where("id").is(user.getId())), update, User.class);
+        try {
+            bulkWriteResult = bulkOperations.execute();
+        } finally {
+            readConsistency.recordWrite();
+        }
+
+        if (bulkWriteResult.getMatchedCount() == users.size()) {
+            return Collections.nCopies(users.size(), UpdateResult.acknowledged(1, 1L, null));
+        }
+
+        Query query = new Query(live(Criteria.where("id").in(
+            users.stream().map(User::getId).collect(Collectors.toList()))));
+        query.fields().include("id");
+        Set<UUID> liveIds = mongoTemplate.find(query, User.class).stream().map(User::getId)
+                                         .collect(Collectors.toSet());
+
+        return users.stream().map(user -> liveIds.contains(user.getId())
+            ? UpdateResult.acknowledged(1, 1L, null) : UpdateResult.acknowledged(0, 0L, null))
+                    .collect(Collectors.toList());
+    }
+
+    @Override
+    public User patch(UUID id, Long expectedVersion, String username, String password) {
+        Update update = new Update().inc("version", 1).currentDate("lastModified");
+
+        if (username != null) {
+            update.set("username", username);
+            update.set(USERNAME_KEY, UsernameKeys.of(username));
+        }
+
+        if (password != null) {
+            update.set("password", password);
+        }
+
+        User patchedUser = mongoTemplate
+            .findAndModify(byIdAndVersion(id, expectedVersion), update,
+                FindAndModifyOptions.options().returnNew(true), User.class);
+        readConsistency.recordWrite();
+        return patchedUser;
     }
 
     @Override
     public DeleteResult removeById(UUID id) {
-        return mongoTemplate.remove(new Query(Criteria.where("id").is(id)), User.class);
+        Query query = new Query(live(Criteria.where("id").is(id)));
+        DeleteResult deleteResult = softDelete ? DeleteResult.acknowledged(
+            mongoTemplate.updateFirst(query, toTombstone(id), User.class).getModifiedCount())
+            : mongoTemplate.remove(query, User.class);
+        readConsistency.recordWrite();
+        return deleteResult;
+    }
+
+    @Override
+    public DeleteResult removeAllByIds(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return DeleteResult.acknowledged(0);
+        }
+
+        DeleteResult deleteResult;
+
+        if (softDelete) {
+            BulkOperations bulkOperations = mongoTemplate
+                .bulkOps(BulkMode.UNORDERED, User.class);
+            ids.forEach(id -> bulkOperations
+                .updateOne(new Query(live(Criteria.where("id").is(id))), toTombstone(id)));
+            deleteResult = DeleteResult.acknowledged(bulkOperations.execute().getModifiedCount());
+        } else {
+            deleteResult = mongoTemplate
+                .remove(new Query(live(Criteria.where("id").in(ids))), User.class);
+        }
+
+        readConsistency.recordWrite();
+        return deleteResult;
+    }
+
+    static Update toTombstone(UUID id) {
+        return new Update().currentDate(DELETED_AT)
+                           .set("username", TOMBSTONE_USERNAME_PREFIX + id)
+                           .unset(USERNAME_KEY)
+                           .inc("version", 1)
+                           .currentDate("lastModified");
+    }
+
+    private void rejectDuplicates(IndexOperations indexOperations, String field) {
+        if (indexOperations.getIndexInfo().stream()
+                           .anyMatch(indexInfo -> field.equals(indexInfo.getName()))) {
+            return;
+        }
+
+        Aggregation duplicates = Aggregation.newAggregation(
+            Aggregation.match(Criteria.where(field).exists(true)),
+            Aggregation.group(field).count().as("count"),
+            Aggregation.match(Criteria.where("count").gt(1)),
+            Aggregation.limit(DUPLICATE_REPORT_LIMIT))
+            .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+        List<Object> duplicateValues = mongoTemplate
+            .aggregate(duplicates, User.class, Document.class).getMappedResults().stream()
+            .map(duplicate -> duplicate.get("_id")).collect(Collectors.toList());
+
+        if (!duplicateValues.isEmpty()) {
+            throw new IllegalStateException(String.format(
+                "Cannot create the unique %s index as more than one user has the %s %s. Rename "
+                    + "or delete the duplicate users and restart the service", field, field,
+                duplicateValues));
+        }
+    }
+
+    private MongoTemplate lookups() {
+        return readConsistency.isPinnedToPrimary() ? mongoTemplate : lookupMongoTemplate;
+    }
+
+    private static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    private static Criteria live(Criteria criteria) {
+        return new Criteria().andOperator(criteria, notDeleted());
+    }
+
+    private static Criteria notDeleted() {
+        return Criteria.where(DELETED_AT).is(null);
+    }
+
+    private static Criteria byUsernames(Collection<String> usernames) {
+        List<String> usernameKeys = usernames.stream().map(UsernameKeys::of)
+                                             .collect(Collectors.toList());
+
+        return new Criteria().orOperator(Criteria.where(USERNAME_KEY).in(usernameKeys),
+            Criteria.where("username").in(usernames));
+    }
+
+    private static Update toUpdate(User user) {
+        Update update = new Update();
+        update.set("username", user.getUsername());
+        update.set(USERNAME_KEY, UsernameKeys.of(user.getUsername()));
+        update.set("password", user.getPassword());
+        update.inc("version", 1);
+        update.currentDate("lastModified");
+        return update;
+    }
+
+    private static Query byIdAndVersion(UUID id, Long expectedVersion) {
+        Criteria criteria = Criteria.where("id").is(id);
+
+        return new Query(live(
+            expectedVersion == null ? criteria : criteria.and("version").is(expectedVersion)));
     }
 }
@@ -0,0 +1,96 @@
+package com.postitapplications.user.repository;
+
+import com.postitapplications.user.document.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UsernameCatchUp {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final MongoTemplate mongoTemplate;
+    private final UsernameFilteringUserRepository usernameFilteringUserRepository;
+    private final boolean enabled;
+    private final Duration interval;
+    private final Duration overlap;
+    private final Duration maxLag;
+    private final Counter failedCounter;
+    private final ScheduledExecutorService catchUpExecutor;
+    private volatile Instant caughtUpTo = Instant.now();
+
+    @Autowired
+    public UsernameCatchUp(MongoTemplate mongoTemplate,
+        UsernameFilteringUserRepository usernameFilteringUserRepository,
+        @Value("${user.username-catch-up.enabled:true}") boolean enabled,
+        @Value("${user.username-catch-up.interval:1s}") Duration interval,
+        @Value("${user.username-catch-up.overlap:5s}") Duration overlap,
+        @Value("${user.username-catch-up.max-lag:3s}") Duration maxLag,
+        MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.usernameFilteringUserRepository = usernameFilteringUserRepository;
+        this.enabled = enabled;
+        this.interval = interval;
+        this.overlap = overlap;
+        this.maxLag = maxLag;
+        this.failedCounter = Counter.builder("user.username.catch-up.failures")
+                                    .description("Username catch-up runs that failed")
+                                    .register(meterRegistry);
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+            "user-username-catch-up-");
+        threadFactory.setDaemon(true);
+        this.catchUpExecutor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            catchUpExecutor.scheduleWithFixedDelay(this::runScheduledCatchUp,
+                interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        catchUpExecutor.shutdownNow();
+    }
+
+    public void catchUp() {
+        Instant startedAt = Instant.now();
+        Query query = new Query(Criteria.where("lastModified").gte(caughtUpTo.minus(overlap))
+                                        .and("deletedAt").is(null)).cursorBatchSize(BATCH_SIZE);
+        query.fields().include("id").include("username");
+
+        try (CloseableIterator<User> users = mongoTemplate.stream(query, User.class)) {
+            users.forEachRemaining(
+                user -> usernameFilteringUserRepository.record(user.getUsername()));
+        }
+
+        caughtUpTo = startedAt;
+        usernameFilteringUserRepository.markCaughtUp(maxLag);
+    }
+
+    private void runScheduledCatchUp() {
+        try {
+            catchUp();
+        } catch (RuntimeException exception) {
+            failedCounter.increment();
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.postitapplications.user.repository;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import com.postitapplications.user.document.User;
+import com.postitapplications.user.utility.BloomFilter;
+import com.postitapplications.user.utility.TransactionHooks;
+import com.postitapplications.user.utility.UsernameKeys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Repository;
+
+@Repository("UsernameFilterRepo")
+public class UsernameFilteringUserRepository implements UserRepo, MeterBinder {
+
+    private final UserRepo userRepo;
+    private final BloomFilter usernames;
+    private final double falsePositiveRate;
+    private volatile boolean loaded;
+    private volatile boolean caughtUp;
+    private volatile long caughtUpUntil = System.nanoTime();
+    private Counter definitelyAbsentCounter;
+    private Counter possiblyPresentCounter;
+
+    @Autowired
+    public UsernameFilteringUserRepository(@Qualifier("UsernameIndexRepo") UserRepo userRepo,
+        @Value("${user.username-filter.expected-insertions:1000000}") long expectedInsertions,
+        @Value("${user.username-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepo = userRepo;
+        this.usernames = new BloomFilter(expectedInsertions, falsePositiveRate);
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        userRepo.forEachUsername((id, username) -> record(username));
+        loaded = true;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public boolean isCaughtUp() {
+        return caughtUp || System.nanoTime() - caughtUpUntil < 0;
+    }
+
+    public void setCaughtUp(boolean caughtUp) {
+        this.caughtUp = caughtUp;
+    }
+
+    public void markCaughtUp(Duration validFor) {
+        caughtUpUntil = System.nanoTime() + validFor.toNanos();
+    }
+
+    public boolean mightExist(String username) {
+        if (!loaded || !isCaughtUp() || username == null) {
+            return true;
+        }
+
+        boolean mightContain = usernames.mightContain(UsernameKeys.of(username));
+        count(mightContain);
+        return mightContain;
+    }
+
+    @Override
+    public User save(UUID id, User user) {
+        recordOnCommit(user.getUsername());
+        return userRepo.save(id, user);
+    }
+
+    @Override
+    public User findById(UUID id) {
+        return userRepo.findById(id);
+    }
+
+    @Override
+    public User findByUsername(String username) {
+        return mightExist(username) ? userRepo.findByUsername(username) : null;
+    }
+
+    @Override
+    public List<User> findAllByIdsOrUsernames(Collection<UUID> ids, Collection<String> usernames) {
+        List<String> possibleUsernames = usernames.stream().filter(this::mightExist)
+                                                  .collect(Collectors.toList());
+
+        if (ids.isEmpty() && possibleUsernames.isEmpty()) {
+            return List.of();
+        }
+
+        return userRepo.findAllByIdsOrUsernames(ids, possibleUsernames);
+    }
+
+    @Override
+    public List<User> findByUsernamePrefix(String prefix, int limit) {
+        return userRepo.findByUsernamePrefix(prefix, limit);
+    }
+
+    @Override
+    public List<User> findPage(String sortField, Object after, int limit,
+        Collection<String> fields) {
+        return userRepo.findPage(sortField, after, limit, fields);
+    }
+
+    @Override
+    public Set<String> findTakenUsernames(Collection<String> usernames) {
+        List<String> possibleUsernames = usernames.stream().filter(this::mightExist)
+                                                  .collect(Collectors.toList());
+
+        if (possibleUsernames.isEmpty()) {
+            return Set.of();
+        }
+
+        return userRepo.findTakenUsernames(possibleUsernames);
+    }
+
+    @Override
+    public void forEachUsername(BiConsumer<UUID, String> consumer) {
+        userRepo.forEachUsername(consumer);
+    }
+
+    @Override
+    public BulkWriteResult insertAll(List<User> users) {
+        users.forEach(user -> recordOnCommit(user.getUsername()));
+        return userRepo.insertAll(users);
+    }
+
+    @Override
+    public UpdateResult update(User user) {
+        recordOnCommit(user.getUsername());
+        return userRepo.update(user);
+    }
+
+    @Override
+    public List<UpdateResult> updateAll(List<User> users) {
+        users.forEach(user -> recordOnCommit(user.getUsername()));
+        return userRepo.updateAll(users);
+    }
+
+    @Override
+    public User patch(UUID id, Long expectedVersion, String username, String password) {
+        recordOnCommit(username);
+        return userRepo.patch(id, expectedVersion, username, password);
+    }
+
+    @Override
+    public DeleteResult removeById(UUID id) {
+        return userRepo.removeById(id);
+    }
+
+    @Override
+    public DeleteResult removeAllByIds(Collection<UUID> ids) {
+        return userRepo.removeAllByIds(ids);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        definitelyAbsentCounter = Counter.builder("user.username.filter.checks")
+                                         .tag("result", "absent")
+                                         .description("Username checks answered by the filter")
+                                         .register(registry);
+        possiblyPresentCounter = Counter.builder("user.username.filter.checks")
+                                        .tag("result", "possible")
+                                        .description("Username checks answered by the filter")
+                                        .register(registry);
+        Gauge.builder("user.username.filter.size", usernames, BloomFilter::getSizeInBytes)
+             .baseUnit("bytes")
+             .description("The memory held by the username filter's bit array")
+             .register(registry);
+        Gauge.builder("user.username.filter.hashes", usernames, BloomFilter::getHashCount)
+             .description("The number of hash functions the username filter applies")
+             .register(registry);
+        Gauge.builder("user.username.filter.false.positive.rate.target", () -> falsePositiveRate)
+             .description("The configured false positive rate of the username filter")
+             .register(registry);
+        Gauge.builder("user.username.filter.false.positive.rate", usernames,
+            BloomFilter::getExpectedFalsePositiveRate)
+             .description("The false positive rate expected at the filter's current fill")
+             .register(registry);
+        Gauge.builder("user.username.filter.usernames", usernames,
+            BloomFilter::getApproximateElementCount)
+             .description("The approximate number of usernames recorded in the filter")
+             .register(registry);
+    }
+
+    public void record(String username) {
+        if (username != null) {
+            usernames.put(UsernameKeys.of(username));
+        }
+    }
+
+    private void recordOnCommit(String username) {
+        TransactionHooks.afterCommit(() -> record(username));
+    }
+
+    private void count(boolean mightContain) {
+        Counter counter = mightContain ? possiblyPresentCounter : definitelyAbsentCounter;
+
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+}
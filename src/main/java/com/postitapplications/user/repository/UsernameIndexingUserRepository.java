@@ -0,0 +1,266 @@
+package com.postitapplications.user.repository;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import com.postitapplications.user.document.User;
+import com.postitapplications.user.utility.TransactionHooks;
+import com.postitapplications.user.utility.UsernameKeys;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.stereotype.Repository;
+
+@Repository("UsernameIndexRepo")
+public class UsernameIndexingUserRepository implements UserRepo, MeterBinder {
+
+    private final UserRepo userRepo;
+    private final boolean changeStreamEnabled;
+    private final ConcurrentNavigableMap<String, User> usersByUsername =
+        new ConcurrentSkipListMap<>();
+    private final Map<UUID, String> usernamesById = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+    private volatile boolean caughtUp;
+
+    @Autowired
+    public UsernameIndexingUserRepository(@Qualifier("MeteredRepo") UserRepo userRepo,
+        @Value("${user.change-stream.enabled:false}") boolean changeStreamEnabled) {
+        this.userRepo = userRepo;
+        this.changeStreamEnabled = changeStreamEnabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (changeStreamEnabled) {
+            load();
+        }
+    }
+
+    public void load() {
+        userRepo.forEachUsername(this::index);
+        loaded = true;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public boolean isCaughtUp() {
+        return caughtUp;
+    }
+
+    public void setCaughtUp(boolean caughtUp) {
+        this.caughtUp = caughtUp;
+    }
+
+    @Override
+    public User save(UUID id, User user) {
+        User savedUser = userRepo.save(id, user);
+
+        if (savedUser != null) {
+            indexOnCommit(savedUser.getId(), savedUser.getUsername());
+        }
+
+        return savedUser;
+    }
+
+    @Override
+    public User findById(UUID id) {
+        return userRepo.findById(id);
+    }
+
+    @Override
+    public User findByUsername(String username) {
+        return userRepo.findByUsername(username);
+    }
+
+    @Override
+    public List<User> findAllByIdsOrUsernames(Collection<UUID> ids, Collection<String> usernames) {
+        return userRepo.findAllByIdsOrUsernames(ids, usernames);
+    }
+
+    @Override
+    public List<User> findByUsernamePrefix(String prefix, int limit) {
+        if (!loaded || !caughtUp) {
+            return userRepo.findByUsernamePrefix(prefix, limit);
+        }
+
+        String prefixKey = UsernameKeys.of(prefix);
+
+        return usersByUsername.subMap(prefixKey, true, prefixKey + Character.MAX_VALUE, false)
+                              .values().stream().limit(limit).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<User> findPage(String sortField, Object after, int limit,
+        Collection<String> fields) {
+        return userRepo.findPage(sortField, after, limit, fields);
+    }
+
+    @Override
+    public Set<String> findTakenUsernames(Collection<String> usernames) {
+        return userRepo.findTakenUsernames(usernames);
+    }
+
+    @Override
+    public void forEachUsername(BiConsumer<UUID, String> consumer) {
+        userRepo.forEachUsername(consumer);
+    }
+
+    @Override
+    public BulkWriteResult insertAll(List<User> users) {
+        try {
+            BulkWriteResult bulkWriteResult = userRepo.insertAll(users);
+            users.forEach(user -> indexOnCommit(user.getId(), user.getUsername()));
+            return bulkWriteResult;
+        } catch (BulkOperationException exception) {
+            Set<Integer> failedIndexes = failedIndexes(exception);
+
+            for (int i = 0; i < users.size(); i++) {
+                if (!failedIndexes.contains(i)) {
+                    indexOnCommit(users.get(i).getId(), users.get(i).getUsername());
+                }
+            }
+
+            throw exception;
+        }
+    }
+
+    @Override
+    public UpdateResult update(User user) {
+        UpdateResult updateResult = userRepo.update(user);
+
+        if (updateResult.getMatchedCount() > 0) {
+            indexOnCommit(user.getId(), user.getUsername());
+        }
+
+        return updateResult;
+    }
+
+    @Override
+    public List<UpdateResult> updateAll(List<User> users) {
+        try {
+            List<UpdateResult> updateResults = userRepo.updateAll(users);
+
+            for (int i = 0; i < users.size(); i++) {
+                if (updateResults.get(i).getMatchedCount() > 0) {
+                    indexOnCommit(users.get(i).getId(), users.get(i).getUsername());
+                }
+            }
+
+            return updateResults;
+        } catch (BulkOperationException exception) {
+            Set<Integer> failedIndexes = failedIndexes(exception);
+
+            for (int i = 0; i < users.size(); i++) {
+                if (!failedIndexes.contains(i) && usernamesById.containsKey(users.get(i).getId())) {
+                    indexOnCommit(users.get(i).getId(), users.get(i).getUsername());
+                }
+            }
+
+            throw exception;
+        }
+    }
+
+    @Override
+    public User patch(UUID id, Long expectedVersion, String username, String password) {
+        User patchedUser = userRepo.patch(id, expectedVersion, username, password);
+
+        if (patchedUser != null) {
+            indexOnCommit(patchedUser.getId(), patchedUser.getUsername());
+        }
+
+        return patchedUser;
+    }
+
+    @Override
+    public DeleteResult removeById(UUID id) {
+        DeleteResult deleteResult = userRepo.removeById(id);
+
+        if (deleteResult.getDeletedCount() > 0) {
+            unindexOnCommit(id);
+        }
+
+        return deleteResult;
+    }
+
+    @Override
+    public DeleteResult removeAllByIds(Collection<UUID> ids) {
+        DeleteResult deleteResult = userRepo.removeAllByIds(ids);
+
+        if (deleteResult.getDeletedCount() > 0) {
+            ids.forEach(this::unindexOnCommit);
+        }
+
+        return deleteResult;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("user.username.prefix.index.size", usersByUsername, Map::size)
+             .description("The number of usernames in the prefix search index")
+             .register(registry);
+    }
+
+    public void index(UUID id, String username) {
+        if (id == null || username == null) {
+            return;
+        }
+
+        String usernameKey = UsernameKeys.of(username);
+        String previousUsername = usernamesById.put(id, username);
+
+        if (previousUsername != null && !UsernameKeys.of(previousUsername).equals(usernameKey)) {
+            remove(UsernameKeys.of(previousUsername), id);
+        }
+
+        usersByUsername.put(usernameKey, new User(id, username, null));
+    }
+
+    public void unindex(UUID id) {
+        String username = usernamesById.remove(id);
+
+        if (username != null) {
+            remove(UsernameKeys.of(username), id);
+        }
+    }
+
+    private void remove(String usernameKey, UUID id) {
+        usersByUsername.computeIfPresent(usernameKey,
+            (key, user) -> id.equals(user.getId()) ? null : user);
+    }
+
+    private void indexOnCommit(UUID id, String username) {
+        if (changeStreamEnabled) {
+            TransactionHooks.afterCommit(() -> index(id, username));
+        }
+    }
+
+    private void unindexOnCommit(UUID id) {
+        if (changeStreamEnabled) {
+            TransactionHooks.afterCommit(() -> unindex(id));
+        }
+    }
+
+    private static Set<Integer> failedIndexes(BulkOperationException exception) {
+        return exception.getErrors().stream().map(BulkWriteError::getIndex)
+                        .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,110 @@
+package com.postitapplications.user.repository;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.postitapplications.user.document.User;
+import com.postitapplications.user.dto.BackfillResult;
+import com.postitapplications.user.utility.UsernameKeys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UsernameKeyBackfill {
+
+    private static final String USERNAME_KEY = "usernameKey";
+
+    private final MongoTemplate mongoTemplate;
+    private final int batchSize;
+    private final boolean runOnStartup;
+    private final Counter updatedCounter;
+    private final Counter conflictCounter;
+
+    @Autowired
+    public UsernameKeyBackfill(MongoTemplate mongoTemplate,
+        @Value("${user.username-key.backfill.batch-size:1000}") int batchSize,
+        @Value("${user.username-key.backfill.on-startup:true}") boolean runOnStartup,
+        MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.batchSize = batchSize;
+        this.runOnStartup = runOnStartup;
+        this.updatedCounter = counter(meterRegistry, "updated");
+        this.conflictCounter = counter(meterRegistry, "conflict");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (runOnStartup) {
+            backfill();
+        }
+    }
+
+    public BackfillResult backfill() {
+        Query query = new Query(
+            Criteria.where(USERNAME_KEY).exists(false).and("deletedAt").is(null))
+            .cursorBatchSize(batchSize);
+        query.fields().include("id").include("username");
+        List<User> batch = new ArrayList<>(batchSize);
+        long updated = 0;
+        long conflicts = 0;
+
+        try (CloseableIterator<User> users = mongoTemplate.stream(query, User.class)) {
+            while (users.hasNext()) {
+                batch.add(users.next());
+
+                if (batch.size() == batchSize || !users.hasNext()) {
+                    BackfillResult result = write(batch);
+                    updated += result.getUpdated();
+                    conflicts += result.getConflicts();
+                    batch.clear();
+                }
+            }
+        }
+
+        return new BackfillResult(updated, conflicts);
+    }
+
+    private BackfillResult write(List<User> users) {
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkMode.UNORDERED, User.class);
+
+        for (User user : users) {
+            bulkOperations.updateOne(
+                new Query(Criteria.where("id").is(user.getId()).and(USERNAME_KEY).exists(false)),
+                Update.update(USERNAME_KEY, UsernameKeys.of(user.getUsername())));
+        }
+
+        BackfillResult result;
+
+        try {
+            BulkWriteResult bulkWriteResult = bulkOperations.execute();
+            result = new BackfillResult(bulkWriteResult.getModifiedCount(), 0);
+        } catch (BulkOperationException exception) {
+            result = new BackfillResult(exception.getResult().getModifiedCount(),
+                exception.getErrors().size());
+        }
+
+        updatedCounter.increment(result.getUpdated());
+        conflictCounter.increment(result.getConflicts());
+        return result;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("user.username.key.backfill")
+                      .tag("result", result)
+                      .description("Users given a normalized username key by the backfill")
+                      .register(meterRegistry);
+    }
+}
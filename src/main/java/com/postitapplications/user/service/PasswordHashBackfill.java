@@ -0,0 +1,131 @@
+package com.postitapplications.user.service;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.postitapplications.user.document.User;
+import com.postitapplications.user.dto.BackfillResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PasswordHashBackfill {
+
+    private static final Pattern BCRYPT_PREFIX = Pattern.compile("^\\$2[aby]?\\$\\d\\d\\$");
+
+    private final MongoTemplate mongoTemplate;
+    private final PasswordHasher passwordHasher;
+    private final int batchSize;
+    private final boolean runOnStartup;
+    private final Counter updatedCounter;
+    private final Counter conflictCounter;
+    private final Counter failedCounter;
+
+    @Autowired
+    public PasswordHashBackfill(MongoTemplate mongoTemplate, PasswordHasher passwordHasher,
+        @Value("${user.password.backfill.batch-size:100}") int batchSize,
+        @Value("${user.password.backfill.on-startup:true}") boolean runOnStartup,
+        MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.passwordHasher = passwordHasher;
+        this.batchSize = batchSize;
+        this.runOnStartup = runOnStartup;
+        this.updatedCounter = counter(meterRegistry, "updated");
+        this.conflictCounter = counter(meterRegistry, "conflict");
+        this.failedCounter = Counter.builder("user.password.backfill.failures")
+                                    .description("Startup backfill runs that stopped on an error")
+                                    .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (runOnStartup) {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+                "user-password-backfill-");
+            threadFactory.setDaemon(true);
+            threadFactory.newThread(this::runStartupBackfill).start();
+        }
+    }
+
+    public BackfillResult backfill() {
+        Query query = new Query(Criteria.where("password").exists(true).not()
+                                        .regex(BCRYPT_PREFIX)).cursorBatchSize(batchSize);
+        query.fields().include("id").include("password");
+        List<User> batch = new ArrayList<>(batchSize);
+        long updated = 0;
+        long conflicts = 0;
+
+        try (CloseableIterator<User> users = mongoTemplate.stream(query, User.class)) {
+            while (users.hasNext()) {
+                batch.add(users.next());
+
+                if (batch.size() == batchSize || !users.hasNext()) {
+                    BackfillResult result = write(batch);
+                    updated += result.getUpdated();
+                    conflicts += result.getConflicts();
+                    batch.clear();
+                }
+            }
+        }
+
+        return new BackfillResult(updated, conflicts);
+    }
+
+    private void runStartupBackfill() {
+        try {
+            backfill();
+        } catch (RuntimeException exception) {
+            failedCounter.increment();
+        }
+    }
+
+    private BackfillResult write(List<User> users) {
+        List<String> hashedPasswords = passwordHasher
+            .hashAll(users.stream().map(User::getPassword).collect(Collectors.toList()));
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkMode.UNORDERED, User.class);
+
+        for (int index = 0; index < users.size(); index++) {
+            User user = users.get(index);
+            bulkOperations.updateOne(new Query(
+                    Criteria.where("id").is(user.getId()).and("password").is(user.getPassword())),
+                Update.update("password", hashedPasswords.get(index)));
+        }
+
+        long modified;
+
+        try {
+            BulkWriteResult bulkWriteResult = bulkOperations.execute();
+            modified = bulkWriteResult.getModifiedCount();
+        } catch (BulkOperationException exception) {
+            modified = exception.getResult().getModifiedCount();
+        }
+
+        BackfillResult result = new BackfillResult(modified, users.size() - modified);
+        updatedCounter.increment(result.getUpdated());
+        conflictCounter.increment(result.getConflicts());
+        return result;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("user.password.backfill")
+                      .tag("result", result)
+                      .description("Plaintext passwords replaced with a hash by the backfill")
+                      .register(meterRegistry);
+    }
+}
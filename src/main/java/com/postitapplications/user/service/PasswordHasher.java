@@ -0,0 +1,137 @@
+package com.postitapplications.user.service;
+
+import com.postitapplications.user.exception.HashingUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PasswordHasher {
+
+    private static final Pattern BCRYPT_HASH = Pattern
+        .compile("\\A\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}\\z");
+
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor hashingExecutor;
+    private final Timer hashTimer;
+    private final Timer verifyTimer;
+
+    @Autowired
+    public PasswordHasher(@Value("${user.password.hash-cost:10}") int hashCost,
+        @Value("${user.password.hash-threads:0}") int hashThreads,
+        @Value("${user.password.hash-queue-size:64}") int hashQueueSize,
+        MeterRegistry meterRegistry) {
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("password-hasher-");
+        threadFactory.setDaemon(true);
+
+        this.passwordEncoder = new BCryptPasswordEncoder(hashCost);
+        this.hashingExecutor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(hashQueueSize), threadFactory);
+        this.hashTimer = Timer.builder("user.password.hash")
+                              .tag("cost", String.valueOf(hashCost))
+                              .description("Time spent hashing a single password")
+                              .register(meterRegistry);
+        this.verifyTimer = Timer.builder("user.password.verify")
+                                .tag("cost", String.valueOf(hashCost))
+                                .description("Time spent checking a password against a hash")
+                                .register(meterRegistry);
+        new ExecutorServiceMetrics(hashingExecutor, "passwordHasher", Tags.empty())
+            .bindTo(meterRegistry);
+    }
+
+    public CompletableFuture<String> hashAsync(String password) {
+        return submit(() -> encode(password));
+    }
+
+    public String hash(String password) {
+        return await(hashAsync(password));
+    }
+
+    public String hashIfPlain(String password) {
+        return isHashed(password) ? password : hash(password);
+    }
+
+    public static boolean isHashed(String password) {
+        return password != null && BCRYPT_HASH.matcher(password).matches();
+    }
+
+    public boolean matches(String password, String hashedPassword) {
+        if (!isHashed(hashedPassword)) {
+            return hashedPassword != null && MessageDigest
+                .isEqual(password.getBytes(StandardCharsets.UTF_8),
+                    hashedPassword.getBytes(StandardCharsets.UTF_8));
+        }
+
+        return await(submit(() -> verifyTimer
+            .record(() -> passwordEncoder.matches(password, hashedPassword))));
+    }
+
+    public List<String> hashAll(List<String> passwords) {
+        int sliceSize = Math.max(1,
+            (passwords.size() + hashingExecutor.getCorePoolSize() - 1) / hashingExecutor
+                .getCorePoolSize());
+        List<CompletableFuture<List<String>>> slices = new ArrayList<>();
+
+        for (int start = 0; start < passwords.size(); start += sliceSize) {
+            List<String> slice = passwords
+                .subList(start, Math.min(start + sliceSize, passwords.size()));
+            slices.add(
+                submit(() -> slice.stream().map(this::encode).collect(Collectors.toList())));
+        }
+
+        List<String> hashes = new ArrayList<>(passwords.size());
+        slices.forEach(slice -> hashes.addAll(await(slice)));
+        return hashes;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingExecutor.shutdown();
+    }
+
+    private String encode(String password) {
+        return hashTimer.record(() -> passwordEncoder.encode(password));
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, hashingExecutor);
+        } catch (RejectedExecutionException exception) {
+            throw new HashingUnavailableException(
+                "Password hashing is at capacity, please try again later");
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) exception.getCause();
+            }
+
+            throw exception;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.postitapplications.user.service;
+
+import com.postitapplications.user.document.UserEvent;
+import com.postitapplications.user.repository.ReactiveUserEventRepository;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.data.mongodb.ReactiveMongoTransactionManager;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+@Component
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveUserEventOutbox {
+
+    private final ReactiveUserEventRepository reactiveUserEventRepository;
+    private final TransactionalOperator transactionalOperator;
+
+    @Autowired
+    public ReactiveUserEventOutbox(ReactiveUserEventRepository reactiveUserEventRepository,
+        @Nullable ReactiveMongoTransactionManager transactionManager) {
+        this.reactiveUserEventRepository = reactiveUserEventRepository;
+        this.transactionalOperator = transactionManager == null ? null
+            : TransactionalOperator.create(transactionManager);
+    }
+
+    public <T> Mono<T> record(Mono<T> change, Function<T, UserEvent> toEvent) {
+        Mono<T> write = change.flatMap(result -> {
+            UserEvent userEvent = toEvent.apply(result);
+
+            return userEvent == null ? Mono.just(result)
+                : reactiveUserEventRepository.append(userEvent).thenReturn(result);
+        });
+
+        return transactionalOperator == null ? write : transactionalOperator.transactional(write);
+    }
+}
@@ -0,0 +1,91 @@
+package com.postitapplications.user.service;
+
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import com.postitapplications.exception.exceptions.UsernameTakenException;
+import com.postitapplications.user.document.User;
+import com.postitapplications.user.document.UserEvent;
+import com.postitapplications.user.repository.ReactiveUserRepo;
+import com.postitapplications.user.utility.UserValidator;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+@Service
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveUserService {
+
+    private final ReactiveUserRepo reactiveUserRepo;
+    private final PasswordHasher passwordHasher;
+    private final ReactiveUserEventOutbox reactiveUserEventOutbox;
+
+    @Autowired
+    public ReactiveUserService(
+        @Qualifier("ReactiveMongoDBRepo") ReactiveUserRepo reactiveUserRepo,
+        PasswordHasher passwordHasher, ReactiveUserEventOutbox reactiveUserEventOutbox) {
+        this.reactiveUserRepo = reactiveUserRepo;
+        this.passwordHasher = passwordHasher;
+        this.reactiveUserEventOutbox = reactiveUserEventOutbox;
+    }
+
+    public Mono<User> saveUser(User user) {
+        return Mono.fromRunnable(() -> UserValidator.validateUser(user))
+                   .then(Mono.defer(() -> hashPassword(user)))
+                   .flatMap(hashedUser -> reactiveUserEventOutbox.record(
+                       reactiveUserRepo.save(hashedUser),
+                       savedUser -> new UserEvent(UserEvent.Type.CREATED, savedUser.getId(),
+                           savedUser.getUsername())))
+                   .onErrorMap(DuplicateKeyException.class, exception -> new UsernameTakenException(
+                       String.format("Cannot save user as %s is already taken",
+                           user.getUsername())));
+    }
+
+    public Mono<User> getUserById(UUID id) {
+        return Mono.fromRunnable(() -> UserValidator.validateUserId(id))
+                   .then(Mono.defer(() -> reactiveUserRepo.findById(id)));
+    }
+
+    public Mono<User> getUserByUsername(String username) {
+        return Mono.fromRunnable(() -> UserValidator.validateUsername(username))
+                   .then(Mono.defer(() -> reactiveUserRepo.findByUsername(username)));
+    }
+
+    public Mono<UpdateResult> updateUser(User user) {
+        return Mono.fromRunnable(() -> {
+            UserValidator.validateUser(user);
+            UserValidator.validateUserId(user.getId());
+        }).then(Mono.defer(() -> hashPassword(user)))
+                   .flatMap(hashedUser -> reactiveUserEventOutbox.record(
+                       reactiveUserRepo.update(hashedUser),
+                       result -> result.getModifiedCount() == 0 ? null
+                           : new UserEvent(UserEvent.Type.UPDATED, user.getId(),
+                               user.getUsername())))
+                   .onErrorMap(DuplicateKeyException.class, exception -> new UsernameTakenException(
+                       String.format("Cannot update user as %s is already taken",
+                           user.getUsername())));
+    }
+
+    public Mono<DeleteResult> deleteUserById(UUID id) {
+        return Mono.fromRunnable(() -> UserValidator.validateUserId(id))
+                   .then(Mono.defer(() -> reactiveUserEventOutbox
+                       .record(reactiveUserRepo.removeById(id),
+                           result -> result.getDeletedCount() == 0 ? null
+                               : new UserEvent(UserEvent.Type.DELETED, id, null))));
+    }
+
+    private Mono<User> hashPassword(User user) {
+        return withPassword(user, passwordHasher.hashAsync(user.getPassword()));
+    }
+
+    private static Mono<User> withPassword(User user, CompletableFuture<String> password) {
+        return Mono.fromFuture(password)
+                   .map(hashedPassword -> new User(user.getId(), user.getUsername(),
+                       hashedPassword, user.getVersion()));
+    }
+}
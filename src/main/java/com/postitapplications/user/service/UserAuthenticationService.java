@@ -0,0 +1,113 @@
+package com.postitapplications.user.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.postitapplications.exception.exceptions.ValidationException;
+import com.postitapplications.user.document.User;
+import com.postitapplications.user.dto.AuthenticationRequest;
+import com.postitapplications.user.exception.AuthenticationFailedException;
+import com.postitapplications.user.repository.UserRepo;
+import com.postitapplications.user.utility.UserValidator;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Service
+public class UserAuthenticationService {
+
+    private static final String DIGEST_ALGORITHM = "HmacSHA256";
+
+    private final UserRepo userRepo;
+    private final PasswordHasher passwordHasher;
+    private final Cache<String, Boolean> verifications;
+    private final ThreadLocal<Mac> verificationDigest;
+    private final String unknownUserHash;
+
+    @Autowired
+    public UserAuthenticationService(@Qualifier("CachingRepo") UserRepo userRepo,
+        PasswordHasher passwordHasher,
+        @Value("${user.authentication.cache-ttl:10s}") Duration cacheTtl,
+        @Value("${user.authentication.cache-size:10000}") long cacheSize) {
+        byte[] digestKey = new byte[32];
+        new SecureRandom().nextBytes(digestKey);
+        SecretKeySpec secretKey = new SecretKeySpec(digestKey, DIGEST_ALGORITHM);
+
+        this.userRepo = userRepo;
+        this.passwordHasher = passwordHasher;
+        this.verifications = Caffeine.newBuilder()
+                                     .maximumSize(cacheSize)
+                                     .expireAfterWrite(cacheTtl)
+                                     .build();
+        this.verificationDigest = ThreadLocal.withInitial(() -> newMac(secretKey));
+        this.unknownUserHash = passwordHasher.hash(Base64.getEncoder().encodeToString(digestKey));
+    }
+
+    public User authenticate(AuthenticationRequest authenticationRequest) {
+        validateAuthenticationRequest(authenticationRequest);
+
+        String username = authenticationRequest.getUsername();
+        String password = authenticationRequest.getPassword();
+        User user = userRepo.findByUsername(username);
+        String hashedPassword = user == null ? unknownUserHash : user.getPassword();
+        String verificationKey = verificationKey(username, password, hashedPassword);
+        Boolean verified = verifications.getIfPresent(verificationKey);
+
+        if (verified == null) {
+            verified = passwordHasher.matches(password, hashedPassword) && user != null;
+            verifications.put(verificationKey, verified);
+        }
+
+        if (!verified) {
+            throw new AuthenticationFailedException("Username or password is incorrect");
+        }
+
+        if (!PasswordHasher.isHashed(user.getPassword())) {
+            upgradePassword(user, password);
+        }
+
+        return new User(user.getId(), user.getUsername(), null);
+    }
+
+    private void upgradePassword(User user, String password) {
+        userRepo.patch(user.getId(), user.getVersion(), null, passwordHasher.hash(password));
+    }
+
+    private static void validateAuthenticationRequest(
+        AuthenticationRequest authenticationRequest) {
+        if (authenticationRequest == null) {
+            throw new ValidationException("Authentication request cannot be null");
+        }
+
+        UserValidator.validateUsername(authenticationRequest.getUsername());
+        UserValidator.validatePassword(authenticationRequest.getPassword());
+    }
+
+    private String verificationKey(String username, String password, String hashedPassword) {
+        Mac mac = verificationDigest.get();
+        mac.update(username.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        mac.update(password.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+
+        return Base64.getEncoder()
+                     .encodeToString(mac.doFinal(hashedPassword.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static Mac newMac(SecretKeySpec secretKey) {
+        try {
+            Mac mac = Mac.getInstance(DIGEST_ALGORITHM);
+            mac.init(secretKey);
+            return mac;
+        } catch (GeneralSecurityException exception) {
+            throw new IllegalStateException("Could not create a verification digest", exception);
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.postitapplications.user.service;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.result.DeleteResult;
+import com.postitapplications.exception.exceptions.ValidationException;
+import com.postitapplications.user.document.User;
+import com.postitapplications.user.document.UserEvent;
+import com.postitapplications.user.document.UserEvent.Type;
+import com.postitapplications.user.dto.BatchDeleteResult;
+import com.postitapplications.user.dto.BatchItemResult;
+import com.postitapplications.user.dto.BatchSaveResult;
+import com.postitapplications.user.dto.UserLookupRequest;
+import com.postitapplications.user.exception.HashingUnavailableException;
+import com.postitapplications.user.repository.UserRepo;
+import com.postitapplications.user.utility.UserValidator;
+import com.postitapplications.user.utility.UsernameKeys;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.stereotype.Service;
+
+@Service
+public class UserBatchService {
+
+    private static final int DUPLICATE_KEY_ERROR_CODE = 11000;
+
+    private final UserRepo userRepo;
+    private final PasswordHasher passwordHasher;
+    private final UserEventOutbox userEventOutbox;
+    private final int chunkSize;
+    private final int maxBatchSize;
+    private final int maxLookupSize;
+
+    @Autowired
+    public UserBatchService(@Qualifier("CachingRepo") UserRepo userRepo,
+        PasswordHasher passwordHasher, UserEventOutbox userEventOutbox,
+        @Value("${user.batch.chunk-size:1000}") int chunkSize,
+        @Value("${user.batch.max-size:10000}") int maxBatchSize,
+        @Value("${user.lookup.max-size:500}") int maxLookupSize) {
+        this.userRepo = userRepo;
+        this.passwordHasher = passwordHasher;
+        this.userEventOutbox = userEventOutbox;
+        this.chunkSize = chunkSize;
+        this.maxBatchSize = maxBatchSize;
+        this.maxLookupSize = maxLookupSize;
+    }
+
+    public List<User> getUsers(UserLookupRequest userLookupRequest) {
+        validateLookup(userLookupRequest);
+
+        Set<UUID> ids = new LinkedHashSet<>(userLookupRequest.getIds());
+        Set<String> usernames = new LinkedHashSet<>(userLookupRequest.getUsernames());
+
+        if (ids.isEmpty() && usernames.isEmpty()) {
+            return List.of();
+        }
+
+        return userRepo.findAllByIdsOrUsernames(ids, usernames);
+    }
+
+    public BatchSaveResult saveUsers(List<User> users) {
+        validateBatch(users);
+
+        BatchItemResult[] results = new BatchItemResult[users.size()];
+        Map<String, Integer> indexesByUsernameKey = new LinkedHashMap<>();
+
+        for (int index = 0; index < users.size(); index++) {
+            User user = users.get(index);
+            String username = user == null ? null : user.getUsername();
+
+            try {
+                UserValidator.validateUser(user);
+            } catch (ValidationException exception) {
+                results[index] = BatchItemResult.invalid(index, username, exception.getMessage());
+                continue;
+            }
+
+            if (indexesByUsernameKey.putIfAbsent(UsernameKeys.of(username), index) != null) {
+                results[index] = BatchItemResult.conflict(index, username,
+                    String.format("Cannot save user as %s is duplicated in the batch", username));
+            }
+        }
+
+        List<String> candidateUsernames = indexesByUsernameKey.values().stream()
+            .map(index -> users.get(index).getUsername()).collect(Collectors.toList());
+        Set<String> takenUsernames = candidateUsernames.isEmpty() ? Set.of()
+            : userRepo.findTakenUsernames(candidateUsernames);
+        List<Integer> pendingIndexes = new ArrayList<>();
+        List<User> pendingUsers = new ArrayList<>();
+
+        for (int index : indexesByUsernameKey.values()) {
+            String username = users.get(index).getUsername();
+
+            if (takenUsernames.contains(username)) {
+                results[index] = BatchItemResult.conflict(index, username,
+                    String.format("Cannot save user as %s is already taken", username));
+            } else {
+                pendingIndexes.add(index);
+                pendingUsers.add(
+                    new User(UUID.randomUUID(), username, users.get(index).getPassword()));
+            }
+        }
+
+        for (int start = 0; start < pendingUsers.size(); start += chunkSize) {
+            int end = Math.min(start + chunkSize, pendingUsers.size());
+            List<Integer> chunkIndexes = pendingIndexes.subList(start, end);
+            List<User> chunkUsers = pendingUsers.subList(start, end);
+
+            try {
+                insertChunk(chunkIndexes, hashPasswords(chunkUsers), results);
+            } catch (HashingUnavailableException exception) {
+                for (int position = 0; position < chunkUsers.size(); position++) {
+                    results[chunkIndexes.get(position)] = BatchItemResult.failed(
+                        chunkIndexes.get(position), chunkUsers.get(position).getUsername(),
+                        exception.getMessage());
+                }
+            }
+        }
+
+        return new BatchSaveResult(Arrays.asList(results));
+    }
+
+    public BatchDeleteResult deleteUsers(List<UUID> ids) {
+        validateDeletion(ids);
+
+        List<UUID> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        long deleted = 0;
+
+        for (int start = 0; start < distinctIds.size(); start += chunkSize) {
+            List<UUID> chunk = distinctIds
+                .subList(start, Math.min(start + chunkSize, distinctIds.size()));
+            deleted += userEventOutbox.recordAll(() -> userRepo.removeAllByIds(chunk),
+                deleteResult -> deleted(chunk, deleteResult)).getDeletedCount();
+        }
+
+        return new BatchDeleteResult(distinctIds.size(), deleted);
+    }
+
+    // A single deleteMany reports how many users it removed, not which ones, so a partly
+    // deleted chunk records an event for every id in it. Ids that were already gone get a
+    // repeated DELETED event, but no removed user goes unrecorded.
+    private List<UserEvent> deleted(List<UUID> ids, DeleteResult deleteResult) {
+        if (deleteResult.getDeletedCount() == 0) {
+            return List.of();
+        }
+
+        return ids.stream().map(id -> new UserEvent(Type.DELETED, id, null))
+                  .collect(Collectors.toList());
+    }
+
+    private List<UserEvent> created(List<User> users) {
+        return users.stream().map(user -> new UserEvent(Type.CREATED, user.getId(),
+            user.getUsername())).collect(Collectors.toList());
+    }
+
+    private void validateBatch(List<User> users) {
+        if (users == null) {
+            throw new ValidationException("Users cannot be null");
+        }
+
+        if (users.size() > maxBatchSize) {
+            throw new ValidationException(
+                String.format("Cannot save more than %d users in one batch", maxBatchSize));
+        }
+    }
+
+    private void validateDeletion(List<UUID> ids) {
+        if (ids == null) {
+            throw new ValidationException("Ids cannot be null");
+        }
+
+        if (ids.size() > maxBatchSize) {
+            throw new ValidationException(
+                String.format("Cannot delete more than %d users in one batch", maxBatchSize));
+        }
+
+        ids.forEach(UserValidator::validateUserId);
+    }
+
+    private void validateLookup(UserLookupRequest userLookupRequest) {
+        if (userLookupRequest == null) {
+            throw new ValidationException("Lookup cannot be null");
+        }
+
+        int lookupSize =
+            userLookupRequest.getIds().size() + userLookupRequest.getUsernames().size();
+
+        if (lookupSize > maxLookupSize) {
+            throw new ValidationException(
+                String.format("Cannot look up more than %d users in one call", maxLookupSize));
+        }
+
+        userLookupRequest.getIds().forEach(UserValidator::validateUserId);
+        userLookupRequest.getUsernames().forEach(UserValidator::validateUsername);
+    }
+
+    private List<User> hashPasswords(List<User> users) {
+        List<String> hashedPasswords = passwordHasher
+            .hashAll(users.stream().map(User::getPassword).collect(Collectors.toList()));
+        List<User> hashedUsers = new ArrayList<>(users.size());
+
+        for (int position = 0; position < users.size(); position++) {
+            User user = users.get(position);
+            hashedUsers.add(new User(user.getId(), user.getUsername(),
+                hashedPasswords.get(position)));
+        }
+
+        return hashedUsers;
+    }
+
+    private void insertChunk(List<Integer> indexes, List<User> users,
+        BatchItemResult[] results) {
+        Map<Integer, BulkWriteError> errorsByPosition = new HashMap<>();
+        List<Integer> pendingPositions = IntStream.range(0, users.size()).boxed()
+                                                  .collect(Collectors.toList());
+
+        while (!pendingPositions.isEmpty()) {
+            List<User> pendingUsers = pendingPositions.stream().map(users::get)
+                                                      .collect(Collectors.toList());
+
+            try {
+                userEventOutbox.recordAll(() -> userRepo.insertAll(pendingUsers),
+                    result -> created(pendingUsers));
+                break;
+            } catch (BulkOperationException exception) {
+                for (BulkWriteError error : exception.getErrors()) {
+                    errorsByPosition.put(pendingPositions.get(error.getIndex()), error);
+                }
+
+                pendingPositions = pendingPositions.stream()
+                                                   .filter(position -> !errorsByPosition
+                                                       .containsKey(position))
+                                                   .collect(Collectors.toList());
+
+                // Outside a transaction the rest of the unordered insert has already been applied
+                if (!userEventOutbox.isTransactional()) {
+                    List<User> insertedUsers = pendingPositions.stream().map(users::get)
+                                                               .collect(Collectors.toList());
+                    userEventOutbox.recordAll(() -> insertedUsers, this::created);
+                    break;
+                }
+            }
+        }
+
+        for (int position = 0; position < users.size(); position++) {
+            int index = indexes.get(position);
+            User user = users.get(position);
+            BulkWriteError error = errorsByPosition.get(position);
+
+            if (error == null) {
+                results[index] = BatchItemResult.created(index, user.getId(), user.getUsername());
+            } else if (error.getCode() == DUPLICATE_KEY_ERROR_CODE) {
+                results[index] = BatchItemResult.conflict(index, user.getUsername(),
+                    String.format("Cannot save user as %s is already taken", user.getUsername()));
+            } else {
+                results[index] = BatchItemResult.failed(index, user.getUsername(),
+                    error.getMessage());
+            }
+        }
+    }
+}
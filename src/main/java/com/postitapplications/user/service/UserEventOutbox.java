@@ -0,0 +1,64 @@
+package com.postitapplications.user.service;
+
+import com.postitapplications.user.document.UserEvent;
+import com.postitapplications.user.repository.UserEventRepository;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Component
+public class UserEventOutbox {
+
+    private final UserEventRepository userEventRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public UserEventOutbox(UserEventRepository userEventRepository,
+        @Nullable MongoTransactionManager transactionManager) {
+        this.userEventRepository = userEventRepository;
+        this.transactionTemplate = transactionManager == null ? null
+            : new TransactionTemplate(transactionManager);
+    }
+
+    public boolean isTransactional() {
+        return transactionTemplate != null;
+    }
+
+    public <T> T record(Supplier<T> change, Function<T, UserEvent> toEvent) {
+        return execute(() -> {
+            T result = change.get();
+            UserEvent userEvent = result == null ? null : toEvent.apply(result);
+
+            if (userEvent != null) {
+                userEventRepository.append(userEvent);
+            }
+
+            return result;
+        });
+    }
+
+    public <T> T recordAll(Supplier<T> change, Function<T, List<UserEvent>> toEvents) {
+        return execute(() -> {
+            T result = change.get();
+
+            if (result != null) {
+                userEventRepository.appendAll(toEvents.apply(result));
+            }
+
+            return result;
+        });
+    }
+
+    private <T> T execute(Supplier<T> write) {
+        if (transactionTemplate == null) {
+            return write.get();
+        }
+
+        return transactionTemplate.execute(status -> write.get());
+    }
+}
@@ -0,0 +1,214 @@
+package com.postitapplications.user.service;
+
+import com.postitapplications.exception.exceptions.ValidationException;
+import com.postitapplications.user.document.UserEvent;
+import com.postitapplications.user.dto.UserEventPage;
+import com.postitapplications.user.exception.EventCursorExpiredException;
+import com.postitapplications.user.repository.UserEventRepository;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+@Service
+public class UserEventService {
+
+    private static final char CURSOR_SEPARATOR = '.';
+
+    private final UserEventRepository userEventRepository;
+    private final int defaultLimit;
+    private final int maxLimit;
+    private final Duration maxWait;
+    private final Duration gapTimeout;
+    private final Duration retention;
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService pollExecutor;
+
+    @Autowired
+    public UserEventService(UserEventRepository userEventRepository,
+        @Value("${user.events.default-limit:100}") int defaultLimit,
+        @Value("${user.events.max-limit:1000}") int maxLimit,
+        @Value("${user.events.max-wait:20s}") Duration maxWait,
+        @Value("${user.events.poll-interval:100ms}") Duration pollInterval,
+        @Value("${user.events.gap-timeout:5s}") Duration gapTimeout,
+        @Value("${user.events.retention:7d}") Duration retention) {
+        this.userEventRepository = userEventRepository;
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+        this.maxWait = maxWait;
+        this.gapTimeout = gapTimeout;
+        this.retention = retention;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+            "user-events-poller-");
+        threadFactory.setDaemon(true);
+        this.pollExecutor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        this.pollExecutor.scheduleWithFixedDelay(this::poll, pollInterval.toMillis(),
+            pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public CompletableFuture<UserEventPage> getEvents(String since, Integer limit,
+        Integer waitSeconds) {
+        long after = since == null ? 0 : decodeCursor(since);
+        int pageSize = resolveLimit(limit);
+        Duration wait = resolveWait(waitSeconds);
+        UserEventPage page = read(after, pageSize);
+
+        if (!page.getEvents().isEmpty() || wait.isZero()) {
+            return CompletableFuture.completedFuture(page);
+        }
+
+        Waiter waiter = new Waiter(after, pageSize, Instant.now().plus(wait));
+        waiters.add(waiter);
+        return waiter.result;
+    }
+
+    public int getWaitingCount() {
+        return waiters.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pollExecutor.shutdownNow();
+        waiters.forEach(waiter -> waiter.result.complete(emptyPage(waiter.after)));
+        waiters.clear();
+    }
+
+    void poll() {
+        if (waiters.isEmpty()) {
+            return;
+        }
+
+        try {
+            long latestSequence = userEventRepository.getLatestSequence();
+            Instant now = Instant.now();
+
+            for (Waiter waiter : waiters) {
+                UserEventPage page = waiter.after < latestSequence
+                    ? read(waiter.after, waiter.limit) : emptyPage(waiter.after);
+
+                if (!page.getEvents().isEmpty() || !now.isBefore(waiter.deadline)
+                    || waiter.result.isDone()) {
+                    waiter.result.complete(page);
+                    waiters.remove(waiter);
+                }
+            }
+        } catch (RuntimeException exception) {
+            waiters.forEach(waiter -> waiter.result.completeExceptionally(exception));
+            waiters.clear();
+        }
+    }
+
+    private UserEventPage read(long after, int limit) {
+        List<UserEvent> userEvents = userEventRepository.findAfter(after, limit);
+        Instant settled = Instant.now().minus(gapTimeout);
+        List<UserEvent> page = new ArrayList<>(userEvents.size());
+        long expectedSequence = after + 1;
+
+        for (UserEvent userEvent : userEvents) {
+            if (userEvent.getSequence() != expectedSequence
+                && userEvent.getOccurredAt().isAfter(settled)) {
+                break;
+            }
+
+            page.add(userEvent);
+            expectedSequence = userEvent.getSequence() + 1;
+        }
+
+        return page.isEmpty() ? emptyPage(after) : new UserEventPage(page,
+            encodeCursor(expectedSequence - 1, page.get(page.size() - 1).getOccurredAt()));
+    }
+
+    private int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return Math.min(defaultLimit, maxLimit);
+        }
+
+        if (limit < 1) {
+            throw new ValidationException("Event limit must be at least 1");
+        }
+
+        return Math.min(limit, maxLimit);
+    }
+
+    private Duration resolveWait(Integer waitSeconds) {
+        if (waitSeconds == null) {
+            return Duration.ZERO;
+        }
+
+        if (waitSeconds < 0) {
+            throw new ValidationException("Event wait cannot be negative");
+        }
+
+        Duration wait = Duration.ofSeconds(waitSeconds);
+        return wait.compareTo(maxWait) > 0 ? maxWait : wait;
+    }
+
+    private static UserEventPage emptyPage(long after) {
+        return new UserEventPage(List.of(), encodeCursor(after, Instant.now()));
+    }
+
+    private static String encodeCursor(long sequence, Instant positionedAt) {
+        return Long.toString(sequence, Character.MAX_RADIX) + CURSOR_SEPARATOR
+            + Long.toString(positionedAt.getEpochSecond(), Character.MAX_RADIX);
+    }
+
+    private long decodeCursor(String cursor) {
+        int separator = cursor.indexOf(CURSOR_SEPARATOR);
+        long sequence;
+        Instant positionedAt;
+
+        try {
+            sequence = parseCursorPart(separator < 0 ? cursor : cursor.substring(0, separator));
+            positionedAt = separator < 0 ? null
+                : Instant.ofEpochSecond(parseCursorPart(cursor.substring(separator + 1)));
+        } catch (NumberFormatException | DateTimeException exception) {
+            throw new ValidationException(
+                String.format("%s is not a valid event cursor", cursor));
+        }
+
+        if (positionedAt != null && positionedAt.plus(retention).minus(gapTimeout)
+                                                .isBefore(Instant.now())) {
+            throw new EventCursorExpiredException(String.format(
+                "Event cursor %s has expired as the events after it are no longer retained",
+                cursor));
+        }
+
+        return sequence;
+    }
+
+    private static long parseCursorPart(String cursorPart) {
+        long value = Long.parseLong(cursorPart, Character.MAX_RADIX);
+
+        if (value < 0) {
+            throw new NumberFormatException("Event cursors cannot be negative");
+        }
+
+        return value;
+    }
+
+    private static class Waiter {
+
+        private final long after;
+        private final int limit;
+        private final Instant deadline;
+        private final CompletableFuture<UserEventPage> result = new CompletableFuture<>();
+
+        private Waiter(long after, int limit, Instant deadline) {
+            this.after = after;
+            this.limit = limit;
+            this.deadline = deadline;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.postitapplications.user.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.postitapplications.exception.exceptions.ValidationException;
+import com.postitapplications.user.document.User;
+import com.postitapplications.user.dto.ImportProgress;
+import com.postitapplications.user.dto.ImportProgress.Status;
+import com.postitapplications.user.exception.ImportNotFoundException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Service
+public class UserImportService {
+
+    private final UserBatchService userBatchService;
+    private final ObjectReader userReader;
+    private final int batchSize;
+    private final Map<String, ImportProgress> runningImports = new ConcurrentHashMap<>();
+    private final Cache<String, ImportProgress> finishedImports;
+
+    @Autowired
+    public UserImportService(UserBatchService userBatchService, ObjectMapper objectMapper,
+        @Value("${user.import.batch-size:1000}") int batchSize,
+        @Value("${user.import.retain-finished-for:1h}") Duration retainFinishedFor) {
+        this.userBatchService = userBatchService;
+        this.userReader = objectMapper.readerFor(User.class);
+        this.batchSize = batchSize;
+        this.finishedImports = Caffeine.newBuilder().expireAfterWrite(retainFinishedFor).build();
+    }
+
+    public ImportProgress importUsers(String importId, InputStream inputStream) {
+        String id = importId == null ? UUID.randomUUID().toString() : importId;
+        ImportProgress progress = new ImportProgress(id, Instant.now());
+
+        if (runningImports.putIfAbsent(id, progress) != null) {
+            throw new ValidationException(
+                String.format("Import with id: %s is already running", id));
+        }
+
+        try {
+            readAndSave(inputStream, progress);
+            progress.finish(Status.COMPLETED);
+        } catch (RuntimeException exception) {
+            progress.finish(Status.FAILED);
+            throw exception;
+        } finally {
+            finishedImports.put(id, progress);
+            runningImports.remove(id);
+        }
+
+        return progress;
+    }
+
+    public ImportProgress getImportProgress(String importId) {
+        ImportProgress progress = runningImports.get(importId);
+
+        if (progress == null) {
+            progress = finishedImports.getIfPresent(importId);
+        }
+
+        if (progress == null) {
+            throw new ImportNotFoundException(
+                String.format("Import with id: %s was not found", importId));
+        }
+
+        return progress;
+    }
+
+    private void readAndSave(InputStream inputStream, ImportProgress progress) {
+        List<User> batch = new ArrayList<>(batchSize);
+
+        try (BufferedReader reader = new BufferedReader(
+            new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                progress.recordRead();
+
+                try {
+                    batch.add(userReader.readValue(line));
+                } catch (JsonProcessingException exception) {
+                    progress.recordRejected();
+                    continue;
+                }
+
+                if (batch.size() == batchSize) {
+                    flush(batch, progress);
+                }
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+
+        flush(batch, progress);
+    }
+
+    private void flush(List<User> batch, ImportProgress progress) {
+        if (!batch.isEmpty()) {
+            progress.recordBatch(userBatchService.saveUsers(batch));
+            batch.clear();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.postitapplications.user.service;
+
+import com.postitapplications.exception.exceptions.NullOrEmptyException;
+import com.postitapplications.exception.exceptions.ValidationException;
+import com.postitapplications.user.document.User;
+import com.postitapplications.user.dto.UserPage;
+import com.postitapplications.user.repository.UserRepo;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Service
+public class UserQueryService {
+
+    private static final Set<String> SORT_FIELDS = Set.of("id", "username");
+    private static final Set<String> PROJECTABLE_FIELDS = Set.of("id", "username");
+    private static final List<String> DEFAULT_FIELDS = List.of("id", "username");
+
+    private final UserRepo userRepo;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int defaultSearchLimit;
+    private final int maxSearchLimit;
+
+    @Autowired
+    public UserQueryService(@Qualifier("CachingRepo") UserRepo userRepo,
+        @Value("${user.page.default-size:50}") int defaultPageSize,
+        @Value("${user.page.max-size:200}") int maxPageSize,
+        @Value("${user.search.default-limit:10}") int defaultSearchLimit,
+        @Value("${user.search.max-limit:50}") int maxSearchLimit) {
+        this.userRepo = userRepo;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.defaultSearchLimit = defaultSearchLimit;
+        this.maxSearchLimit = maxSearchLimit;
+    }
+
+    public UserPage getUsers(String sort, String cursor, Integer size, List<String> fields) {
+        validateSort(sort);
+
+        int pageSize = resolveLimit(size, defaultPageSize, maxPageSize, "Page size");
+        Set<String> projectedFields = resolveFields(sort, fields);
+        Object after = cursor == null ? null : decodeCursor(sort, cursor);
+        List<User> users = userRepo.findPage(sort, after, pageSize + 1, projectedFields);
+
+        if (users.size() <= pageSize) {
+            return new UserPage(users, null);
+        }
+
+        List<User> page = users.subList(0, pageSize);
+        return new UserPage(page, encodeCursor(sort, page.get(pageSize - 1)));
+    }
+
+    public List<User> searchUsers(String prefix, Integer limit) {
+        if (prefix == null || prefix.isEmpty()) {
+            throw new NullOrEmptyException("Search prefix cannot be null or empty");
+        }
+
+        return userRepo.findByUsernamePrefix(prefix,
+            resolveLimit(limit, defaultSearchLimit, maxSearchLimit, "Search limit"));
+    }
+
+    private void validateSort(String sort) {
+        if (!SORT_FIELDS.contains(sort)) {
+            throw new ValidationException(
+                String.format("Cannot sort users by %s, expected one of %s", sort, SORT_FIELDS));
+        }
+    }
+
+    private static int resolveLimit(Integer limit, int defaultLimit, int maxLimit,
+        String name) {
+        if (limit == null) {
+            return Math.min(defaultLimit, maxLimit);
+        }
+
+        if (limit < 1) {
+            throw new ValidationException(String.format("%s must be at least 1", name));
+        }
+
+        return Math.min(limit, maxLimit);
+    }
+
+    private Set<String> resolveFields(String sort, List<String> fields) {
+        Set<String> projectedFields = new LinkedHashSet<>(
+            fields == null || fields.isEmpty() ? DEFAULT_FIELDS : fields);
+
+        for (String field : projectedFields) {
+            if (!PROJECTABLE_FIELDS.contains(field)) {
+                throw new ValidationException(String
+                    .format("Cannot project users on %s, expected any of %s", field,
+                        PROJECTABLE_FIELDS));
+            }
+        }
+
+        projectedFields.add(sort);
+        return projectedFields;
+    }
+
+    private static String encodeCursor(String sort, User lastUser) {
+        String value = "id".equals(sort) ? lastUser.getId().toString() : lastUser.getUsername();
+
+        return Base64.getUrlEncoder().withoutPadding()
+                     .encodeToString((sort + ":" + value).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Object decodeCursor(String sort, String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor),
+                StandardCharsets.UTF_8);
+            String prefix = sort + ":";
+
+            if (!decoded.startsWith(prefix)) {
+                throw new IllegalArgumentException("Cursor was issued for a different sort");
+            }
+
+            String value = decoded.substring(prefix.length());
+            return "id".equals(sort) ? UUID.fromString(value) : value;
+        } catch (IllegalArgumentException exception) {
+            throw new ValidationException(String.format("Cursor %s is invalid", cursor));
+        }
+    }
+}
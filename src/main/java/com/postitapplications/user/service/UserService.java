@@ -1,62 +1,159 @@
 package com.postitapplications.user.service;
 
 import com.mongodb.client.result.DeleteResult;
-import com.mongodb.client.result.UpdateResult;
 import com.postitapplications.exception.exceptions.UsernameTakenException;
+import com.postitapplications.exception.exceptions.ValidationException;
 import com.postitapplications.user.document.User;
+import com.postitapplications.user.document.UserEvent;
+import com.postitapplications.user.document.UserEvent.Type;
+import com.postitapplications.user.dto.UpdateOutcome;
+import com.postitapplications.user.dto.UpdateOutcome.Status;
+import com.postitapplications.user.dto.UserPatch;
+import com.postitapplications.user.dto.UsernameAvailability;
+import com.postitapplications.user.exception.VersionConflictException;
 import com.postitapplications.user.repository.UserRepo;
 import com.postitapplications.user.utility.UserValidator;
+import io.micrometer.core.annotation.Timed;
 import java.util.UUID;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 
 @Service
 public class UserService {
 
     private final UserRepo userRepo;
+    private final PasswordHasher passwordHasher;
+    private final UserUpdateBuffer userUpdateBuffer;
+    private final UserEventOutbox userEventOutbox;
 
     @Autowired
-    public UserService(@Qualifier("MongoDBRepo") UserRepo userRepo) {
+    public UserService(@Qualifier("CachingRepo") UserRepo userRepo,
+        PasswordHasher passwordHasher, UserUpdateBuffer userUpdateBuffer,
+        UserEventOutbox userEventOutbox) {
         this.userRepo = userRepo;
+        this.passwordHasher = passwordHasher;
+        this.userUpdateBuffer = userUpdateBuffer;
+        this.userEventOutbox = userEventOutbox;
     }
 
+    @Timed("user.service")
     public User saveUser(User user) {
         UserValidator.validateUser(user);
-        ensureUsernameNotTaken(user.getUsername());
+        User hashedUser = new User(user.getId(), user.getUsername(),
+            passwordHasher.hash(user.getPassword()));
 
-        return userRepo.save(user);
-    }
-
-    private void ensureUsernameNotTaken(String username) {
-        if (isUsernameTaken(username)) {
+        try {
+            return userEventOutbox.record(() -> userRepo.save(hashedUser),
+                savedUser -> new UserEvent(Type.CREATED, savedUser.getId(),
+                    savedUser.getUsername()));
+        } catch (DuplicateKeyException exception) {
             throw new UsernameTakenException(
-                String.format("Cannot save user as %s is already taken", username));
+                String.format("Cannot save user as %s is already taken", user.getUsername()));
         }
     }
 
-    private boolean isUsernameTaken(String username) {
-        return userRepo.findByUsername(username) != null;
-    }
-
+    @Timed("user.service")
     public User getUserById(UUID id) {
         UserValidator.validateUserId(id);
         return userRepo.findById(id);
     }
 
+    @Timed("user.service")
     public User getUserByUsername(String username) {
         UserValidator.validateUsername(username);
         return userRepo.findByUsername(username);
     }
 
-    public UpdateResult updateUser(User user) {
+    @Timed("user.service")
+    public UsernameAvailability getUsernameAvailability(String username) {
+        UserValidator.validateUsername(username);
+        return new UsernameAvailability(username, userRepo.findByUsername(username) == null);
+    }
+
+    @Timed("user.service")
+    public UpdateOutcome updateUser(User user) {
         UserValidator.validateUser(user);
         UserValidator.validateUserId(user.getId());
-        return userRepo.update(user);
+        User hashedUser = new User(user.getId(), user.getUsername(),
+            passwordHasher.hash(user.getPassword()), user.getVersion());
+        UpdateOutcome updateOutcome;
+
+        try {
+            updateOutcome = userUpdateBuffer.update(hashedUser);
+        } catch (DuplicateKeyException exception) {
+            throw new UsernameTakenException(
+                String.format("Cannot update user as %s is already taken", user.getUsername()));
+        }
+
+        if (updateOutcome.getStatus() == Status.APPLIED
+            && updateOutcome.getUpdateResult().getMatchedCount() == 0
+            && user.getVersion() != null) {
+            rejectIfStale(user.getId(), user.getVersion());
+        }
+
+        return updateOutcome;
+    }
+
+    @Timed("user.service")
+    public User patchUser(UUID id, Long expectedVersion, UserPatch userPatch) {
+        UserValidator.validateUserId(id);
+        validatePatch(userPatch);
+
+        String username = userPatch.getUsername();
+        String password = userPatch.getPassword() == null ? null
+            : passwordHasher.hash(userPatch.getPassword());
+
+        User patchedUser;
+
+        try {
+            patchedUser = userEventOutbox.record(
+                () -> userRepo.patch(id, expectedVersion, username, password),
+                result -> new UserEvent(Type.UPDATED, id, result.getUsername()));
+        } catch (DuplicateKeyException exception) {
+            throw new UsernameTakenException(
+                String.format("Cannot update user as %s is already taken", username));
+        }
+
+        if (patchedUser == null && expectedVersion != null) {
+            rejectIfStale(id, expectedVersion);
+        }
+
+        return patchedUser;
     }
 
+    @Timed("user.service")
     public DeleteResult deleteUserById(UUID id) {
         UserValidator.validateUserId(id);
-        return userRepo.removeById(id);
+        return userEventOutbox.record(() -> userRepo.removeById(id),
+            result -> result.getDeletedCount() == 0 ? null
+                : new UserEvent(Type.DELETED, id, null));
+    }
+
+    private void rejectIfStale(UUID id, Long expectedVersion) {
+        if (userRepo.findById(id) != null) {
+            throw new VersionConflictException(String
+                .format("User with id: %s has been modified since version %d", id,
+                    expectedVersion));
+        }
+    }
+
+    private static void validatePatch(UserPatch userPatch) {
+        if (userPatch == null) {
+            throw new ValidationException("Patch cannot be null");
+        }
+
+        if (userPatch.getUsername() == null && userPatch.getPassword() == null) {
+            throw new ValidationException("Patch must change at least one field");
+        }
+
+        if (userPatch.getUsername() != null) {
+            UserValidator.validateUsername(userPatch.getUsername());
+        }
+
+        if (userPatch.getPassword() != null) {
+            UserValidator.validatePassword(userPatch.getPassword());
+        }
     }
 }
@@ -0,0 +1,313 @@
+package com.postitapplications.user.service;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.result.UpdateResult;
+import com.postitapplications.user.document.User;
+import com.postitapplications.user.document.UserEvent;
+import com.postitapplications.user.document.UserEvent.Type;
+import com.postitapplications.user.dto.UpdateOutcome;
+import com.postitapplications.user.exception.UpdateUnavailableException;
+import com.postitapplications.user.repository.ReadConsistency;
+import com.postitapplications.user.repository.UserRepo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UserUpdateBuffer {
+
+    private static final UpdateResult MATCHED = UpdateResult.acknowledged(1, 1L, null);
+    private static final UpdateResult NOT_MATCHED = UpdateResult.acknowledged(0, 0L, null);
+
+    private final UserRepo userRepo;
+    private final ReadConsistency readConsistency;
+    private final UserEventOutbox userEventOutbox;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final Duration awaitTimeout;
+    private final ScheduledExecutorService flushExecutor;
+    private final Object lock = new Object();
+    private Map<UUID, PendingUpdate> pendingUpdates = new LinkedHashMap<>();
+    private boolean stopped;
+    private final Counter coalescedCounter;
+    private final DistributionSummary batchSizeSummary;
+    private final Timer flushTimer;
+
+    @Autowired
+    public UserUpdateBuffer(@Qualifier("CachingRepo") UserRepo userRepo,
+        ReadConsistency readConsistency, UserEventOutbox userEventOutbox,
+        @Value("${user.update.write-behind.enabled:false}") boolean enabled,
+        @Value("${user.update.write-behind.flush-interval:5ms}") Duration flushInterval,
+        @Value("${user.update.write-behind.max-batch-size:500}") int maxBatchSize,
+        @Value("${user.update.write-behind.await-timeout:5s}") Duration awaitTimeout,
+        MeterRegistry meterRegistry) {
+        this.userRepo = userRepo;
+        this.readConsistency = readConsistency;
+        this.userEventOutbox = userEventOutbox;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.awaitTimeout = awaitTimeout;
+        this.coalescedCounter = Counter.builder("user.update.buffer.coalesced")
+                                       .description("Updates merged into a pending update")
+                                       .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("user.update.buffer.batch.size")
+                                                   .description("Updates written per bulk write")
+                                                   .register(meterRegistry);
+        this.flushTimer = Timer.builder("user.update.buffer.flush")
+                               .description("Time spent writing a batch of buffered updates")
+                               .register(meterRegistry);
+        Gauge.builder("user.update.buffer.pending", this, UserUpdateBuffer::getPendingCount)
+             .description("Updates waiting for the next flush")
+             .register(meterRegistry);
+
+        if (enabled) {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+                "user-update-flusher-");
+            threadFactory.setDaemon(true);
+            this.flushExecutor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+            this.flushExecutor.scheduleWithFixedDelay(this::flush, flushInterval.toNanos(),
+                flushInterval.toNanos(), TimeUnit.NANOSECONDS);
+        } else {
+            this.flushExecutor = null;
+        }
+    }
+
+    public UpdateOutcome update(User user) {
+        if (!enabled || user.getVersion() != null || userEventOutbox.isTransactional()) {
+            return writeDirectly(user);
+        }
+
+        PendingUpdate pendingUpdate;
+
+        synchronized (lock) {
+            if (stopped) {
+                return writeDirectly(user);
+            }
+
+            pendingUpdate = pendingUpdates.get(user.getId());
+
+            if (pendingUpdate == null) {
+                pendingUpdate = new PendingUpdate(user);
+                pendingUpdates.put(user.getId(), pendingUpdate);
+            } else {
+                pendingUpdate.user = user;
+                coalescedCounter.increment();
+            }
+
+            if (pendingUpdates.size() >= maxBatchSize) {
+                flushExecutor.execute(this::flush);
+            }
+        }
+
+        PendingUpdate written = pendingUpdate;
+        CompletableFuture<UpdateOutcome> outcome = written.result.thenApply(
+            updateResult -> written.user == user ? UpdateOutcome.applied(updateResult, user)
+                : UpdateOutcome.superseded(updateResult, written.user));
+
+        try {
+            return await(user, written, outcome);
+        } finally {
+            readConsistency.recordWrite();
+        }
+    }
+
+    public int getPendingCount() {
+        synchronized (lock) {
+            return pendingUpdates.size();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (flushExecutor == null) {
+            return;
+        }
+
+        synchronized (lock) {
+            if (stopped) {
+                return;
+            }
+
+            stopped = true;
+            flushExecutor.execute(this::flush);
+            flushExecutor.shutdown();
+        }
+
+        if (!flushExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+            flushExecutor.shutdownNow();
+        }
+
+        synchronized (lock) {
+            pendingUpdates.values().forEach(pendingUpdate -> pendingUpdate.result
+                .completeExceptionally(new UpdateUnavailableException(
+                    "The update could not be written as the service is shutting down")));
+            pendingUpdates.clear();
+        }
+    }
+
+    private UpdateOutcome writeDirectly(User user) {
+        return UpdateOutcome.applied(userEventOutbox.record(() -> userRepo.update(user),
+            updateResult -> updateResult.getModifiedCount() == 0 ? null : updatedEvent(user)),
+            user);
+    }
+
+    void flush() {
+        List<PendingUpdate> updates;
+
+        synchronized (lock) {
+            if (pendingUpdates.isEmpty()) {
+                return;
+            }
+
+            updates = new ArrayList<>(pendingUpdates.values());
+            pendingUpdates = new LinkedHashMap<>();
+        }
+
+        for (int start = 0; start < updates.size(); start += maxBatchSize) {
+            List<PendingUpdate> batch = updates
+                .subList(start, Math.min(start + maxBatchSize, updates.size()));
+            batchSizeSummary.record(batch.size());
+            flushTimer.record(() -> write(batch));
+        }
+    }
+
+    private void write(List<PendingUpdate> batch) {
+        List<User> users = batch.stream().map(pendingUpdate -> pendingUpdate.user)
+                                .collect(Collectors.toList());
+
+        try {
+            List<UpdateResult> updateResults = userEventOutbox.recordAll(
+                () -> userRepo.updateAll(users), results -> IntStream.range(0, users.size())
+                    .filter(i -> results.get(i).getModifiedCount() > 0)
+                    .mapToObj(i -> updatedEvent(users.get(i))).collect(Collectors.toList()));
+
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result.complete(updateResults.get(i));
+            }
+        } catch (BulkOperationException exception) {
+            Set<Integer> failedIndexes = exception.getErrors().stream()
+                                                  .map(BulkWriteError::getIndex)
+                                                  .collect(Collectors.toSet());
+            List<PendingUpdate> applied = new ArrayList<>();
+
+            for (int i = 0; i < batch.size(); i++) {
+                if (failedIndexes.contains(i)) {
+                    retry(batch.get(i));
+                } else {
+                    applied.add(batch.get(i));
+                }
+            }
+
+            complete(applied, exception.getResult().getMatchedCount());
+        } catch (RuntimeException exception) {
+            batch.forEach(pendingUpdate -> pendingUpdate.result.completeExceptionally(exception));
+        }
+    }
+
+    private void retry(PendingUpdate pendingUpdate) {
+        try {
+            pendingUpdate.result.complete(writeDirectly(pendingUpdate.user).getUpdateResult());
+        } catch (RuntimeException exception) {
+            pendingUpdate.result.completeExceptionally(exception);
+        }
+    }
+
+    private void complete(List<PendingUpdate> applied, int matchedCount) {
+        try {
+            Set<UUID> liveIds = matchedCount == applied.size()
+                ? applied.stream().map(pendingUpdate -> pendingUpdate.user.getId())
+                         .collect(Collectors.toSet()) : findLiveIds(applied);
+            List<User> matched = applied.stream().map(pendingUpdate -> pendingUpdate.user)
+                                        .filter(user -> liveIds.contains(user.getId()))
+                                        .collect(Collectors.toList());
+            userEventOutbox.recordAll(() -> matched, users -> users.stream()
+                .map(UserUpdateBuffer::updatedEvent).collect(Collectors.toList()));
+            applied.forEach(pendingUpdate -> pendingUpdate.result.complete(
+                liveIds.contains(pendingUpdate.user.getId()) ? MATCHED : NOT_MATCHED));
+        } catch (RuntimeException exception) {
+            applied.forEach(pendingUpdate -> pendingUpdate.result.completeExceptionally(exception));
+        }
+    }
+
+    private Set<UUID> findLiveIds(List<PendingUpdate> applied) {
+        return userRepo.findAllByIdsOrUsernames(
+            applied.stream().map(pendingUpdate -> pendingUpdate.user.getId())
+                   .collect(Collectors.toList()), List.of()).stream().map(User::getId)
+                       .collect(Collectors.toSet());
+    }
+
+    private UpdateOutcome await(User user, PendingUpdate pendingUpdate,
+        CompletableFuture<UpdateOutcome> outcome) {
+        try {
+            return outcome.get(awaitTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) exception.getCause();
+            }
+
+            throw new IllegalStateException(exception.getCause());
+        } catch (TimeoutException exception) {
+            if (!cancel(user, pendingUpdate)) {
+                return UpdateOutcome.accepted(user);
+            }
+
+            throw new UpdateUnavailableException(
+                "Timed out waiting for the update to be written, so it was cancelled");
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new UpdateUnavailableException(
+                "Interrupted while waiting for the update to be written");
+        }
+    }
+
+    private boolean cancel(User user, PendingUpdate pendingUpdate) {
+        synchronized (lock) {
+            if (pendingUpdate.user != user
+                || !pendingUpdates.remove(user.getId(), pendingUpdate)) {
+                return false;
+            }
+        }
+
+        pendingUpdate.result.completeExceptionally(new UpdateUnavailableException(
+            "The update was cancelled before it was written"));
+        return true;
+    }
+
+    private static UserEvent updatedEvent(User user) {
+        return new UserEvent(Type.UPDATED, user.getId(), user.getUsername());
+    }
+
+    private static class PendingUpdate {
+
+        private final CompletableFuture<UpdateResult> result = new CompletableFuture<>();
+        private User user;
+
+        private PendingUpdate(User user) {
+            this.user = user;
+        }
+    }
+}
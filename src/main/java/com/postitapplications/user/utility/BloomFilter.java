@@ -0,0 +1,113 @@
+package com.postitapplications.user.utility;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class BloomFilter {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final AtomicLongArray words;
+    private final long bitSize;
+    private final int hashCount;
+    private final AtomicLong setBitCount = new AtomicLong();
+
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions < 1) {
+            throw new IllegalArgumentException(String
+                .format("Expected insertions must be at least 1 but was %d", expectedInsertions));
+        }
+
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException(String
+                .format("False positive rate must be between 0 and 1 but was %s",
+                    falsePositiveRate));
+        }
+
+        long optimalBits = (long) Math.ceil(
+            -expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = Math.toIntExact((optimalBits + Long.SIZE - 1) / Long.SIZE);
+
+        this.words = new AtomicLongArray(wordCount);
+        this.bitSize = (long) wordCount * Long.SIZE;
+        this.hashCount = Math.max(1,
+            (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+    }
+
+    public void put(String value) {
+        long firstHash = mix(fnv1a(value));
+        long secondHash = mix(firstHash ^ GOLDEN_GAMMA) | 1;
+
+        for (int i = 0; i < hashCount; i++) {
+            long bitIndex = Math.floorMod(firstHash + i * secondHash, bitSize);
+            int wordIndex = (int) (bitIndex >>> 6);
+            long mask = 1L << bitIndex;
+            long previous = words.getAndUpdate(wordIndex, word -> word | mask);
+
+            if ((previous & mask) == 0) {
+                setBitCount.incrementAndGet();
+            }
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long firstHash = mix(fnv1a(value));
+        long secondHash = mix(firstHash ^ GOLDEN_GAMMA) | 1;
+
+        for (int i = 0; i < hashCount; i++) {
+            long bitIndex = Math.floorMod(firstHash + i * secondHash, bitSize);
+
+            if ((words.get((int) (bitIndex >>> 6)) & (1L << bitIndex)) == 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public long getBitSize() {
+        return bitSize;
+    }
+
+    public long getSizeInBytes() {
+        return bitSize / Byte.SIZE;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    public double getExpectedFalsePositiveRate() {
+        return Math.pow((double) setBitCount.get() / bitSize, hashCount);
+    }
+
+    public long getApproximateElementCount() {
+        double fillRatio = (double) setBitCount.get() / bitSize;
+
+        if (fillRatio >= 1) {
+            return Long.MAX_VALUE;
+        }
+
+        return Math.round(-Math.log1p(-fillRatio) * bitSize / hashCount);
+    }
+
+    private static long fnv1a(String value) {
+        long hash = FNV_OFFSET_BASIS;
+
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            hash = (hash ^ (character & 0xff)) * FNV_PRIME;
+            hash = (hash ^ (character >>> 8)) * FNV_PRIME;
+        }
+
+        return hash;
+    }
+
+    private static long mix(long hash) {
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+}
@@ -0,0 +1,26 @@
+package com.postitapplications.user.utility;
+
+import com.postitapplications.exception.exceptions.ValidationException;
+import java.time.Instant;
+
+public class ConsistencyTokens {
+
+    public static final String HEADER = "X-Consistency-Token";
+
+    public static String toToken(Instant writtenAt) {
+        return Long.toString(writtenAt.toEpochMilli(), Character.MAX_RADIX);
+    }
+
+    public static Instant fromToken(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        try {
+            return Instant.ofEpochMilli(Long.parseLong(token.trim(), Character.MAX_RADIX));
+        } catch (NumberFormatException exception) {
+            throw new ValidationException(
+                String.format("%s %s is not a valid consistency token", HEADER, token));
+        }
+    }
+}
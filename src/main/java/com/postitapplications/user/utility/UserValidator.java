@@ -22,7 +22,7 @@ public class UserValidator {
         }
     }
 
-    private static void validatePassword(String password) {
+    public static void validatePassword(String password) {
         if (password == null || password.isEmpty()) {
             throw new NullOrEmptyException("User's password cannot be null or empty");
         }
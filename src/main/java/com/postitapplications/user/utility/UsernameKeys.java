@@ -0,0 +1,18 @@
+package com.postitapplications.user.utility;
+
+import java.text.Normalizer;
+import java.text.Normalizer.Form;
+import java.util.Locale;
+
+public class UsernameKeys {
+
+    public static String of(String username) {
+        if (username == null) {
+            return null;
+        }
+
+        String compatible = Normalizer.normalize(username, Form.NFKC);
+        String folded = compatible.toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+        return Normalizer.normalize(folded, Form.NFKC);
+    }
+}
@@ -0,0 +1,56 @@
+package com.postitapplications.user.utility;
+
+import com.postitapplications.exception.exceptions.ValidationException;
+import com.postitapplications.user.document.User;
+import com.postitapplications.user.exception.VersionConflictException;
+import java.nio.charset.StandardCharsets;
+import org.springframework.util.DigestUtils;
+
+public class VersionTags {
+
+    private static final String ANY = "*";
+    private static final String WEAK_PREFIX = "W/";
+
+    public static String toETag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    public static String eTagOf(User user) {
+        if (user.getVersion() != null) {
+            return toETag(user.getVersion());
+        }
+
+        String content = String.join("\0", String.valueOf(user.getId()), user.getUsername(),
+            String.valueOf(user.getPassword()), String.valueOf(user.getLastModified()));
+        return "W/\"" + DigestUtils.md5DigestAsHex(content.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    public static Long fromIfMatch(String ifMatch) {
+        if (ifMatch == null || ANY.equals(ifMatch.trim())) {
+            return null;
+        }
+
+        String tag = ifMatch.trim();
+
+        if (tag.startsWith(WEAK_PREFIX)) {
+            throw new VersionConflictException(String.format(
+                "If-Match %s is a weak tag and never matches for a write, send the update "
+                    + "without If-Match to version the user", ifMatch));
+        }
+
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw invalidIfMatch(ifMatch);
+        }
+
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException exception) {
+            throw invalidIfMatch(ifMatch);
+        }
+    }
+
+    private static ValidationException invalidIfMatch(String ifMatch) {
+        return new ValidationException(
+            String.format("If-Match %s is not a valid version tag", ifMatch));
+    }
+}
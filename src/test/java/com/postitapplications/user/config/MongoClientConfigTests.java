@@ -0,0 +1,106 @@
+package com.postitapplications.user.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.ReadPreference;
+import com.mongodb.WriteConcern;
+import com.postitapplications.user.document.User;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.BindException;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.data.mongodb.core.MongoAction;
+import org.springframework.data.mongodb.core.MongoActionOperation;
+
+public class MongoClientConfigTests {
+
+    private final MongoClientConfig mongoClientConfig = new MongoClientConfig();
+
+    @Test
+    public void propertiesShouldDefaultToTheDriverDefaults() {
+        MongoClientProperties properties = bind(Map.of());
+
+        assertThat(properties.getPool().getMaxSize()).isEqualTo(100);
+        assertThat(properties.getPool().getMaxWaitTime().toMinutes()).isEqualTo(2);
+        assertThat(properties.getReadPreference()).isEqualTo(ReadPreference.primary());
+        assertThat(properties.getWriteConcern()).isEqualTo(WriteConcern.ACKNOWLEDGED);
+        assertThat(properties.getWriteConcerns()).isEmpty();
+    }
+
+    @Test
+    public void mongoClientPropertiesCustomizerShouldApplyTheConfiguredSettings() {
+        MongoClientProperties properties = bind(Map.of("user.mongo.pool.max-size", "20",
+            "user.mongo.pool.max-wait-time", "500ms", "user.mongo.socket-timeout", "3s",
+            "user.mongo.read-preference", "secondaryPreferred",
+            "user.mongo.write-concern", "majority"));
+        MongoClientSettings.Builder settingsBuilder = MongoClientSettings.builder();
+
+        mongoClientConfig.mongoClientPropertiesCustomizer(properties).customize(settingsBuilder);
+        MongoClientSettings settings = settingsBuilder.build();
+
+        assertThat(settings.getConnectionPoolSettings().getMaxSize()).isEqualTo(20);
+        assertThat(settings.getConnectionPoolSettings().getMaxWaitTime(TimeUnit.MILLISECONDS))
+            .isEqualTo(500);
+        assertThat(settings.getSocketSettings().getReadTimeout(TimeUnit.SECONDS)).isEqualTo(3);
+        assertThat(settings.getReadPreference()).isEqualTo(ReadPreference.secondaryPreferred());
+        assertThat(settings.getWriteConcern()).isEqualTo(WriteConcern.MAJORITY);
+    }
+
+    @Test
+    public void writeConcernResolverShouldUseTheWriteConcernConfiguredForTheOperation() {
+        MongoClientProperties properties = bind(
+            Map.of("user.mongo.write-concerns.remove", "majority"));
+
+        assertThat(mongoClientConfig.writeConcernResolver(properties)
+                                    .resolve(action(MongoActionOperation.REMOVE)))
+            .isEqualTo(WriteConcern.MAJORITY);
+        assertThat(mongoClientConfig.writeConcernResolver(properties)
+                                    .resolve(action(MongoActionOperation.INSERT)))
+            .isEqualTo(WriteConcern.W1);
+    }
+
+    @Test
+    public void lookupsShouldUseTheConfiguredReadPreferenceAndMaxStaleness() {
+        MongoClientProperties properties = bind(
+            Map.of("user.mongo.lookups.read-preference", "secondaryPreferred",
+                "user.mongo.lookups.max-staleness", "90s"));
+        ReadPreference readPreference = properties.getLookups().getReadPreference();
+
+        assertThat(readPreference).isEqualTo(ReadPreference.secondaryPreferred(90,
+            TimeUnit.SECONDS));
+        assertThat(properties.getReadPreference()).isEqualTo(ReadPreference.primary());
+    }
+
+    @Test
+    public void lookupsShouldIgnoreMaxStalenessWhenReadingFromThePrimary() {
+        MongoClientProperties properties = bind(Map.of("user.mongo.lookups.max-staleness", "90s"));
+
+        assertThat(properties.getLookups().getReadPreference()).isEqualTo(ReadPreference.primary());
+        assertThat(properties.getLookups().getPinToPrimaryFor().getSeconds()).isEqualTo(90);
+    }
+
+    @Test
+    public void propertiesShouldFailToBindAnUnknownWriteConcern() {
+        Exception exception = assertThrows(BindException.class, () -> {
+            bind(Map.of("user.mongo.write-concern", "eventually"));
+        });
+
+        assertThat(exception.getCause().getCause().getMessage())
+            .startsWith("Write concern eventually is not supported");
+    }
+
+    private static MongoClientProperties bind(Map<String, String> properties) {
+        return new Binder(new MapConfigurationPropertySource(properties))
+            .bindOrCreate("user.mongo", MongoClientProperties.class);
+    }
+
+    private static MongoAction action(MongoActionOperation operation) {
+        return new MongoAction(WriteConcern.W1, operation, "users", User.class, new Document(),
+            new Document());
+    }
+}
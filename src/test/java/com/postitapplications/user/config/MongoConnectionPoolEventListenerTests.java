@@ -0,0 +1,63 @@
+package com.postitapplications.user.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionPoolSettings;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutFailedEvent.Reason;
+import com.mongodb.event.ConnectionPoolClearedEvent;
+import com.mongodb.event.ConnectionPoolClosedEvent;
+import com.mongodb.event.ConnectionPoolCreatedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+public class MongoConnectionPoolEventListenerTests {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MongoConnectionPoolEventListener listener =
+        new MongoConnectionPoolEventListener(meterRegistry);
+    private final ServerId serverId = new ServerId(new ClusterId("cluster"), new ServerAddress());
+
+    @Test
+    public void connectionCheckOutFailedShouldIncrementTheCounterRegisteredForTheServer() {
+        listener.connectionPoolCreated(
+            new ConnectionPoolCreatedEvent(serverId, ConnectionPoolSettings.builder().build()));
+
+        listener.connectionCheckOutFailed(new ConnectionCheckOutFailedEvent(serverId,
+            Reason.TIMEOUT));
+        listener.connectionCheckOutFailed(new ConnectionCheckOutFailedEvent(serverId,
+            Reason.TIMEOUT));
+
+        assertThat(meterRegistry.get("mongodb.driver.pool.checkout.failures")
+                                .tag("server.address", serverId.getAddress().toString())
+                                .counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    public void connectionPoolClearedShouldIncrementTheCounterRegisteredForTheServer() {
+        listener.connectionPoolCreated(
+            new ConnectionPoolCreatedEvent(serverId, ConnectionPoolSettings.builder().build()));
+
+        listener.connectionPoolCleared(new ConnectionPoolClearedEvent(serverId));
+
+        assertThat(meterRegistry.get("mongodb.driver.pool.cleared").counter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    public void connectionPoolClosedShouldRemoveTheCountersForTheServer() {
+        listener.connectionPoolCreated(
+            new ConnectionPoolCreatedEvent(serverId, ConnectionPoolSettings.builder().build()));
+
+        listener.connectionPoolClosed(new ConnectionPoolClosedEvent(serverId));
+        listener.connectionPoolCleared(new ConnectionPoolClearedEvent(serverId));
+
+        assertThat(meterRegistry.find("mongodb.driver.pool.cleared").counter()).isNull();
+        assertThat(meterRegistry.find("mongodb.driver.pool.checkout.failures").counter())
+            .isNull();
+    }
+}
@@ -1,28 +1,41 @@
 package com.postitapplications.user.controller;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mongodb.client.result.DeleteResult;
 import com.mongodb.client.result.UpdateResult;
 import com.postitapplications.user.document.User;
+import com.postitapplications.user.dto.AuthenticationRequest;
+import com.postitapplications.user.dto.UserLookupRequest;
 import com.postitapplications.user.repository.UserRepository;
+import com.postitapplications.user.utility.UserRequestBodies;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -46,7 +59,8 @@ public class UserControllerTests {
         User userToSave = new User(null, null, "password");
 
         mockMvc.perform(post("/user").contentType(MediaType.APPLICATION_JSON)
-                                     .content(objectMapper.writeValueAsString(userToSave))
+                                     .content(objectMapper.writeValueAsString(
+                UserRequestBodies.of(userToSave)))
                                      .accept(MediaType.APPLICATION_JSON)).andDo(print())
                .andExpect(status().isBadRequest()).andExpect(
             content().string(containsString("User's username cannot be null or empty")));
@@ -57,7 +71,8 @@ public class UserControllerTests {
         User userToSave = new User(null, "", "password");
 
         mockMvc.perform(post("/user").contentType(MediaType.APPLICATION_JSON)
-                                     .content(objectMapper.writeValueAsString(userToSave))
+                                     .content(objectMapper.writeValueAsString(
+                UserRequestBodies.of(userToSave)))
                                      .accept(MediaType.APPLICATION_JSON)).andDo(print())
                .andExpect(status().isBadRequest()).andExpect(
             content().string(containsString("User's username cannot be null or empty")));
@@ -68,7 +83,8 @@ public class UserControllerTests {
         User userToSave = new User(null, "johnSmith123", null);
 
         mockMvc.perform(post("/user").contentType(MediaType.APPLICATION_JSON)
-                                     .content(objectMapper.writeValueAsString(userToSave))
+                                     .content(objectMapper.writeValueAsString(
+                UserRequestBodies.of(userToSave)))
                                      .accept(MediaType.APPLICATION_JSON)).andDo(print())
                .andExpect(status().isBadRequest()).andExpect(
             content().string(containsString("User's password cannot be null or empty")));
@@ -78,12 +94,13 @@ public class UserControllerTests {
     public void saveUserShouldReturnExpectedErrorMessageWhenUserUsernameAlreadyExists()
         throws Exception {
         User userToSave = new User(null, "johnSmith123", "password");
-        User savedUser = new User(UUID.randomUUID(), "johnSmith123", "password");
 
-        when(userRepository.findByUsername("johnSmith123")).thenReturn(savedUser);
+        when(userRepository.save(Mockito.any(UUID.class), Mockito.any(User.class)))
+            .thenThrow(new DuplicateKeyException("E11000 duplicate key error"));
 
         mockMvc.perform(post("/user").contentType(MediaType.APPLICATION_JSON)
-                                     .content(objectMapper.writeValueAsString(userToSave))
+                                     .content(objectMapper.writeValueAsString(
+                UserRequestBodies.of(userToSave)))
                                      .accept(MediaType.APPLICATION_JSON)).andDo(print())
                .andExpect(status().isConflict()).andExpect(
             content().string(containsString("Cannot save user as johnSmith123 is already taken")));
@@ -94,12 +111,216 @@ public class UserControllerTests {
         User userToSave = new User(null, "johnSmith123", "");
 
         mockMvc.perform(post("/user").contentType(MediaType.APPLICATION_JSON)
-                                     .content(objectMapper.writeValueAsString(userToSave))
+                                     .content(objectMapper.writeValueAsString(
+                UserRequestBodies.of(userToSave)))
                                      .accept(MediaType.APPLICATION_JSON)).andDo(print())
                .andExpect(status().isBadRequest()).andExpect(
             content().string(containsString("User's password cannot be null or empty")));
     }
 
+    @Test
+    public void saveUsersShouldReturnPerItemResults() throws Exception {
+        List<User> usersToSave = Arrays.asList(new User(null, "johnSmith123", "password"),
+            new User(null, "", "password"));
+
+        when(userRepository.findTakenUsernames(Mockito.any())).thenReturn(Set.of());
+
+        mockMvc.perform(post("/user/batch").contentType(MediaType.APPLICATION_JSON)
+                                           .content(objectMapper.writeValueAsString(
+                UserRequestBodies.of(usersToSave)))
+                                           .accept(MediaType.APPLICATION_JSON)).andDo(print())
+               .andExpect(status().isOk()).andExpect(jsonPath("$.created").value(1))
+               .andExpect(jsonPath("$.invalid").value(1))
+               .andExpect(jsonPath("$.items[1].message")
+                   .value("User's username cannot be null or empty"));
+    }
+
+    @Test
+    public void deleteUsersShouldReturnTheNumberOfDeletedUsers() throws Exception {
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+
+        when(userRepository.removeAllByIds(ids)).thenReturn(DeleteResult.acknowledged(1));
+
+        mockMvc.perform(delete("/user/batch").contentType(MediaType.APPLICATION_JSON)
+                                             .content(objectMapper.writeValueAsString(ids))
+                                             .accept(MediaType.APPLICATION_JSON)).andDo(print())
+               .andExpect(status().isOk()).andExpect(jsonPath("$.requested").value(2))
+               .andExpect(jsonPath("$.deleted").value(1));
+    }
+
+    @Test
+    public void getUsersShouldReturnExpectedErrorMessageWhenAUsernameIsEmpty() throws Exception {
+        UserLookupRequest lookup = new UserLookupRequest(null, List.of(""));
+
+        mockMvc.perform(post("/user/lookup").contentType(MediaType.APPLICATION_JSON)
+                                            .content(objectMapper.writeValueAsString(lookup))
+                                            .accept(MediaType.APPLICATION_JSON)).andDo(print())
+               .andExpect(status().isBadRequest()).andExpect(
+            content().string(containsString("User's username cannot be null or empty")));
+    }
+
+    @Test
+    public void authenticateShouldReturnUnauthorizedStatusCodeForAnUnknownUser()
+        throws Exception {
+        AuthenticationRequest authenticationRequest = new AuthenticationRequest("johnSmith123",
+            "password");
+
+        mockMvc.perform(post("/user/authenticate").contentType(MediaType.APPLICATION_JSON)
+                                                  .content(objectMapper
+                                                      .writeValueAsString(authenticationRequest))
+                                                  .accept(MediaType.APPLICATION_JSON))
+               .andDo(print()).andExpect(status().isUnauthorized()).andExpect(
+            content().string(containsString("Username or password is incorrect")));
+    }
+
+    @Test
+    public void patchUserShouldReturnTheUpdatedUser() throws Exception {
+        UUID savedUserId = UUID.randomUUID();
+        when(userRepository.patch(savedUserId, null, "joanneSmith123", null))
+            .thenReturn(new User(savedUserId, "joanneSmith123", null));
+
+        mockMvc.perform(patch("/user/" + savedUserId).contentType(MediaType.APPLICATION_JSON)
+                                                     .content(
+                                                         "{\"username\":\"joanneSmith123\"}")
+                                                     .accept(MediaType.APPLICATION_JSON))
+               .andDo(print()).andExpect(status().isOk())
+               .andExpect(jsonPath("$.username").value("joanneSmith123"));
+    }
+
+    @Test
+    public void patchUserShouldReturnExpectedErrorMessageWhenUserIsNotFound() throws Exception {
+        UUID nonExistingUserId = UUID.randomUUID();
+
+        mockMvc.perform(patch("/user/" + nonExistingUserId)
+            .contentType(MediaType.APPLICATION_JSON).content("{\"username\":\"joanne\"}")
+            .accept(MediaType.APPLICATION_JSON))
+               .andDo(print()).andExpect(status().isNotFound()).andExpect(content()
+            .string(containsString("User with id: " + nonExistingUserId + " was not found")));
+    }
+
+    @Test
+    public void getUsersShouldReturnExpectedErrorMessageWhenSortIsUnknown() throws Exception {
+        mockMvc.perform(get("/user").param("sort", "password").accept(MediaType.APPLICATION_JSON))
+               .andDo(print()).andExpect(status().isBadRequest())
+               .andExpect(content().string(containsString("Cannot sort users by password")));
+    }
+
+    @Test
+    public void importUsersShouldReturnImportProgressOnceFinished() throws Exception {
+        String ndjson = "{\"username\":\"johnSmith123\",\"password\":\"password\"}\n"
+            + "{\"username\":\"\",\"password\":\"password\"}\n";
+
+        when(userRepository.findTakenUsernames(Mockito.any())).thenReturn(Set.of());
+
+        mockMvc.perform(post("/user/import").contentType("application/x-ndjson").content(ndjson)
+                                            .accept(MediaType.APPLICATION_JSON)).andDo(print())
+               .andExpect(status().isOk()).andExpect(jsonPath("$.status").value("COMPLETED"))
+               .andExpect(jsonPath("$.read").value(2)).andExpect(jsonPath("$.written").value(1))
+               .andExpect(jsonPath("$.rejected").value(1));
+    }
+
+    @Test
+    public void getImportProgressShouldReturnExpectedErrorMessageWhenImportIsNotFound()
+        throws Exception {
+        mockMvc.perform(get("/user/import/unknown").accept(MediaType.APPLICATION_JSON))
+               .andDo(print()).andExpect(status().isNotFound()).andExpect(
+            content().string(containsString("Import with id: unknown was not found")));
+    }
+
+    @Test
+    public void getUserByIdShouldReturnTheVersionAsAnETag() throws Exception {
+        UUID savedUserId = UUID.randomUUID();
+        when(userRepository.findById(savedUserId))
+            .thenReturn(new User(savedUserId, "johnSmith123", "password", 3L));
+
+        mockMvc.perform(get("/user/" + savedUserId).accept(MediaType.APPLICATION_JSON))
+               .andDo(print()).andExpect(status().isOk())
+               .andExpect(header().string("ETag", "\"3\""));
+    }
+
+    @Test
+    public void getUserByIdShouldReturnNotModifiedWhenIfNoneMatchIsCurrent() throws Exception {
+        UUID savedUserId = UUID.randomUUID();
+        when(userRepository.findById(savedUserId))
+            .thenReturn(new User(savedUserId, "johnSmith123", "password", 3L));
+
+        mockMvc.perform(get("/user/" + savedUserId).header("If-None-Match", "\"3\"")
+                                                   .accept(MediaType.APPLICATION_JSON))
+               .andDo(print()).andExpect(status().isNotModified())
+               .andExpect(header().string("ETag", "\"3\""))
+               .andExpect(header().string("Cache-Control", "private, no-cache"))
+               .andExpect(content().string(""));
+    }
+
+    @Test
+    public void getUserByIdShouldReturnTheUserWhenIfNoneMatchIsStale() throws Exception {
+        UUID savedUserId = UUID.randomUUID();
+        when(userRepository.findById(savedUserId))
+            .thenReturn(new User(savedUserId, "johnSmith123", "password", 3L));
+
+        mockMvc.perform(get("/user/" + savedUserId).header("If-None-Match", "\"2\"")
+                                                   .accept(MediaType.APPLICATION_JSON))
+               .andDo(print()).andExpect(status().isOk())
+               .andExpect(jsonPath("$.username").value("johnSmith123"));
+    }
+
+    @Test
+    public void getUserByIdShouldReturnNotModifiedWhenUnchangedSinceIfModifiedSince()
+        throws Exception {
+        UUID savedUserId = UUID.randomUUID();
+        Instant lastModified = Instant.parse("2020-09-01T10:15:30Z");
+        when(userRepository.findById(savedUserId))
+            .thenReturn(new User(savedUserId, "johnSmith123", "password", null, lastModified));
+
+        mockMvc.perform(get("/user/" + savedUserId)
+            .header("If-Modified-Since", "Tue, 01 Sep 2020 10:15:30 GMT")
+            .accept(MediaType.APPLICATION_JSON)).andDo(print())
+               .andExpect(status().isNotModified())
+               .andExpect(header().string("Last-Modified", "Tue, 01 Sep 2020 10:15:30 GMT"));
+    }
+
+    @Test
+    public void getUsernameAvailabilityShouldReturnAvailableForAnUnknownUsername()
+        throws Exception {
+        mockMvc.perform(get("/user/username/joanneSmith123/available")
+            .accept(MediaType.APPLICATION_JSON)).andDo(print()).andExpect(status().isOk())
+               .andExpect(jsonPath("$.available").value(true));
+    }
+
+    @Test
+    public void updateUserShouldReturnPreconditionFailedWhenIfMatchIsStale() throws Exception {
+        UUID savedUserId = UUID.randomUUID();
+        UpdateResult updateResult = Mockito.mock(UpdateResult.class);
+        when(updateResult.getMatchedCount()).thenReturn(0L);
+        when(userRepository.update(Mockito.any())).thenReturn(updateResult);
+        when(userRepository.findById(savedUserId))
+            .thenReturn(new User(savedUserId, "johnSmith123", "password", 3L));
+
+        mockMvc.perform(put("/user").header("If-Match", "\"2\"")
+                                    .contentType(MediaType.APPLICATION_JSON).content(objectMapper
+                .writeValueAsString(UserRequestBodies.of(new User(savedUserId, "johnSmith123",
+                    "password"))))
+                                    .accept(MediaType.APPLICATION_JSON)).andDo(print())
+               .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    public void updateUserShouldIgnoreTheBodyVersionWhenIfMatchIsNotSent() throws Exception {
+        UUID savedUserId = UUID.randomUUID();
+        UpdateResult updateResult = Mockito.mock(UpdateResult.class);
+        when(updateResult.getMatchedCount()).thenReturn(1L);
+        when(userRepository.update(Mockito.any())).thenReturn(updateResult);
+
+        mockMvc.perform(put("/user").contentType(MediaType.APPLICATION_JSON).content(objectMapper
+            .writeValueAsString(UserRequestBodies.of(new User(savedUserId, "johnSmith123",
+                "password", 2L)))).accept(MediaType.APPLICATION_JSON)).andDo(print())
+               .andExpect(status().isOk()).andExpect(header().doesNotExist("ETag"));
+
+        ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
+        Mockito.verify(userRepository).update(userCaptor.capture());
+        assertThat(userCaptor.getValue().getVersion()).isNull();
+    }
+
     @Test
     public void getUserByIdShouldReturnExpectedErrorMessageWhenUserIsNotFound() throws Exception {
         UUID nonExistingUserId = UUID.randomUUID();
@@ -135,7 +356,8 @@ public class UserControllerTests {
         when(userRepository.update(Mockito.any())).thenReturn(updateResult);
 
         mockMvc.perform(put("/user").contentType(MediaType.APPLICATION_JSON)
-                                    .content(objectMapper.writeValueAsString(userToUpdate))
+                                    .content(objectMapper.writeValueAsString(
+                UserRequestBodies.of(userToUpdate)))
                                     .accept(MediaType.APPLICATION_JSON)).andDo(print())
                .andExpect(status().isNotFound()).andExpect(content()
             .string(containsString("User with id: " + userToUpdate.getId() + " was not found")));
@@ -147,7 +369,8 @@ public class UserControllerTests {
         User userToUpdate = new User(UUID.randomUUID(), null, "password");
 
         mockMvc.perform(put("/user").contentType(MediaType.APPLICATION_JSON)
-                                    .content(objectMapper.writeValueAsString(userToUpdate))
+                                    .content(objectMapper.writeValueAsString(
+                UserRequestBodies.of(userToUpdate)))
                                     .accept(MediaType.APPLICATION_JSON)).andDo(print())
                .andExpect(status().isBadRequest()).andExpect(
             content().string(containsString("User's username cannot be null or empty")));
@@ -159,7 +382,8 @@ public class UserControllerTests {
         User userToUpdate = new User(UUID.randomUUID(), "", "password");
 
         mockMvc.perform(put("/user").contentType(MediaType.APPLICATION_JSON)
-                                    .content(objectMapper.writeValueAsString(userToUpdate))
+                                    .content(objectMapper.writeValueAsString(
+                UserRequestBodies.of(userToUpdate)))
                                     .accept(MediaType.APPLICATION_JSON)).andDo(print())
                .andExpect(status().isBadRequest()).andExpect(
             content().string(containsString("User's username cannot be null or empty")));
@@ -171,7 +395,8 @@ public class UserControllerTests {
         User userToUpdate = new User(UUID.randomUUID(), "johnSmith123", null);
 
         mockMvc.perform(put("/user").contentType(MediaType.APPLICATION_JSON)
-                                    .content(objectMapper.writeValueAsString(userToUpdate))
+                                    .content(objectMapper.writeValueAsString(
+                UserRequestBodies.of(userToUpdate)))
                                     .accept(MediaType.APPLICATION_JSON)).andDo(print())
                .andExpect(status().isBadRequest()).andExpect(
             content().string(containsString("User's password cannot be null or empty")));
@@ -183,7 +408,8 @@ public class UserControllerTests {
         User userToUpdate = new User(UUID.randomUUID(), "johnSmith123", "");
 
         mockMvc.perform(put("/user").contentType(MediaType.APPLICATION_JSON)
-                                    .content(objectMapper.writeValueAsString(userToUpdate))
+                                    .content(objectMapper.writeValueAsString(
+                UserRequestBodies.of(userToUpdate)))
                                     .accept(MediaType.APPLICATION_JSON)).andDo(print())
                .andExpect(status().isBadRequest()).andExpect(
             content().string(containsString("User's password cannot be null or empty")));
@@ -194,7 +420,8 @@ public class UserControllerTests {
         User userToUpdate = new User(null, "johnSmith123", "password");
 
         mockMvc.perform(put("/user").contentType(MediaType.APPLICATION_JSON)
-                                    .content(objectMapper.writeValueAsString(userToUpdate))
+                                    .content(objectMapper.writeValueAsString(
+                UserRequestBodies.of(userToUpdate)))
                                     .accept(MediaType.APPLICATION_JSON)).andDo(print())
                .andExpect(status().isBadRequest())
                .andExpect(content().string(containsString("Id cannot be null")));
@@ -214,4 +441,13 @@ public class UserControllerTests {
                .andDo(print()).andExpect(status().isNotFound()).andExpect(content()
             .string(containsString("User with id: " + nonExistingUserId + " was not found")));
     }
+
+    @Test
+    public void getUserEventsShouldReturnExpectedErrorMessageWhenCursorIsInvalid()
+        throws Exception {
+        mockMvc.perform(get("/user/events").param("since", "not-a-cursor")
+                                           .accept(MediaType.APPLICATION_JSON)).andDo(print())
+               .andExpect(status().isBadRequest()).andExpect(
+            content().string(containsString("not-a-cursor is not a valid event cursor")));
+    }
 }
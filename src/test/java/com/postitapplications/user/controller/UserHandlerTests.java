@@ -0,0 +1,132 @@
+package com.postitapplications.user.controller;
+
+import static org.mockito.Mockito.when;
+
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import com.postitapplications.user.document.User;
+import com.postitapplications.user.exception.ReactiveUserExceptionHandler;
+import com.postitapplications.user.repository.ReactiveUserEventRepository;
+import com.postitapplications.user.repository.ReactiveUserRepository;
+import com.postitapplications.user.service.PasswordHasher;
+import com.postitapplications.user.service.ReactiveUserEventOutbox;
+import com.postitapplications.user.service.ReactiveUserService;
+import com.postitapplications.user.utility.UserRequestBodies;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+@SpringBootTest
+public class UserHandlerTests {
+
+    private WebTestClient webTestClient;
+    @MockBean
+    private ReactiveUserRepository reactiveUserRepository;
+    @MockBean
+    private ReactiveUserEventRepository reactiveUserEventRepository;
+
+    @BeforeEach
+    public void setUp() {
+        when(reactiveUserEventRepository.append(Mockito.any()))
+            .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        PasswordHasher passwordHasher = new PasswordHasher(4, 1, 10, new SimpleMeterRegistry());
+        UserHandler userHandler = new UserHandler(
+            new ReactiveUserService(reactiveUserRepository, passwordHasher,
+                new ReactiveUserEventOutbox(reactiveUserEventRepository, null)),
+            new ReactiveUserExceptionHandler(new SimpleMeterRegistry()));
+        webTestClient = WebTestClient
+            .bindToRouterFunction(new UserRouter().userRoutes(userHandler)).build();
+    }
+
+    @Test
+    public void saveUserShouldReturnCreatedStatusCodeOnSuccessfulSave() {
+        User savedUser = new User(UUID.randomUUID(), "johnSmith123", "password");
+        when(reactiveUserRepository.save(Mockito.any(User.class))).thenReturn(Mono.just(savedUser));
+
+        webTestClient.post().uri("/user").contentType(MediaType.APPLICATION_JSON)
+                     .bodyValue(
+                         UserRequestBodies.of(new User(null, "johnSmith123", "password")))
+                     .exchange()
+                     .expectStatus().isCreated().expectBody().jsonPath("$.username")
+                     .isEqualTo("johnSmith123");
+    }
+
+    @Test
+    public void saveUserShouldReturnExpectedErrorMessageWhenUserUsernameIsEmpty() {
+        webTestClient.post().uri("/user").contentType(MediaType.APPLICATION_JSON)
+                     .bodyValue(UserRequestBodies.of(new User(null, "", "password"))).exchange()
+                     .expectStatus().isBadRequest().expectBody().jsonPath("$.message")
+                     .isEqualTo("User's username cannot be null or empty");
+    }
+
+    @Test
+    public void saveUserShouldReturnExpectedErrorMessageWhenUserUsernameAlreadyExists() {
+        when(reactiveUserRepository.save(Mockito.any(User.class)))
+            .thenReturn(Mono.error(new DuplicateKeyException("E11000 duplicate key error")));
+
+        webTestClient.post().uri("/user").contentType(MediaType.APPLICATION_JSON)
+                     .bodyValue(
+                         UserRequestBodies.of(new User(null, "johnSmith123", "password")))
+                     .exchange()
+                     .expectStatus().isEqualTo(409).expectBody().jsonPath("$.message")
+                     .isEqualTo("Cannot save user as johnSmith123 is already taken");
+    }
+
+    @Test
+    public void getUserByIdShouldReturnExpectedErrorMessageWhenUserIsNotFound() {
+        UUID nonExistingUserId = UUID.randomUUID();
+        when(reactiveUserRepository.findById(nonExistingUserId)).thenReturn(Mono.empty());
+
+        webTestClient.get().uri("/user/" + nonExistingUserId).exchange().expectStatus()
+                     .isNotFound().expectBody().jsonPath("$.message")
+                     .isEqualTo("User with id: " + nonExistingUserId + " was not found");
+    }
+
+    @Test
+    public void getUserByIdShouldReturnBadRequestStatusCodeOnInvalidUserId() {
+        webTestClient.get().uri("/user/123456").exchange().expectStatus().isBadRequest();
+    }
+
+    @Test
+    public void getUserByUsernameShouldReturnFoundUser() {
+        User savedUser = new User(UUID.randomUUID(), "johnSmith123", "password");
+        when(reactiveUserRepository.findByUsername("johnSmith123"))
+            .thenReturn(Mono.just(savedUser));
+
+        webTestClient.get().uri("/user/username/johnSmith123").exchange().expectStatus().isOk()
+                     .expectBody().jsonPath("$.id").isEqualTo(savedUser.getId().toString());
+    }
+
+    @Test
+    public void updateUserShouldReturnExpectedErrorMessageWhenUserIsNotFound() {
+        UpdateResult updateResult = Mockito.mock(UpdateResult.class);
+        User userToUpdate = new User(UUID.randomUUID(), "johnSmith123", "password");
+        when(updateResult.getMatchedCount()).thenReturn((long) 0);
+        when(reactiveUserRepository.update(Mockito.any())).thenReturn(Mono.just(updateResult));
+
+        webTestClient.put().uri("/user").contentType(MediaType.APPLICATION_JSON)
+                     .bodyValue(UserRequestBodies.of(userToUpdate)).exchange().expectStatus()
+                     .isNotFound().expectBody()
+                     .jsonPath("$.message")
+                     .isEqualTo("User with id: " + userToUpdate.getId() + " was not found");
+    }
+
+    @Test
+    public void deleteUserByIdShouldReturnDeletedUserIdOnSuccessfulDelete() {
+        DeleteResult deleteResult = Mockito.mock(DeleteResult.class);
+        UUID deletedUserId = UUID.randomUUID();
+        when(deleteResult.getDeletedCount()).thenReturn((long) 1);
+        when(reactiveUserRepository.removeById(deletedUserId)).thenReturn(Mono.just(deleteResult));
+
+        webTestClient.delete().uri("/user/" + deletedUserId).exchange().expectStatus().isOk()
+                     .expectBody(UUID.class).isEqualTo(deletedUserId);
+    }
+}
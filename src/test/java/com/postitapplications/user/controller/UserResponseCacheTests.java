@@ -0,0 +1,103 @@
+package com.postitapplications.user.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import com.postitapplications.user.controller.UserResponseCache.EncodedUser;
+import com.postitapplications.user.document.User;
+import com.postitapplications.user.utility.VersionTags;
+import java.time.Instant;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+public class UserResponseCacheTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final User user = new User(UUID.randomUUID(), "johnSmith123", "password", 3L,
+        Instant.parse("2020-09-01T10:15:30Z"));
+
+    @Test
+    public void encodeShouldProduceTheSameJsonAsTheObjectMapper() throws JsonProcessingException {
+        UserResponseCache userResponseCache = new UserResponseCache(objectMapper, true, 100);
+
+        EncodedUser encodedUser = userResponseCache.encode(user);
+
+        assertThat(encodedUser.getJson()).isEqualTo(objectMapper.writeValueAsBytes(user));
+        assertThat(encodedUser.getETag()).isEqualTo(VersionTags.eTagOf(user));
+    }
+
+    @Test
+    public void encodeShouldNotIncludeThePassword() {
+        UserResponseCache userResponseCache = new UserResponseCache(objectMapper, true, 100);
+
+        assertThat(new String(userResponseCache.encode(user).getJson())).doesNotContain("password");
+    }
+
+    @Test
+    public void encodeShouldReuseTheEncodingForTheSameUser() {
+        UserResponseCache userResponseCache = new UserResponseCache(objectMapper, true, 100);
+
+        EncodedUser encodedUser = userResponseCache.encode(user);
+
+        assertThat(userResponseCache.encode(user)).isSameAs(encodedUser);
+        assertThat(userResponseCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void encodeShouldReuseTheEncodingForAnotherInstanceOfTheSameVersion() {
+        UserResponseCache userResponseCache = new UserResponseCache(objectMapper, true, 100);
+        EncodedUser encodedUser = userResponseCache.encode(user);
+        User reloadedUser = new User(user.getId(), user.getUsername(), user.getPassword(),
+            user.getVersion(), user.getLastModified());
+
+        assertThat(userResponseCache.encode(reloadedUser)).isSameAs(encodedUser);
+        assertThat(userResponseCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void encodeShouldNotCacheTheEncodingOfAnUnversionedUser() {
+        UserResponseCache userResponseCache = new UserResponseCache(objectMapper, true, 100);
+        User unversionedUser = new User(UUID.randomUUID(), "johnSmith123", "password");
+
+        EncodedUser encodedUser = userResponseCache.encode(unversionedUser);
+
+        assertThat(encodedUser.getETag()).isEqualTo(VersionTags.eTagOf(unversionedUser));
+        assertThat(userResponseCache.size()).isZero();
+    }
+
+    @Test
+    public void encodeShouldEncodeAgainOnceTheUserHasBeenReplaced() {
+        UserResponseCache userResponseCache = new UserResponseCache(objectMapper, true, 100);
+        EncodedUser encodedUser = userResponseCache.encode(user);
+        User updatedUser = new User(user.getId(), "johnSmith124", "password", 4L,
+            Instant.parse("2020-09-01T10:16:30Z"));
+
+        EncodedUser encodedUpdatedUser = userResponseCache.encode(updatedUser);
+
+        assertThat(encodedUpdatedUser).isNotSameAs(encodedUser);
+        assertThat(new String(encodedUpdatedUser.getJson())).contains("johnSmith124");
+        assertThat(encodedUpdatedUser.getETag()).isEqualTo(VersionTags.toETag(4L));
+    }
+
+    @Test
+    public void encodeShouldNotCacheTheEncodingWhenDisabled() {
+        UserResponseCache userResponseCache = new UserResponseCache(objectMapper, false, 100);
+
+        EncodedUser encodedUser = userResponseCache.encode(user);
+
+        assertThat(userResponseCache.encode(user)).isNotSameAs(encodedUser);
+        assertThat(userResponseCache.size()).isZero();
+    }
+
+    @Test
+    public void encodeShouldProduceTheSameJsonWhenAfterburnerIsRegistered() {
+        UserResponseCache afterburnerResponseCache = new UserResponseCache(
+            new ObjectMapper().registerModule(new AfterburnerModule()), true, 100);
+        UserResponseCache userResponseCache = new UserResponseCache(objectMapper, true, 100);
+
+        assertThat(afterburnerResponseCache.encode(user).getJson())
+            .isEqualTo(userResponseCache.encode(user).getJson());
+    }
+}
@@ -3,6 +3,8 @@ package com.postitapplications.user.integrationTest;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.postitapplications.user.document.User;
+import com.postitapplications.user.utility.UserRequestBodies;
+import java.util.Map;
 import java.util.UUID;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -13,6 +15,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -33,7 +36,7 @@ public class UserIT {
 
     @AfterEach
     public void tearDown() {
-        mongoTemplate.dropCollection(User.class);
+        mongoTemplate.remove(new Query(), User.class);
     }
 
     @Test
@@ -41,7 +44,7 @@ public class UserIT {
         User userToSave = new User(null, "johnSmith123", "password");
 
         ResponseEntity<User> responseEntity = restTemplate
-            .postForEntity("/user", userToSave, User.class);
+            .postForEntity("/user", UserRequestBodies.of(userToSave), User.class);
         User userSaved = responseEntity.getBody();
 
         assertThat(userSaved.getUsername()).isEqualTo(userToSave.getUsername());
@@ -51,7 +54,7 @@ public class UserIT {
     public void saveUserShouldAddUserToUserDatabase() {
         User userToSave = new User(null, "johnSmith123", "password");
 
-        restTemplate.postForEntity("/user", userToSave, User.class);
+        restTemplate.postForEntity("/user", UserRequestBodies.of(userToSave), User.class);
         User userSaved = mongoTemplate.findAll(User.class).get(0);
 
         assertThat(userSaved.getUsername()).isEqualTo(userToSave.getUsername());
@@ -62,7 +65,7 @@ public class UserIT {
         User userToSave = new User(null, "johnSmith123", "password");
 
         ResponseEntity<User> responseEntity = restTemplate
-            .postForEntity("/user", userToSave, User.class);
+            .postForEntity("/user", UserRequestBodies.of(userToSave), User.class);
         HttpStatus responseStatusCode = responseEntity.getStatusCode();
 
         assertThat(responseStatusCode).isEqualTo(HttpStatus.CREATED);
@@ -81,7 +84,7 @@ public class UserIT {
         User userToSave = new User(null, "", "password");
 
         ResponseEntity<User> responseEntity = restTemplate
-            .postForEntity("/user", userToSave, User.class);
+            .postForEntity("/user", UserRequestBodies.of(userToSave), User.class);
         HttpStatus responseStatusCode = responseEntity.getStatusCode();
 
         assertThat(responseStatusCode).isEqualTo(HttpStatus.BAD_REQUEST);
@@ -93,7 +96,7 @@ public class UserIT {
         mongoTemplate.save(userToSave);
 
         ResponseEntity<User> responseEntity = restTemplate
-            .postForEntity("/user", userToSave, User.class);
+            .postForEntity("/user", UserRequestBodies.of(userToSave), User.class);
         HttpStatus responseStatusCode = responseEntity.getStatusCode();
 
         assertThat(responseStatusCode).isEqualTo(HttpStatus.CONFLICT);
@@ -194,7 +197,8 @@ public class UserIT {
         User updatedUser = new User(savedUserId, "johnSmith456", "password");
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
-        HttpEntity<User> httpEntity = new HttpEntity<>(updatedUser, headers);
+        HttpEntity<Map<String, Object>> httpEntity = new HttpEntity<>(
+            UserRequestBodies.of(updatedUser), headers);
 
         ResponseEntity<User> responseEntity = restTemplate
             .exchange("/user/", HttpMethod.PUT, httpEntity, User.class);
@@ -211,14 +215,15 @@ public class UserIT {
         User updatedUser = new User(savedUserId, "johnSmith456", "password");
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
-        HttpEntity<User> httpEntity = new HttpEntity<>(updatedUser, headers);
+        HttpEntity<Map<String, Object>> httpEntity = new HttpEntity<>(
+            UserRequestBodies.of(updatedUser), headers);
 
         ResponseEntity<User> responseEntity = restTemplate
             .exchange("/user/", HttpMethod.PUT, httpEntity, User.class);
         User responseEntityBody = responseEntity.getBody();
 
         assertThat(responseEntityBody.getUsername()).isEqualTo("johnSmith456");
-        assertThat(responseEntityBody.getPassword()).isEqualTo("password");
+        assertThat(responseEntityBody.getPassword()).isNull();
     }
 
     @Test
@@ -229,7 +234,8 @@ public class UserIT {
         User updatedUser = new User(savedUserId, "johnSmith456", "password");
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
-        HttpEntity<User> httpEntity = new HttpEntity<>(updatedUser, headers);
+        HttpEntity<Map<String, Object>> httpEntity = new HttpEntity<>(
+            UserRequestBodies.of(updatedUser), headers);
 
         restTemplate.exchange("/user/", HttpMethod.PUT, httpEntity, User.class);
         User userToTest = mongoTemplate.findAll(User.class).get(0);
@@ -244,7 +250,8 @@ public class UserIT {
         User updatedUser = new User(UUID.randomUUID(), "johnSmith456", "password");
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
-        HttpEntity<User> httpEntity = new HttpEntity<>(updatedUser, headers);
+        HttpEntity<Map<String, Object>> httpEntity = new HttpEntity<>(
+            UserRequestBodies.of(updatedUser), headers);
 
         ResponseEntity<User> responseEntity = restTemplate
             .exchange("/user/", HttpMethod.PUT, httpEntity, User.class);
@@ -258,7 +265,8 @@ public class UserIT {
         User updatedUser = new User(UUID.randomUUID(), null, "password");
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
-        HttpEntity<User> httpEntity = new HttpEntity<>(updatedUser, headers);
+        HttpEntity<Map<String, Object>> httpEntity = new HttpEntity<>(
+            UserRequestBodies.of(updatedUser), headers);
 
         ResponseEntity<User> responseEntity = restTemplate
             .exchange("/user/", HttpMethod.PUT, httpEntity, User.class);
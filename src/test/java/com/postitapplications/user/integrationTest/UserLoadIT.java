@@ -0,0 +1,86 @@
+package com.postitapplications.user.integrationTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.postitapplications.user.config.MongoInFlightCommandListener;
+import com.postitapplications.user.document.User;
+import com.postitapplications.user.utility.UserRequestBodies;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@EnableAutoConfiguration
+@ExtendWith(SpringExtension.class)
+public class UserLoadIT {
+
+    private static final int CONCURRENT_REQUESTS = 500;
+    private static final Duration MAX_ELAPSED = Duration.ofSeconds(60);
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    @Autowired
+    private MongoInFlightCommandListener mongoInFlightCommandListener;
+    @Value("${user.mongo.pool.max-size}")
+    private int maxPoolSize;
+
+    @AfterEach
+    public void tearDown() {
+        mongoTemplate.remove(new Query(), User.class);
+    }
+
+    @Test
+    public void saveUserShouldSucceedForEveryConcurrentRequest() throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<HttpStatus>> responseStatusCodes = new ArrayList<>();
+
+        for (int index = 0; index < CONCURRENT_REQUESTS; index++) {
+            User userToSave = new User(null, "loadTestUser" + index, "password");
+            responseStatusCodes.add(clients.submit(() -> {
+                startSignal.await();
+                return restTemplate
+                    .postForEntity("/user", UserRequestBodies.of(userToSave), User.class)
+                    .getStatusCode();
+            }));
+        }
+
+        mongoInFlightCommandListener.resetPeakInFlight();
+        long startedAt = System.nanoTime();
+        startSignal.countDown();
+
+        try {
+            for (Future<HttpStatus> responseStatusCode : responseStatusCodes) {
+                assertThat(responseStatusCode.get()).isEqualTo(HttpStatus.CREATED);
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+
+        assertThat(mongoTemplate.count(new Query(), User.class)).isEqualTo(CONCURRENT_REQUESTS);
+        assertThat(elapsed).isLessThan(MAX_ELAPSED);
+        assertThat(mongoInFlightCommandListener.getPeakInFlight())
+            .isGreaterThan(1).isLessThanOrEqualTo(maxPoolSize);
+    }
+}
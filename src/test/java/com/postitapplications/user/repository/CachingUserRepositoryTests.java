@@ -0,0 +1,257 @@
+package com.postitapplications.user.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.postitapplications.user.document.User;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+@SpringBootTest
+public class CachingUserRepositoryTests {
+
+    private final ReadConsistency readConsistency = new ReadConsistency(Duration.ofSeconds(90));
+    private CachingUserRepository cachingUserRepository;
+    @MockBean
+    private UserRepository mockUserRepository;
+
+    @BeforeEach
+    public void setUp() {
+        cachingUserRepository = new CachingUserRepository(mockUserRepository, readConsistency, 100,
+            Duration.ofMinutes(5));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        readConsistency.clear();
+    }
+
+    @Test
+    public void findByIdShouldOnlyQueryTheRepositoryOnceForRepeatedLookups() {
+        UUID savedUserId = UUID.randomUUID();
+        User savedUser = new User(savedUserId, "johnSmith123", "password");
+        when(mockUserRepository.findById(savedUserId)).thenReturn(savedUser);
+
+        cachingUserRepository.findById(savedUserId);
+
+        assertThat(cachingUserRepository.findById(savedUserId)).isEqualTo(savedUser);
+        verify(mockUserRepository, times(1)).findById(savedUserId);
+    }
+
+    @Test
+    public void findByUsernameShouldUseTheCachedEntryRegardlessOfCase() {
+        UUID savedUserId = UUID.randomUUID();
+        User savedUser = new User(savedUserId, "johnSmith123", "password");
+        when(mockUserRepository.findById(savedUserId)).thenReturn(savedUser);
+
+        cachingUserRepository.findById(savedUserId);
+
+        assertThat(cachingUserRepository.findByUsername("JOHNSMITH123")).isEqualTo(savedUser);
+        verify(mockUserRepository, times(0)).findByUsername("JOHNSMITH123");
+    }
+
+    @Test
+    public void findByIdShouldNotCacheMissingUsers() {
+        UUID nonExistingUserId = UUID.randomUUID();
+        when(mockUserRepository.findById(nonExistingUserId)).thenReturn(null);
+
+        cachingUserRepository.findById(nonExistingUserId);
+
+        assertThat(cachingUserRepository.findById(nonExistingUserId)).isEqualTo(null);
+        verify(mockUserRepository, times(2)).findById(nonExistingUserId);
+    }
+
+    @Test
+    public void findByUsernameShouldUseTheEntryCachedByFindById() {
+        UUID savedUserId = UUID.randomUUID();
+        User savedUser = new User(savedUserId, "johnSmith123", "password");
+        when(mockUserRepository.findById(savedUserId)).thenReturn(savedUser);
+
+        cachingUserRepository.findById(savedUserId);
+
+        assertThat(cachingUserRepository.findByUsername("johnSmith123")).isEqualTo(savedUser);
+        verify(mockUserRepository, times(0)).findByUsername("johnSmith123");
+    }
+
+    @Test
+    public void findByIdShouldUseTheEntryCachedByFindByUsername() {
+        UUID savedUserId = UUID.randomUUID();
+        User savedUser = new User(savedUserId, "johnSmith123", "password");
+        when(mockUserRepository.findByUsername("johnSmith123")).thenReturn(savedUser);
+
+        cachingUserRepository.findByUsername("johnSmith123");
+
+        assertThat(cachingUserRepository.findById(savedUserId)).isEqualTo(savedUser);
+        verify(mockUserRepository, times(0)).findById(savedUserId);
+    }
+
+    @Test
+    public void updateShouldInvalidateTheCachedUser() {
+        UUID savedUserId = UUID.randomUUID();
+        User savedUser = new User(savedUserId, "johnSmith123", "password");
+        User updatedUser = new User(savedUserId, "joanneSmith123", "password");
+        when(mockUserRepository.findById(savedUserId)).thenReturn(savedUser, updatedUser);
+
+        cachingUserRepository.findById(savedUserId);
+        cachingUserRepository.update(updatedUser);
+
+        assertThat(cachingUserRepository.findById(savedUserId)).isEqualTo(updatedUser);
+    }
+
+    @Test
+    public void updateShouldRemoveTheOldUsernameFromTheCache() {
+        UUID savedUserId = UUID.randomUUID();
+        User savedUser = new User(savedUserId, "johnSmith123", "password");
+        when(mockUserRepository.findById(savedUserId)).thenReturn(savedUser);
+
+        cachingUserRepository.findById(savedUserId);
+        cachingUserRepository.update(new User(savedUserId, "joanneSmith123", "password"));
+
+        assertThat(cachingUserRepository.findByUsername("johnSmith123")).isEqualTo(null);
+    }
+
+    @Test
+    public void patchShouldInvalidateTheCachedUser() {
+        UUID savedUserId = UUID.randomUUID();
+        User savedUser = new User(savedUserId, "johnSmith123", "password");
+        User patchedUser = new User(savedUserId, "joanneSmith123", "password");
+        when(mockUserRepository.findById(savedUserId)).thenReturn(savedUser, patchedUser);
+
+        cachingUserRepository.findById(savedUserId);
+        cachingUserRepository.patch(savedUserId, null, "joanneSmith123", null);
+
+        assertThat(cachingUserRepository.findById(savedUserId)).isEqualTo(patchedUser);
+    }
+
+    @Test
+    public void removeByIdShouldInvalidateTheCachedUser() {
+        UUID savedUserId = UUID.randomUUID();
+        User savedUser = new User(savedUserId, "johnSmith123", "password");
+        when(mockUserRepository.findById(savedUserId)).thenReturn(savedUser, (User) null);
+
+        cachingUserRepository.findById(savedUserId);
+        cachingUserRepository.removeById(savedUserId);
+
+        assertThat(cachingUserRepository.findById(savedUserId)).isEqualTo(null);
+        assertThat(cachingUserRepository.findByUsername("johnSmith123")).isEqualTo(null);
+    }
+
+    @Test
+    public void findAllByIdsOrUsernamesShouldOnlyQueryTheRepositoryForUncachedUsers() {
+        UUID cachedUserId = UUID.randomUUID();
+        UUID uncachedUserId = UUID.randomUUID();
+        User cachedUser = new User(cachedUserId, "johnSmith123", "password");
+        User uncachedUser = new User(uncachedUserId, "joanneSmith123", "password");
+        when(mockUserRepository.findById(cachedUserId)).thenReturn(cachedUser);
+        when(mockUserRepository.findAllByIdsOrUsernames(List.of(uncachedUserId), List.of()))
+            .thenReturn(List.of(uncachedUser));
+
+        cachingUserRepository.findById(cachedUserId);
+
+        List<User> usersFound = cachingUserRepository.findAllByIdsOrUsernames(
+            List.of(cachedUserId, uncachedUserId), List.of("johnSmith123"));
+
+        assertThat(usersFound).containsExactly(cachedUser, uncachedUser);
+        assertThat(cachingUserRepository.findById(uncachedUserId)).isEqualTo(uncachedUser);
+        verify(mockUserRepository, times(0)).findById(uncachedUserId);
+    }
+
+    @Test
+    public void statsShouldRecordHitsAndMisses() {
+        UUID savedUserId = UUID.randomUUID();
+        User savedUser = new User(savedUserId, "johnSmith123", "password");
+        when(mockUserRepository.findById(savedUserId)).thenReturn(savedUser);
+
+        cachingUserRepository.findById(savedUserId);
+        cachingUserRepository.findById(savedUserId);
+        cachingUserRepository.findByUsername("johnSmith123");
+        cachingUserRepository.findByUsername("nonExistingUsername");
+
+        assertThat(cachingUserRepository.stats().hitCount()).isEqualTo(2);
+        assertThat(cachingUserRepository.stats().missCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void findByIdShouldBypassTheCacheWhilePinnedToThePrimary() {
+        UUID savedUserId = UUID.randomUUID();
+        User savedUser = new User(savedUserId, "johnSmith123", "password", 1L);
+        User updatedUser = new User(savedUserId, "johnSmith123", "password", 2L);
+        when(mockUserRepository.findById(savedUserId)).thenReturn(savedUser, updatedUser);
+        cachingUserRepository.findById(savedUserId);
+
+        readConsistency.recordWrite();
+
+        assertThat(cachingUserRepository.findById(savedUserId)).isEqualTo(updatedUser);
+        verify(mockUserRepository, times(2)).findById(savedUserId);
+    }
+
+    @Test
+    public void findByUsernameShouldBypassTheCacheWhilePinnedToThePrimary() {
+        User savedUser = new User(UUID.randomUUID(), "johnSmith123", "password");
+        when(mockUserRepository.findByUsername("johnSmith123")).thenReturn(savedUser);
+        cachingUserRepository.findByUsername("johnSmith123");
+
+        readConsistency.recordWrite();
+        cachingUserRepository.findByUsername("johnSmith123");
+
+        verify(mockUserRepository, times(2)).findByUsername("johnSmith123");
+    }
+
+    @Test
+    public void findByIdShouldNotCacheUsersReadFromASecondary() {
+        cachingUserRepository = new CachingUserRepository(mockUserRepository,
+            new ReadConsistency(Duration.ofSeconds(90), false), 100, Duration.ofMinutes(5));
+        UUID savedUserId = UUID.randomUUID();
+        when(mockUserRepository.findById(savedUserId))
+            .thenReturn(new User(savedUserId, "johnSmith123", "password"));
+
+        cachingUserRepository.findById(savedUserId);
+        cachingUserRepository.findById(savedUserId);
+
+        verify(mockUserRepository, times(2)).findById(savedUserId);
+        assertThat(cachingUserRepository.stats().loadCount()).isZero();
+    }
+
+    @Test
+    public void findByIdShouldCacheUsersReadFromThePrimaryWhilePinned() {
+        ReadConsistency secondaryReadConsistency = new ReadConsistency(Duration.ofSeconds(90),
+            false);
+        cachingUserRepository = new CachingUserRepository(mockUserRepository,
+            secondaryReadConsistency, 100, Duration.ofMinutes(5));
+        UUID savedUserId = UUID.randomUUID();
+        when(mockUserRepository.findById(savedUserId))
+            .thenReturn(new User(savedUserId, "johnSmith123", "password"));
+        secondaryReadConsistency.recordWrite();
+        cachingUserRepository.findById(savedUserId);
+
+        secondaryReadConsistency.clear();
+        cachingUserRepository.findById(savedUserId);
+
+        verify(mockUserRepository, times(1)).findById(savedUserId);
+    }
+
+    @Test
+    public void statsShouldRecordEvictionsWhenTheCacheIsFull() {
+        cachingUserRepository = new CachingUserRepository(mockUserRepository, readConsistency, 1,
+            Duration.ofMinutes(5));
+        UUID firstUserId = UUID.randomUUID();
+        UUID secondUserId = UUID.randomUUID();
+        when(mockUserRepository.findById(firstUserId))
+            .thenReturn(new User(firstUserId, "johnSmith123", "password"));
+        when(mockUserRepository.findById(secondUserId))
+            .thenReturn(new User(secondUserId, "joanneSmith123", "password"));
+
+        cachingUserRepository.findById(firstUserId);
+        cachingUserRepository.findById(secondUserId);
+
+        assertThat(cachingUserRepository.stats().evictionCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,65 @@
+package com.postitapplications.user.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+import com.postitapplications.user.document.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+@SpringBootTest
+public class MeteredUserRepositoryTests {
+
+    private MeteredUserRepository meteredUserRepository;
+    private MeterRegistry meterRegistry;
+    @MockBean
+    private UserRepository mockUserRepository;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        meteredUserRepository = new MeteredUserRepository(mockUserRepository, meterRegistry);
+    }
+
+    @Test
+    public void findByIdShouldReturnTheUserFromTheRepository() {
+        UUID savedUserId = UUID.randomUUID();
+        User savedUser = new User(savedUserId, "johnSmith123", "password");
+        when(mockUserRepository.findById(savedUserId)).thenReturn(savedUser);
+
+        assertThat(meteredUserRepository.findById(savedUserId)).isEqualTo(savedUser);
+    }
+
+    @Test
+    public void findByIdShouldRecordTheOperationLatency() {
+        meteredUserRepository.findById(UUID.randomUUID());
+
+        assertThat(meterRegistry.get("user.repository").tag("operation", "findById").timer()
+                                .count()).isEqualTo(1);
+    }
+
+    @Test
+    public void saveShouldRecordTheOperationLatencyWhenTheRepositoryThrows() {
+        when(mockUserRepository.save(Mockito.any(), Mockito.any()))
+            .thenThrow(new IllegalStateException("Mongo is down"));
+
+        assertThrows(IllegalStateException.class, () -> {
+            meteredUserRepository.save(new User(null, "johnSmith123", "password"));
+        });
+
+        assertThat(meterRegistry.get("user.repository").tag("operation", "save").timer().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    public void constructorShouldRegisterATimerForEveryOperation() {
+        assertThat(meterRegistry.get("user.repository").timers()).hasSize(14);
+    }
+}
@@ -0,0 +1,76 @@
+package com.postitapplications.user.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+public class ReadConsistencyTests {
+
+    private final ReadConsistency readConsistency = new ReadConsistency(Duration.ofSeconds(90));
+
+    @Test
+    public void isPinnedToPrimaryShouldBeFalseWithoutAWrite() {
+        assertThat(readConsistency.isPinnedToPrimary()).isFalse();
+    }
+
+    @Test
+    public void isPinnedToPrimaryShouldBeTrueAfterARecordedWrite() {
+        readConsistency.recordWrite();
+
+        assertThat(readConsistency.isPinnedToPrimary()).isTrue();
+    }
+
+    @Test
+    public void isPinnedToPrimaryShouldBeFalseOnceTheWriteIsOlderThanThePinDuration() {
+        readConsistency.observeWrite(Instant.now().minus(Duration.ofMinutes(2)));
+
+        assertThat(readConsistency.isPinnedToPrimary()).isFalse();
+    }
+
+    @Test
+    public void observeWriteShouldKeepTheLatestWrite() {
+        Instant latestWrite = Instant.now();
+        readConsistency.observeWrite(latestWrite);
+
+        readConsistency.observeWrite(latestWrite.minusSeconds(10));
+
+        assertThat(readConsistency.getLastWrite()).isEqualTo(latestWrite);
+    }
+
+    @Test
+    public void clearShouldForgetTheWrite() {
+        readConsistency.recordWrite();
+
+        readConsistency.clear();
+
+        assertThat(readConsistency.getLastWrite()).isNull();
+        assertThat(readConsistency.isPinnedToPrimary()).isFalse();
+    }
+
+    @Test
+    public void writesShouldOnlyPinTheThreadThatMadeThem() throws InterruptedException {
+        readConsistency.recordWrite();
+        boolean[] pinnedOnOtherThread = new boolean[1];
+        Thread otherThread = new Thread(
+            () -> pinnedOnOtherThread[0] = readConsistency.isPinnedToPrimary());
+
+        otherThread.start();
+        otherThread.join();
+
+        assertThat(pinnedOnOtherThread[0]).isFalse();
+    }
+
+    @Test
+    public void isReadingFromPrimaryShouldOnlyBeTrueForSecondaryLookupsWhilePinned() {
+        ReadConsistency secondaryReadConsistency = new ReadConsistency(Duration.ofSeconds(90),
+            false);
+
+        assertThat(secondaryReadConsistency.isReadingFromPrimary()).isFalse();
+        secondaryReadConsistency.recordWrite();
+        assertThat(secondaryReadConsistency.isReadingFromPrimary()).isTrue();
+        secondaryReadConsistency.clear();
+        assertThat(readConsistency.isReadingFromPrimary()).isTrue();
+    }
+}
@@ -0,0 +1,71 @@
+package com.postitapplications.user.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.client.result.DeleteResult;
+import com.postitapplications.user.document.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+public class SoftDeletePurgerTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MongoTemplate mockMongoTemplate = Mockito.mock(MongoTemplate.class);
+    private SoftDeletePurger softDeletePurger;
+
+    @BeforeEach
+    public void setUp() {
+        softDeletePurger = new SoftDeletePurger(mockMongoTemplate, false, Duration.ofMinutes(1),
+            Duration.ofHours(1), 2, Duration.ZERO, meterRegistry);
+    }
+
+    @Test
+    public void purgeShouldRemoveExpiredTombstonesInBatches() {
+        when(mockMongoTemplate.find(Mockito.any(Query.class), Mockito.eq(User.class)))
+            .thenReturn(List.of(tombstone(), tombstone()), List.of(tombstone()));
+        when(mockMongoTemplate.remove(Mockito.any(Query.class), Mockito.eq(User.class)))
+            .thenReturn(DeleteResult.acknowledged(2), DeleteResult.acknowledged(1));
+
+        assertThat(softDeletePurger.purge()).isEqualTo(3);
+        verify(mockMongoTemplate, times(2)).remove(Mockito.any(Query.class),
+            Mockito.eq(User.class));
+        assertThat(meterRegistry.get("user.delete.purged").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    public void purgeShouldQueryOnlyExpiredTombstones() {
+        when(mockMongoTemplate.find(Mockito.any(Query.class), Mockito.eq(User.class)))
+            .thenReturn(List.of());
+
+        softDeletePurger.purge();
+
+        verify(mockMongoTemplate).find(
+            Mockito.argThat((Query query) -> query.getQueryObject().containsKey("deletedAt")
+                && query.getLimit() == 2), Mockito.eq(User.class));
+    }
+
+    @Test
+    public void purgeShouldNotRemoveAnythingWhenNoTombstonesHaveExpired() {
+        when(mockMongoTemplate.find(Mockito.any(Query.class), Mockito.eq(User.class)))
+            .thenReturn(List.of());
+
+        assertThat(softDeletePurger.purge()).isEqualTo(0);
+        verify(mockMongoTemplate, never()).remove(Mockito.any(Query.class),
+            Mockito.eq(User.class));
+    }
+
+    private static User tombstone() {
+        return new User(UUID.randomUUID(), null, null);
+    }
+}
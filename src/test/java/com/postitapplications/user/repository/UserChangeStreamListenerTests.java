@@ -0,0 +1,204 @@
+package com.postitapplications.user.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import com.mongodb.client.model.changestream.UpdateDescription;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.bson.BsonBinary;
+import org.bson.BsonDateTime;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.UuidRepresentation;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+public class UserChangeStreamListenerTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CachingUserRepository mockCachingUserRepository = Mockito
+        .mock(CachingUserRepository.class);
+    private final UsernameFilteringUserRepository mockUsernameFilteringUserRepository = Mockito
+        .mock(UsernameFilteringUserRepository.class);
+    private final UsernameIndexingUserRepository mockUsernameIndexingUserRepository = Mockito
+        .mock(UsernameIndexingUserRepository.class);
+    private UserChangeStreamListener userChangeStreamListener;
+
+    @BeforeEach
+    public void setUp() {
+        userChangeStreamListener = new UserChangeStreamListener(Mockito.mock(MongoTemplate.class),
+            mockCachingUserRepository, mockUsernameFilteringUserRepository,
+            mockUsernameIndexingUserRepository, false, "user-service:localhost:8080",
+            Duration.ofSeconds(1), Duration.ofSeconds(5), meterRegistry);
+    }
+
+    @Test
+    public void handleShouldRefreshTheLocalCachesWhenAUserIsInserted() {
+        UUID id = UUID.randomUUID();
+
+        userChangeStreamListener.handle(event(OperationType.INSERT, id,
+            new Document("_id", id).append("username", "johnSmith123"), null));
+
+        verify(mockCachingUserRepository).invalidate(id);
+        verify(mockUsernameFilteringUserRepository).record("johnSmith123");
+        verify(mockUsernameIndexingUserRepository).index(id, "johnSmith123");
+        assertThat(meterRegistry.get("user.change.stream.events").tag("operation", "insert")
+                                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void handleShouldEvictTheUserWhenAReplacedUserIsSoftDeleted() {
+        UUID id = UUID.randomUUID();
+
+        userChangeStreamListener.handle(event(OperationType.REPLACE, id,
+            new Document("_id", id).append("username", "johnSmith123")
+                                   .append("deletedAt", new Date()), null));
+
+        verify(mockCachingUserRepository).invalidate(id);
+        verify(mockUsernameIndexingUserRepository).unindex(id);
+        verify(mockUsernameIndexingUserRepository, never()).index(id, "johnSmith123");
+    }
+
+    @Test
+    public void handleShouldReindexTheUsernameWhenItIsUpdated() {
+        UUID id = UUID.randomUUID();
+
+        userChangeStreamListener.handle(event(OperationType.UPDATE, id, null,
+            new UpdateDescription(List.of(),
+                new BsonDocument("username", new BsonString("johnSmith124")))));
+
+        verify(mockCachingUserRepository).invalidate(id);
+        verify(mockUsernameFilteringUserRepository).record("johnSmith124");
+        verify(mockUsernameIndexingUserRepository).index(id, "johnSmith124");
+    }
+
+    @Test
+    public void handleShouldOnlyInvalidateTheCachedUserWhenTheUsernameIsUnchanged() {
+        UUID id = UUID.randomUUID();
+
+        userChangeStreamListener.handle(event(OperationType.UPDATE, id, null,
+            new UpdateDescription(List.of(),
+                new BsonDocument("password", new BsonString("newPassword")))));
+
+        verify(mockCachingUserRepository).invalidate(id);
+        verifyNoInteractions(mockUsernameFilteringUserRepository);
+        verifyNoInteractions(mockUsernameIndexingUserRepository);
+    }
+
+    @Test
+    public void handleShouldEvictTheUserWhenAnUpdateSoftDeletesIt() {
+        UUID id = UUID.randomUUID();
+
+        userChangeStreamListener.handle(event(OperationType.UPDATE, id, null,
+            new UpdateDescription(List.of(),
+                new BsonDocument("deletedAt", new BsonDateTime(System.currentTimeMillis())))));
+
+        verify(mockCachingUserRepository).invalidate(id);
+        verify(mockUsernameIndexingUserRepository).unindex(id);
+    }
+
+    @Test
+    public void handleShouldEvictTheUserWhenItIsDeleted() {
+        UUID id = UUID.randomUUID();
+
+        userChangeStreamListener.handle(event(OperationType.DELETE, id, null, null));
+
+        verify(mockCachingUserRepository).invalidate(id);
+        verify(mockUsernameIndexingUserRepository).unindex(id);
+    }
+
+    @Test
+    public void handleShouldReadIdsStoredWithTheLegacyUuidRepresentation() {
+        UUID id = UUID.randomUUID();
+        BsonDocument documentKey = new BsonDocument("_id",
+            new BsonBinary(id, UuidRepresentation.JAVA_LEGACY));
+
+        userChangeStreamListener.handle(new ChangeStreamDocument<>(OperationType.DELETE,
+            new BsonDocument(), namespace(), null, null, documentKey, null, null, null, null));
+
+        verify(mockCachingUserRepository).invalidate(id);
+    }
+
+    @Test
+    public void startShouldNotWatchTheCollectionWhenDisabled() {
+        MongoTemplate mockMongoTemplate = Mockito.mock(MongoTemplate.class);
+        userChangeStreamListener = new UserChangeStreamListener(mockMongoTemplate,
+            mockCachingUserRepository, mockUsernameFilteringUserRepository,
+            mockUsernameIndexingUserRepository, false, "user-service:localhost:8080",
+            Duration.ofSeconds(1), Duration.ofSeconds(5), meterRegistry);
+
+        userChangeStreamListener.start();
+
+        verifyNoInteractions(mockMongoTemplate);
+        assertThat(userChangeStreamListener.getResumeToken()).isNull();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void startShouldReloadTheFilterAfterOpeningAFreshStreamAndMarkItCaughtUp()
+        throws InterruptedException {
+        MongoTemplate mockMongoTemplate = Mockito.mock(MongoTemplate.class);
+        MongoCollection<Document> mockResumeTokens = Mockito.mock(MongoCollection.class);
+        FindIterable<Document> mockSavedTokens = Mockito.mock(FindIterable.class);
+        MongoCollection<Document> mockUsers = Mockito.mock(MongoCollection.class);
+        ChangeStreamIterable<Document> mockChangeStream = Mockito
+            .mock(ChangeStreamIterable.class);
+        MongoChangeStreamCursor<ChangeStreamDocument<Document>> mockCursor = Mockito
+            .mock(MongoChangeStreamCursor.class);
+        when(mockMongoTemplate.getCollection("changeStreamResumeTokens"))
+            .thenReturn(mockResumeTokens);
+        when(mockResumeTokens.find(Mockito.any(Bson.class))).thenReturn(mockSavedTokens);
+        when(mockMongoTemplate.getCollection("users")).thenReturn(mockUsers);
+        when(mockUsers.watch(Mockito.anyList())).thenReturn(mockChangeStream);
+        when(mockChangeStream.maxAwaitTime(1, TimeUnit.SECONDS)).thenReturn(mockChangeStream);
+        when(mockChangeStream.cursor()).thenReturn(mockCursor);
+        userChangeStreamListener = new UserChangeStreamListener(mockMongoTemplate,
+            mockCachingUserRepository, mockUsernameFilteringUserRepository,
+            mockUsernameIndexingUserRepository, true, "user-service:localhost:8080",
+            Duration.ofSeconds(1), Duration.ofSeconds(5), meterRegistry);
+
+        userChangeStreamListener.start();
+
+        InOrder inOrder = Mockito.inOrder(mockChangeStream, mockUsernameFilteringUserRepository);
+        inOrder.verify(mockChangeStream, timeout(1000)).cursor();
+        inOrder.verify(mockUsernameFilteringUserRepository, timeout(1000)).load();
+        inOrder.verify(mockUsernameFilteringUserRepository, timeout(1000).atLeastOnce())
+            .setCaughtUp(true);
+        userChangeStreamListener.stop();
+        verify(mockUsernameFilteringUserRepository).setCaughtUp(false);
+    }
+
+    private static ChangeStreamDocument<Document> event(OperationType operationType, UUID id,
+        Document fullDocument, UpdateDescription updateDescription) {
+        BsonDocument documentKey = new BsonDocument("_id",
+            new BsonBinary(id, UuidRepresentation.STANDARD));
+
+        return new ChangeStreamDocument<>(operationType, new BsonDocument(), namespace(), null,
+            fullDocument, documentKey, null, updateDescription, null, null);
+    }
+
+    private static BsonDocument namespace() {
+        return new BsonDocument("db", new BsonString("postit"))
+            .append("coll", new BsonString("users"));
+    }
+}
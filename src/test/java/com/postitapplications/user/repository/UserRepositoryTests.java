@@ -3,7 +3,11 @@ package com.postitapplications.user.repository;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import com.mongodb.client.result.UpdateResult;
 import com.postitapplications.user.document.User;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,8 +15,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 @DataMongoTest
@@ -22,18 +30,38 @@ public class UserRepositoryTests {
     @Autowired
     private MongoTemplate mongoTemplate;
     private UserRepository userRepository;
+    private ReadConsistency readConsistency;
 
     @BeforeEach
     public void setUp() {
         mongoTemplate.save(new User(UUID.randomUUID(), "johnSmith123", "password"));
-        userRepository = new UserRepository(mongoTemplate);
+        readConsistency = new ReadConsistency(Duration.ofSeconds(90));
+        userRepository = new UserRepository(mongoTemplate, mongoTemplate, readConsistency, false);
+        userRepository.createIndexes();
     }
 
     @AfterEach
     public void tearDown() {
+        readConsistency.clear();
         mongoTemplate.dropCollection(User.class);
     }
 
+    @Test
+    public void createIndexesShouldThrowIllegalStateExceptionWhenUsernamesAreDuplicated() {
+        mongoTemplate.dropCollection(User.class);
+        mongoTemplate.insert(new User(UUID.randomUUID(), "johnSmith123", "password"));
+        mongoTemplate.insert(new User(UUID.randomUUID(), "johnSmith123", "password"));
+        mongoTemplate.insert(new User(UUID.randomUUID(), "joanneSmith123", "password"));
+
+        Exception exception = assertThrows(IllegalStateException.class, () -> {
+            userRepository.createIndexes();
+        });
+
+        assertThat(exception.getMessage()).isEqualTo(
+            "Cannot create the unique username index as more than one user has the username "
+                + "[johnSmith123]. Rename or delete the duplicate users and restart the service");
+    }
+
     @Test
     public void findByIdShouldReturnExpectedUserWithCorrectId() {
         UUID savedUserId = mongoTemplate.findAll(User.class).get(0).getId();
@@ -86,6 +114,71 @@ public class UserRepositoryTests {
         assertThat(userRepository.removeById(UUID.randomUUID()).getDeletedCount()).isEqualTo(0);
     }
 
+    @Test
+    public void removeAllByIdsShouldRemoveEveryGivenUser() {
+        UUID savedUserId = mongoTemplate.findAll(User.class).get(0).getId();
+        User otherUser = userRepository.save(new User(null, "joanneSmith123", "password"));
+
+        assertThat(userRepository.removeAllByIds(
+            List.of(savedUserId, otherUser.getId(), UUID.randomUUID())).getDeletedCount())
+            .isEqualTo(2);
+        assertThat(mongoTemplate.findAll(User.class)).isEmpty();
+    }
+
+    @Test
+    public void removeByIdShouldLeaveATombstoneWhenSoftDeleteIsEnabled() {
+        UserRepository softDeleteRepository = new UserRepository(mongoTemplate, mongoTemplate,
+            readConsistency, true);
+        UUID savedUserId = mongoTemplate.findAll(User.class).get(0).getId();
+
+        assertThat(softDeleteRepository.removeById(savedUserId).getDeletedCount()).isEqualTo(1);
+        assertThat(mongoTemplate.findById(savedUserId, User.class).getDeletedAt()).isNotNull();
+        assertThat(softDeleteRepository.removeById(savedUserId).getDeletedCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void removeAllByIdsShouldLeaveTombstonesWhenSoftDeleteIsEnabled() {
+        UserRepository softDeleteRepository = new UserRepository(mongoTemplate, mongoTemplate,
+            readConsistency, true);
+        UUID savedUserId = mongoTemplate.findAll(User.class).get(0).getId();
+        User otherUser = userRepository.save(new User(null, "joanneSmith123", "password"));
+
+        assertThat(softDeleteRepository.removeAllByIds(
+            List.of(savedUserId, otherUser.getId(), UUID.randomUUID())).getDeletedCount())
+            .isEqualTo(2);
+        assertThat(mongoTemplate.findAll(User.class)).extracting(User::getDeletedAt)
+                                                     .doesNotContainNull();
+    }
+
+    @Test
+    public void removeByIdShouldReleaseTheUsernameWhenSoftDeleteIsEnabled() {
+        UserRepository softDeleteRepository = new UserRepository(mongoTemplate, mongoTemplate,
+            readConsistency, true);
+        User savedUser = mongoTemplate.findAll(User.class).get(0);
+
+        softDeleteRepository.removeById(savedUser.getId());
+
+        assertThat(userRepository.findTakenUsernames(List.of(savedUser.getUsername()))).isEmpty();
+        assertThat(userRepository.save(new User(null, savedUser.getUsername(), "password"))
+                                 .getUsername()).isEqualTo(savedUser.getUsername());
+        assertThat(mongoTemplate.findById(savedUser.getId(), User.class).getUsernameKey())
+            .isNull();
+    }
+
+    @Test
+    public void findsShouldExcludeSoftDeletedUsers() {
+        UserRepository softDeleteRepository = new UserRepository(mongoTemplate, mongoTemplate,
+            readConsistency, true);
+        User savedUser = mongoTemplate.findAll(User.class).get(0);
+
+        softDeleteRepository.removeById(savedUser.getId());
+
+        assertThat(userRepository.findById(savedUser.getId())).isNull();
+        assertThat(userRepository.findByUsername(savedUser.getUsername())).isNull();
+        assertThat(userRepository.findByUsernamePrefix("john", 10)).isEmpty();
+        assertThat(userRepository.update(savedUser).getMatchedCount()).isEqualTo(0);
+    }
+
     @Test
     public void updateShouldUpdateUserWithNewFields() {
         UUID savedUserId = mongoTemplate.findAll(User.class).get(0).getId();
@@ -106,6 +199,60 @@ public class UserRepositoryTests {
         assertThat(userRepository.update(nonExistingUser).getMatchedCount()).isEqualTo(0);
     }
 
+    @Test
+    public void updateAllShouldUpdateEveryUserAndReportWhichMatched() {
+        UUID savedUserId = mongoTemplate.findAll(User.class).get(0).getId();
+        User otherUser = userRepository.save(new User(null, "joanneSmith123", "password"));
+
+        List<UpdateResult> updateResults = userRepository.updateAll(
+            Arrays.asList(new User(savedUserId, "johnSmith124", "password"),
+                new User(UUID.randomUUID(), "jeffSmith123", "password"),
+                new User(otherUser.getId(), "joanneSmith124", "password")));
+
+        assertThat(updateResults).extracting(UpdateResult::getMatchedCount)
+                                 .containsExactly(1L, 0L, 1L);
+        assertThat(mongoTemplate.findById(savedUserId, User.class).getUsername())
+            .isEqualTo("johnSmith124");
+        assertThat(mongoTemplate.findById(otherUser.getId(), User.class).getUsername())
+            .isEqualTo("joanneSmith124");
+    }
+
+    @Test
+    public void updateAllShouldThrowBulkOperationExceptionWhenAUsernameAlreadyExists() {
+        User otherUser = userRepository.save(new User(null, "joanneSmith123", "password"));
+
+        assertThrows(BulkOperationException.class, () -> {
+            userRepository.updateAll(
+                List.of(new User(otherUser.getId(), "johnSmith123", "password")));
+        });
+    }
+
+    @Test
+    public void updateAllShouldThrowIllegalArgumentExceptionForVersionedUsers() {
+        UUID savedUserId = mongoTemplate.findAll(User.class).get(0).getId();
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            userRepository.updateAll(
+                List.of(new User(savedUserId, "johnSmith124", "password", 0L)));
+        });
+    }
+
+    @Test
+    public void patchShouldOnlyChangeTheGivenFieldsAndReturnTheUpdatedUser() {
+        UUID savedUserId = mongoTemplate.findAll(User.class).get(0).getId();
+        String savedPassword = mongoTemplate.findById(savedUserId, User.class).getPassword();
+
+        User patchedUser = userRepository.patch(savedUserId, null, "joanneSmith123", null);
+
+        assertThat(patchedUser.getUsername()).isEqualTo("joanneSmith123");
+        assertThat(patchedUser.getPassword()).isEqualTo(savedPassword);
+    }
+
+    @Test
+    public void patchShouldReturnNullWithInvalidId() {
+        assertThat(userRepository.patch(UUID.randomUUID(), null, "joanneSmith123", null)).isNull();
+    }
+
     @Test
     public void saveShouldAddAUserToTheUserDatabase() {
         userRepository.save(new User(null, "johnSmith001", "password"));
@@ -113,6 +260,15 @@ public class UserRepositoryTests {
         assertThat(mongoTemplate.findAll(User.class).size()).isEqualTo(2);
     }
 
+    @Test
+    public void saveShouldPinLookupsToThePrimary() {
+        assertThat(readConsistency.isPinnedToPrimary()).isFalse();
+
+        userRepository.save(new User(null, "johnSmith001", "password"));
+
+        assertThat(readConsistency.isPinnedToPrimary()).isTrue();
+    }
+
     @Test
     public void saveShouldAddAUserToTheUserDatabaseWithAGeneratedUUID() {
         mongoTemplate.dropCollection(User.class);
@@ -152,4 +308,160 @@ public class UserRepositoryTests {
 
         assertThat(exception.getMessage()).contains("Cannot autogenerate id");
     }
+
+    @Test
+    public void saveShouldThrowDuplicateKeyExceptionWhenUsernameAlreadyExists() {
+        assertThrows(DuplicateKeyException.class, () -> {
+            userRepository.save(new User(null, "johnSmith123", "password"));
+        });
+
+        assertThat(mongoTemplate.findAll(User.class).size()).isEqualTo(1);
+    }
+
+    @Test
+    public void updateShouldThrowDuplicateKeyExceptionWhenUsernameAlreadyExists() {
+        User otherUser = userRepository.save(new User(null, "joanneSmith123", "password"));
+
+        assertThrows(DuplicateKeyException.class, () -> {
+            userRepository.update(new User(otherUser.getId(), "johnSmith123", "password"));
+        });
+    }
+
+    @Test
+    public void findAllByIdsOrUsernamesShouldReturnUsersMatchingEitherKey() {
+        User otherUser = userRepository.save(new User(null, "joanneSmith123", "password"));
+
+        List<User> usersFound = userRepository
+            .findAllByIdsOrUsernames(Arrays.asList(otherUser.getId(), UUID.randomUUID()),
+                Arrays.asList("johnSmith123", "notSavedUsername"));
+
+        assertThat(usersFound).extracting(User::getUsername)
+                              .containsExactlyInAnyOrder("johnSmith123", "joanneSmith123");
+    }
+
+    @Test
+    public void findPageShouldReturnUsersAfterTheGivenValueInOrder() {
+        userRepository.save(new User(null, "aliceSmith123", "password"));
+        userRepository.save(new User(null, "zoeSmith123", "password"));
+
+        List<User> usersFound = userRepository
+            .findPage("username", "aliceSmith123", 10, List.of("id", "username"));
+
+        assertThat(usersFound).extracting(User::getUsername)
+                              .containsExactly("johnSmith123", "zoeSmith123");
+    }
+
+    @Test
+    public void findPageShouldLimitTheNumberOfUsersReturned() {
+        userRepository.save(new User(null, "zoeSmith123", "password"));
+
+        assertThat(userRepository.findPage("id", null, 1, List.of("id", "username")).size())
+            .isEqualTo(1);
+    }
+
+    @Test
+    public void findPageShouldOnlyReturnProjectedFields() {
+        User userFound = userRepository.findPage("username", null, 1, List.of("id", "username"))
+                                       .get(0);
+
+        assertThat(userFound.getId()).isNotNull();
+        assertThat(userFound.getUsername()).isEqualTo("johnSmith123");
+        assertThat(userFound.getPassword()).isNull();
+    }
+
+    @Test
+    public void findTakenUsernamesShouldReturnOnlyUsernamesThatExist() {
+        assertThat(userRepository.findTakenUsernames(Arrays.asList("johnSmith123", "johnSmith001")))
+            .containsExactly("johnSmith123");
+    }
+
+    @Test
+    public void insertAllShouldAddAllUsersToTheUserDatabase() {
+        userRepository.insertAll(
+            Arrays.asList(new User(UUID.randomUUID(), "johnSmith001", "password"),
+                new User(UUID.randomUUID(), "johnSmith002", "password")));
+
+        assertThat(mongoTemplate.findAll(User.class).size()).isEqualTo(3);
+    }
+
+    @Test
+    public void insertAllShouldInsertRemainingUsersWhenOneUsernameIsTaken() {
+        List<User> usersToInsert = Arrays.asList(
+            new User(UUID.randomUUID(), "johnSmith123", "password"),
+            new User(UUID.randomUUID(), "johnSmith002", "password"));
+
+        BulkOperationException exception = assertThrows(BulkOperationException.class, () -> {
+            userRepository.insertAll(usersToInsert);
+        });
+
+        assertThat(exception.getErrors().get(0).getIndex()).isEqualTo(0);
+        assertThat(mongoTemplate.findAll(User.class).size()).isEqualTo(2);
+    }
+
+    @Test
+    public void saveShouldInitialiseTheVersion() {
+        assertThat(userRepository.save(new User(null, "johnSmith001", "password")).getVersion())
+            .isEqualTo(0);
+    }
+
+    @Test
+    public void updateShouldIncrementTheVersion() {
+        User savedUser = mongoTemplate.findAll(User.class).get(0);
+
+        userRepository.update(new User(savedUser.getId(), "joanneSmith123", "password",
+            savedUser.getVersion()));
+
+        assertThat(mongoTemplate.findById(savedUser.getId(), User.class).getVersion())
+            .isEqualTo(savedUser.getVersion() + 1);
+    }
+
+    @Test
+    public void updateShouldNotMatchAStaleVersion() {
+        User savedUser = mongoTemplate.findAll(User.class).get(0);
+        User staleUser = new User(savedUser.getId(), "joanneSmith123", "password",
+            savedUser.getVersion() - 1);
+
+        assertThat(userRepository.update(staleUser).getMatchedCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void patchShouldReturnNullForAStaleVersion() {
+        User savedUser = mongoTemplate.findAll(User.class).get(0);
+
+        assertThat(userRepository
+            .patch(savedUser.getId(), savedUser.getVersion() + 1, "joanneSmith123", null))
+            .isNull();
+    }
+
+    @Test
+    public void findByUsernameShouldIgnoreCase() {
+        assertThat(userRepository.findByUsername("JOHNSMITH123").getUsername())
+            .isEqualTo("johnSmith123");
+    }
+
+    @Test
+    public void findByUsernameShouldFindUsersWithoutAUsernameKey() {
+        mongoTemplate.updateFirst(new Query(), new Update().unset("usernameKey"), User.class);
+
+        assertThat(userRepository.findByUsername("johnSmith123")).isNotNull();
+    }
+
+    @Test
+    public void saveShouldThrowDuplicateKeyExceptionWhenUsernameDiffersOnlyInCase() {
+        assertThrows(DuplicateKeyException.class, () -> {
+            userRepository.save(new User(null, "JohnSmith123", "password"));
+        });
+    }
+
+    @Test
+    public void findTakenUsernamesShouldReturnRequestedUsernamesTakenInAnotherCase() {
+        assertThat(userRepository.findTakenUsernames(Arrays.asList("JohnSmith123")))
+            .containsExactly("JohnSmith123");
+    }
+
+    @Test
+    public void findByUsernamePrefixShouldIgnoreCase() {
+        assertThat(userRepository.findByUsernamePrefix("JOHN", 10)).extracting(User::getUsername)
+                                                                 .containsExactly("johnSmith123");
+    }
 }
@@ -0,0 +1,92 @@
+package com.postitapplications.user.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.postitapplications.user.document.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.util.CloseableIterator;
+
+public class UsernameCatchUpTests {
+
+    private final MongoTemplate mockMongoTemplate = Mockito.mock(MongoTemplate.class);
+    private final UserRepo mockUserRepo = Mockito.mock(UserRepo.class);
+    private UsernameFilteringUserRepository usernameFilteringUserRepository;
+    private UsernameCatchUp usernameCatchUp;
+
+    @BeforeEach
+    public void setUp() {
+        usernameFilteringUserRepository = new UsernameFilteringUserRepository(mockUserRepo, 1000,
+            0.01);
+        usernameFilteringUserRepository.load();
+        usernameCatchUp = new UsernameCatchUp(mockMongoTemplate, usernameFilteringUserRepository,
+            false, Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ofMinutes(1),
+            new SimpleMeterRegistry());
+    }
+
+    @Test
+    public void catchUpShouldRecordUsernamesWrittenByOtherInstances() {
+        when(mockMongoTemplate.stream(Mockito.any(Query.class), Mockito.eq(User.class)))
+            .thenReturn(iterate(new User(UUID.randomUUID(), "joanneSmith123", null)));
+
+        usernameCatchUp.catchUp();
+
+        assertThat(usernameFilteringUserRepository.mightExist("joanneSmith123")).isTrue();
+        assertThat(usernameFilteringUserRepository.mightExist("janeSmith123")).isFalse();
+    }
+
+    @Test
+    public void catchUpShouldOnlyQueryLiveUsersModifiedSinceTheLastRun() {
+        when(mockMongoTemplate.stream(Mockito.any(Query.class), Mockito.eq(User.class)))
+            .thenReturn(iterate());
+
+        usernameCatchUp.catchUp();
+
+        verify(mockMongoTemplate).stream(Mockito.argThat(
+            (Query query) -> query.getQueryObject().containsKey("lastModified")
+                && query.getQueryObject().containsKey("deletedAt")), Mockito.eq(User.class));
+    }
+
+    @Test
+    public void filterShouldNotBeTrustedUntilTheFirstCatchUp() {
+        assertThat(usernameFilteringUserRepository.isCaughtUp()).isFalse();
+        assertThat(usernameFilteringUserRepository.mightExist("janeSmith123")).isTrue();
+    }
+
+    @Test
+    public void filterShouldNotBeTrustedOnceTheCatchUpHasFallenBehind() {
+        usernameFilteringUserRepository.markCaughtUp(Duration.ZERO);
+
+        assertThat(usernameFilteringUserRepository.isCaughtUp()).isFalse();
+    }
+
+    private static CloseableIterator<User> iterate(User... users) {
+        Iterator<User> iterator = List.of(users).iterator();
+
+        return new CloseableIterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public User next() {
+                return iterator.next();
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
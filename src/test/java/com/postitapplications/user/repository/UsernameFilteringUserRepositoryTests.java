@@ -0,0 +1,161 @@
+package com.postitapplications.user.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.postitapplications.user.document.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+@SpringBootTest
+public class UsernameFilteringUserRepositoryTests {
+
+    private UsernameFilteringUserRepository usernameFilteringUserRepository;
+    @MockBean
+    private UserRepository mockUserRepository;
+
+    @BeforeEach
+    public void setUp() {
+        doAnswer(invocation -> {
+            BiConsumer<UUID, String> consumer = invocation.getArgument(0);
+            consumer.accept(UUID.randomUUID(), "johnSmith123");
+            return null;
+        }).when(mockUserRepository).forEachUsername(Mockito.any());
+        usernameFilteringUserRepository = new UsernameFilteringUserRepository(mockUserRepository,
+            1000, 0.01);
+    }
+
+    @Test
+    public void findByUsernameShouldNotQueryTheRepositoryForUnknownUsernames() {
+        usernameFilteringUserRepository.load();
+        usernameFilteringUserRepository.setCaughtUp(true);
+
+        assertThat(usernameFilteringUserRepository.findByUsername("joanneSmith123")).isNull();
+        verify(mockUserRepository, times(0)).findByUsername("joanneSmith123");
+    }
+
+    @Test
+    public void findByUsernameShouldQueryTheRepositoryUntilTheChangeStreamHasCaughtUp() {
+        usernameFilteringUserRepository.load();
+
+        usernameFilteringUserRepository.findByUsername("joanneSmith123");
+
+        verify(mockUserRepository, times(1)).findByUsername("joanneSmith123");
+    }
+
+    @Test
+    public void findTakenUsernamesShouldQueryEveryUsernameUntilTheChangeStreamHasCaughtUp() {
+        usernameFilteringUserRepository.load();
+
+        usernameFilteringUserRepository
+            .findTakenUsernames(List.of("johnSmith123", "joanneSmith123"));
+
+        verify(mockUserRepository, times(1))
+            .findTakenUsernames(List.of("johnSmith123", "joanneSmith123"));
+    }
+
+    @Test
+    public void saveShouldNotRecordTheUsernameWhenTheTransactionRollsBack() {
+        usernameFilteringUserRepository.load();
+        usernameFilteringUserRepository.setCaughtUp(true);
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            usernameFilteringUserRepository
+                .save(UUID.randomUUID(), new User(null, "joanneSmith123", "password"));
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                TransactionSynchronizationManager.getSynchronizations(),
+                TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(usernameFilteringUserRepository.mightExist("joanneSmith123")).isFalse();
+    }
+
+    @Test
+    public void findByUsernameShouldQueryTheRepositoryForLoadedUsernames() {
+        User savedUser = new User(UUID.randomUUID(), "johnSmith123", "password");
+        when(mockUserRepository.findByUsername("johnSmith123")).thenReturn(savedUser);
+        usernameFilteringUserRepository.load();
+
+        assertThat(usernameFilteringUserRepository.findByUsername("johnSmith123"))
+            .isEqualTo(savedUser);
+    }
+
+    @Test
+    public void findByUsernameShouldQueryTheRepositoryForLoadedUsernamesInAnotherCase() {
+        usernameFilteringUserRepository.load();
+
+        usernameFilteringUserRepository.findByUsername("JohnSmith123");
+
+        verify(mockUserRepository, times(1)).findByUsername("JohnSmith123");
+    }
+
+    @Test
+    public void findByUsernameShouldQueryTheRepositoryForSavedUsernames() {
+        usernameFilteringUserRepository.load();
+        usernameFilteringUserRepository.save(new User(null, "joanneSmith123", "password"));
+
+        usernameFilteringUserRepository.findByUsername("joanneSmith123");
+
+        verify(mockUserRepository, times(1)).findByUsername("joanneSmith123");
+    }
+
+    @Test
+    public void findByUsernameShouldQueryTheRepositoryUntilUsernamesAreLoaded() {
+        usernameFilteringUserRepository.findByUsername("joanneSmith123");
+
+        verify(mockUserRepository, times(1)).findByUsername("joanneSmith123");
+    }
+
+    @Test
+    public void findTakenUsernamesShouldOnlyQueryPossiblyTakenUsernames() {
+        usernameFilteringUserRepository.load();
+        usernameFilteringUserRepository.setCaughtUp(true);
+
+        usernameFilteringUserRepository
+            .findTakenUsernames(List.of("johnSmith123", "joanneSmith123"));
+
+        verify(mockUserRepository, times(1)).findTakenUsernames(List.of("johnSmith123"));
+    }
+
+    @Test
+    public void findTakenUsernamesShouldNotQueryTheRepositoryWhenNoUsernameIsPossiblyTaken() {
+        usernameFilteringUserRepository.load();
+        usernameFilteringUserRepository.setCaughtUp(true);
+
+        assertThat(usernameFilteringUserRepository.findTakenUsernames(List.of("joanneSmith123")))
+            .isEqualTo(Set.of());
+        verify(mockUserRepository, times(0)).findTakenUsernames(Mockito.any());
+    }
+
+    @Test
+    public void bindToShouldCountChecksAnsweredByTheFilter() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        usernameFilteringUserRepository.bindTo(meterRegistry);
+        usernameFilteringUserRepository.load();
+        usernameFilteringUserRepository.setCaughtUp(true);
+
+        usernameFilteringUserRepository.findByUsername("joanneSmith123");
+
+        assertThat(meterRegistry.get("user.username.filter.checks").tag("result", "absent")
+                                .counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("user.username.filter.usernames").gauge().value())
+            .isEqualTo(1);
+    }
+}
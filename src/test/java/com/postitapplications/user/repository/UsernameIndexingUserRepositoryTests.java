@@ -0,0 +1,171 @@
+package com.postitapplications.user.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import com.postitapplications.user.document.User;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.mongodb.BulkOperationException;
+
+@SpringBootTest
+public class UsernameIndexingUserRepositoryTests {
+
+    private final UUID johnId = UUID.randomUUID();
+    private UsernameIndexingUserRepository usernameIndexingUserRepository;
+    @MockBean
+    private UserRepository mockUserRepository;
+
+    @BeforeEach
+    public void setUp() {
+        doAnswer(invocation -> {
+            BiConsumer<UUID, String> consumer = invocation.getArgument(0);
+            consumer.accept(johnId, "johnSmith");
+            consumer.accept(UUID.randomUUID(), "joanneSmith");
+            consumer.accept(UUID.randomUUID(), "johnnyCash");
+            return null;
+        }).when(mockUserRepository).forEachUsername(Mockito.any());
+        usernameIndexingUserRepository = new UsernameIndexingUserRepository(mockUserRepository,
+            true);
+    }
+
+    @Test
+    public void findByUsernamePrefixShouldReturnMatchingUsernamesInOrder() {
+        usernameIndexingUserRepository.load();
+        usernameIndexingUserRepository.setCaughtUp(true);
+
+        assertThat(usernameIndexingUserRepository.findByUsernamePrefix("john", 10))
+            .extracting(User::getUsername).containsExactly("johnnyCash", "johnSmith");
+        verify(mockUserRepository, times(0)).findByUsernamePrefix(Mockito.any(), Mockito.anyInt());
+    }
+
+    @Test
+    public void findByUsernamePrefixShouldIgnoreCase() {
+        usernameIndexingUserRepository.load();
+        usernameIndexingUserRepository.setCaughtUp(true);
+
+        assertThat(usernameIndexingUserRepository.findByUsernamePrefix("JOHNS", 10))
+            .extracting(User::getUsername).containsExactly("johnSmith");
+    }
+
+    @Test
+    public void findByUsernamePrefixShouldApplyTheLimit() {
+        usernameIndexingUserRepository.load();
+        usernameIndexingUserRepository.setCaughtUp(true);
+
+        assertThat(usernameIndexingUserRepository.findByUsernamePrefix("jo", 2))
+            .extracting(User::getUsername).containsExactly("joanneSmith", "johnnyCash");
+    }
+
+    @Test
+    public void updateAllShouldReindexOnlyTheUsersThatMatched() {
+        usernameIndexingUserRepository.load();
+        usernameIndexingUserRepository.setCaughtUp(true);
+        when(mockUserRepository.updateAll(Mockito.any()))
+            .thenReturn(List.of(UpdateResult.acknowledged(1, 1L, null),
+                UpdateResult.acknowledged(0, 0L, null)));
+
+        usernameIndexingUserRepository.updateAll(List.of(new User(johnId, "jackSmith", "password"),
+            new User(UUID.randomUUID(), "jillSmith", "password")));
+
+        assertThat(usernameIndexingUserRepository.findByUsernamePrefix("j", 10))
+            .extracting(User::getUsername)
+            .containsExactly("jackSmith", "joanneSmith", "johnnyCash");
+    }
+
+    @Test
+    public void findByUsernamePrefixShouldQueryTheRepositoryUntilUsernamesAreLoaded() {
+        usernameIndexingUserRepository.findByUsernamePrefix("john", 10);
+
+        verify(mockUserRepository, times(1)).findByUsernamePrefix("john", 10);
+    }
+
+    @Test
+    public void findByUsernamePrefixShouldQueryTheRepositoryUntilTheChangeStreamHasCaughtUp() {
+        usernameIndexingUserRepository.load();
+
+        usernameIndexingUserRepository.findByUsernamePrefix("john", 10);
+
+        verify(mockUserRepository, times(1)).findByUsernamePrefix("john", 10);
+    }
+
+    @Test
+    public void onApplicationReadyShouldNotLoadUsernamesWithoutTheChangeStream() {
+        UsernameIndexingUserRepository unmaintainedRepository =
+            new UsernameIndexingUserRepository(mockUserRepository, false);
+
+        unmaintainedRepository.onApplicationReady();
+
+        assertThat(unmaintainedRepository.isLoaded()).isFalse();
+        verify(mockUserRepository, times(0)).forEachUsername(Mockito.any());
+    }
+
+    @Test
+    public void findByUsernamePrefixShouldReflectRenamedUsers() {
+        UpdateResult updateResult = Mockito.mock(UpdateResult.class);
+        when(updateResult.getMatchedCount()).thenReturn(1L);
+        when(mockUserRepository.update(Mockito.any())).thenReturn(updateResult);
+        usernameIndexingUserRepository.load();
+        usernameIndexingUserRepository.setCaughtUp(true);
+
+        usernameIndexingUserRepository.update(new User(johnId, "jackSmith", "password"));
+
+        assertThat(usernameIndexingUserRepository.findByUsernamePrefix("j", 10))
+            .extracting(User::getUsername)
+            .containsExactly("jackSmith", "joanneSmith", "johnnyCash");
+    }
+
+    @Test
+    public void findByUsernamePrefixShouldNotReturnRemovedUsers() {
+        DeleteResult deleteResult = Mockito.mock(DeleteResult.class);
+        when(deleteResult.getDeletedCount()).thenReturn(1L);
+        when(mockUserRepository.removeById(johnId)).thenReturn(deleteResult);
+        usernameIndexingUserRepository.load();
+        usernameIndexingUserRepository.setCaughtUp(true);
+
+        usernameIndexingUserRepository.removeById(johnId);
+
+        assertThat(usernameIndexingUserRepository.findByUsernamePrefix("john", 10))
+            .extracting(User::getUsername).containsExactly("johnnyCash");
+    }
+
+    @Test
+    public void insertAllShouldOnlyIndexUsersThatWereInserted() {
+        BulkWriteError duplicateKeyError = new BulkWriteError(11000, "E11000 duplicate key error",
+            new BsonDocument(), 1);
+        MongoBulkWriteException bulkWriteException = new MongoBulkWriteException(
+            BulkWriteResult.unacknowledged(), Collections.singletonList(duplicateKeyError), null,
+            new ServerAddress());
+        when(mockUserRepository.insertAll(Mockito.any()))
+            .thenThrow(new BulkOperationException("Bulk write failed", bulkWriteException));
+        usernameIndexingUserRepository.load();
+        usernameIndexingUserRepository.setCaughtUp(true);
+
+        assertThrows(BulkOperationException.class, () -> {
+            usernameIndexingUserRepository.insertAll(
+                List.of(new User(UUID.randomUUID(), "jillSmith", "password"),
+                    new User(UUID.randomUUID(), "jimSmith", "password")));
+        });
+
+        assertThat(usernameIndexingUserRepository.findByUsernamePrefix("ji", 10))
+            .extracting(User::getUsername).containsExactly("jillSmith");
+    }
+}
@@ -0,0 +1,109 @@
+package com.postitapplications.user.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.postitapplications.user.document.User;
+import com.postitapplications.user.dto.BackfillResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
+
+public class UsernameKeyBackfillTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MongoTemplate mockMongoTemplate = Mockito.mock(MongoTemplate.class);
+    private final BulkOperations mockBulkOperations = Mockito.mock(BulkOperations.class);
+    private UsernameKeyBackfill usernameKeyBackfill;
+
+    @BeforeEach
+    public void setUp() {
+        List<User> users = List.of(new User(UUID.randomUUID(), "JohnSmith1", "password"),
+            new User(UUID.randomUUID(), "JohnSmith2", "password"),
+            new User(UUID.randomUUID(), "JohnSmith3", "password"));
+        when(mockMongoTemplate.stream(Mockito.any(Query.class), Mockito.eq(User.class)))
+            .thenReturn(closeableIterator(users.iterator()));
+        when(mockMongoTemplate.bulkOps(BulkMode.UNORDERED, User.class))
+            .thenReturn(mockBulkOperations);
+        usernameKeyBackfill = new UsernameKeyBackfill(mockMongoTemplate, 2, false,
+            meterRegistry);
+    }
+
+    @Test
+    public void backfillShouldWriteTheUsernameKeyInBatches() {
+        when(mockBulkOperations.execute())
+            .thenReturn(BulkWriteResult.acknowledged(0, 2, 0, 2, List.of(), List.of()),
+                BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of()));
+
+        BackfillResult result = usernameKeyBackfill.backfill();
+
+        assertThat(result.getUpdated()).isEqualTo(3);
+        verify(mockBulkOperations, times(2)).execute();
+        verify(mockBulkOperations, times(1))
+            .updateOne(Mockito.any(Query.class), Mockito.eq(Update.update("usernameKey",
+                "johnsmith1")));
+    }
+
+    @Test
+    public void backfillShouldCountDuplicateKeysAsConflicts() {
+        BulkWriteError duplicateKeyError = new BulkWriteError(11000, "E11000 duplicate key error",
+            new BsonDocument(), 1);
+        MongoBulkWriteException bulkWriteException = new MongoBulkWriteException(
+            BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of()),
+            Collections.singletonList(duplicateKeyError), null, new ServerAddress());
+        when(mockBulkOperations.execute())
+            .thenThrow(new BulkOperationException("Bulk write failed", bulkWriteException))
+            .thenReturn(BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of()));
+
+        BackfillResult result = usernameKeyBackfill.backfill();
+
+        assertThat(result.getUpdated()).isEqualTo(2);
+        assertThat(result.getConflicts()).isEqualTo(1);
+        assertThat(meterRegistry.get("user.username.key.backfill").tag("result", "conflict")
+                                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void onApplicationReadyShouldNotBackfillWhenDisabled() {
+        usernameKeyBackfill.onApplicationReady();
+
+        verify(mockMongoTemplate, times(0)).stream(Mockito.any(Query.class), Mockito.any());
+    }
+
+    private static CloseableIterator<User> closeableIterator(Iterator<User> iterator) {
+        return new CloseableIterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public User next() {
+                return iterator.next();
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
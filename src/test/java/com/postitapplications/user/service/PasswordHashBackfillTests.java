@@ -0,0 +1,126 @@
+package com.postitapplications.user.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.postitapplications.user.document.User;
+import com.postitapplications.user.dto.BackfillResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+public class PasswordHashBackfillTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MongoTemplate mockMongoTemplate = Mockito.mock(MongoTemplate.class);
+    private final BulkOperations mockBulkOperations = Mockito.mock(BulkOperations.class);
+    private final PasswordHasher passwordHasher = new PasswordHasher(4, 1, 10,
+        new SimpleMeterRegistry());
+    private PasswordHashBackfill passwordHashBackfill;
+
+    @BeforeEach
+    public void setUp() {
+        List<User> users = List.of(new User(UUID.randomUUID(), null, "password1"),
+            new User(UUID.randomUUID(), null, "password2"),
+            new User(UUID.randomUUID(), null, "password3"));
+        when(mockMongoTemplate.stream(Mockito.any(Query.class), Mockito.eq(User.class)))
+            .thenReturn(closeableIterator(users.iterator()));
+        when(mockMongoTemplate.bulkOps(BulkMode.UNORDERED, User.class))
+            .thenReturn(mockBulkOperations);
+        passwordHashBackfill = new PasswordHashBackfill(mockMongoTemplate, passwordHasher, 2,
+            false, meterRegistry);
+    }
+
+    @Test
+    public void backfillShouldReplacePlaintextPasswordsWithHashesInBatches() {
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        when(mockBulkOperations.execute())
+            .thenReturn(BulkWriteResult.acknowledged(0, 2, 0, 2, List.of(), List.of()),
+                BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of()));
+
+        BackfillResult result = passwordHashBackfill.backfill();
+
+        assertThat(result.getUpdated()).isEqualTo(3);
+        verify(mockBulkOperations, times(2)).execute();
+        verify(mockBulkOperations, times(3)).updateOne(Mockito.any(Query.class),
+            updates.capture());
+        String hashedPassword = (String) updates.getAllValues().get(0).getUpdateObject()
+                                                .get("$set", Document.class)
+                                                .get("password");
+        assertThat(new BCryptPasswordEncoder().matches("password1", hashedPassword)).isTrue();
+    }
+
+    @Test
+    public void backfillShouldCountPasswordsChangedConcurrentlyAsConflicts() {
+        when(mockBulkOperations.execute())
+            .thenReturn(BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of()),
+                BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of()));
+
+        BackfillResult result = passwordHashBackfill.backfill();
+
+        assertThat(result.getUpdated()).isEqualTo(2);
+        assertThat(result.getConflicts()).isEqualTo(1);
+        assertThat(meterRegistry.get("user.password.backfill").tag("result", "conflict")
+                                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void onApplicationReadyShouldNotBackfillWhenDisabled() {
+        passwordHashBackfill.onApplicationReady();
+
+        verify(mockMongoTemplate, times(0)).stream(Mockito.any(Query.class), Mockito.any());
+    }
+
+    @Test
+    public void onApplicationReadyShouldBackfillOffTheCallingThread() {
+        Thread callingThread = Thread.currentThread();
+        List<Thread> backfillThreads = new CopyOnWriteArrayList<>();
+        when(mockBulkOperations.execute()).thenAnswer(invocation -> {
+            backfillThreads.add(Thread.currentThread());
+            return BulkWriteResult.acknowledged(0, 2, 0, 2, List.of(), List.of());
+        });
+        passwordHashBackfill = new PasswordHashBackfill(mockMongoTemplate, passwordHasher, 2,
+            true, meterRegistry);
+
+        passwordHashBackfill.onApplicationReady();
+
+        verify(mockBulkOperations, timeout(5000).times(2)).execute();
+        assertThat(backfillThreads).doesNotContain(callingThread);
+    }
+
+    private static CloseableIterator<User> closeableIterator(Iterator<User> iterator) {
+        return new CloseableIterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public User next() {
+                return iterator.next();
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
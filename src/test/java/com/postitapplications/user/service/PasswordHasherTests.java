@@ -0,0 +1,93 @@
+package com.postitapplications.user.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.postitapplications.user.exception.HashingUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+public class PasswordHasherTests {
+
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    private MeterRegistry meterRegistry;
+    private PasswordHasher passwordHasher;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        passwordHasher = new PasswordHasher(4, 2, 10, meterRegistry);
+    }
+
+    @Test
+    public void hashShouldReturnABCryptHashOfThePassword() {
+        String hashedPassword = passwordHasher.hash("password");
+
+        assertThat(hashedPassword).startsWith("$2a$04$");
+        assertThat(passwordEncoder.matches("password", hashedPassword)).isTrue();
+    }
+
+    @Test
+    public void hashShouldRecordTheHashTime() {
+        passwordHasher.hash("password");
+
+        assertThat(meterRegistry.get("user.password.hash").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void hashIfPlainShouldReturnAnAlreadyHashedPasswordUnchanged() {
+        String hashedPassword = passwordHasher.hash("password");
+
+        assertThat(passwordHasher.hashIfPlain(hashedPassword)).isEqualTo(hashedPassword);
+    }
+
+    @Test
+    public void hashIfPlainShouldHashAPlainPassword() {
+        String hashedPassword = passwordHasher.hashIfPlain("password");
+
+        assertThat(passwordEncoder.matches("password", hashedPassword)).isTrue();
+    }
+
+    @Test
+    public void isHashedShouldOnlyMatchBCryptHashes() {
+        assertThat(PasswordHasher.isHashed(passwordHasher.hash("password"))).isTrue();
+        assertThat(PasswordHasher.isHashed("password")).isFalse();
+        assertThat(PasswordHasher.isHashed("$2a$10$tooShort")).isFalse();
+        assertThat(PasswordHasher.isHashed(null)).isFalse();
+    }
+
+    @Test
+    public void hashAllShouldReturnHashesInTheSameOrderAsThePasswords() {
+        List<String> passwords = List.of("password1", "password2", "password3");
+
+        List<String> hashedPasswords = passwordHasher.hashAll(passwords);
+
+        assertThat(hashedPasswords).hasSize(3);
+        for (int index = 0; index < passwords.size(); index++) {
+            assertThat(passwordEncoder.matches(passwords.get(index), hashedPasswords.get(index)))
+                .isTrue();
+        }
+    }
+
+    @Test
+    public void hashAsyncShouldThrowHashingUnavailableExceptionWhenTheQueueIsFull() {
+        PasswordHasher saturatedPasswordHasher = new PasswordHasher(12, 1, 1,
+            new SimpleMeterRegistry());
+        List<Object> pendingHashes = new ArrayList<>();
+
+        Exception exception = assertThrows(HashingUnavailableException.class, () -> {
+            for (int index = 0; index < 10; index++) {
+                pendingHashes.add(saturatedPasswordHasher.hashAsync("password"));
+            }
+        });
+
+        assertThat(exception.getMessage())
+            .isEqualTo("Password hashing is at capacity, please try again later");
+        saturatedPasswordHasher.shutdown();
+    }
+}
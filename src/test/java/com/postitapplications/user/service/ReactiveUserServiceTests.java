@@ -0,0 +1,160 @@
+package com.postitapplications.user.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import com.postitapplications.exception.exceptions.NullOrEmptyException;
+import com.postitapplications.exception.exceptions.UsernameTakenException;
+import com.postitapplications.exception.exceptions.ValidationException;
+import com.postitapplications.user.document.User;
+import com.postitapplications.user.document.UserEvent;
+import com.postitapplications.user.document.UserEvent.Type;
+import com.postitapplications.user.repository.ReactiveUserEventRepository;
+import com.postitapplications.user.repository.ReactiveUserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DuplicateKeyException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@SpringBootTest
+public class ReactiveUserServiceTests {
+
+    private ReactiveUserService reactiveUserService;
+    @MockBean
+    private ReactiveUserRepository mockReactiveUserRepository;
+    @MockBean
+    private ReactiveUserEventRepository mockReactiveUserEventRepository;
+
+    @BeforeEach
+    public void setUp() {
+        when(mockReactiveUserEventRepository.append(Mockito.any()))
+            .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        reactiveUserService = new ReactiveUserService(mockReactiveUserRepository,
+            new PasswordHasher(4, 1, 10, new SimpleMeterRegistry()),
+            new ReactiveUserEventOutbox(mockReactiveUserEventRepository, null));
+    }
+
+    @Test
+    public void saveUserShouldReturnSavedUserOnSuccessfulSave() {
+        User expectedUser = new User(UUID.randomUUID(), "johnSmith123", "hashedPassword");
+        when(mockReactiveUserRepository.save(Mockito.any(User.class)))
+            .thenReturn(Mono.just(expectedUser));
+
+        StepVerifier
+            .create(reactiveUserService.saveUser(new User(null, "johnSmith123", "password")))
+            .expectNext(expectedUser).verifyComplete();
+    }
+
+    @Test
+    public void saveUserShouldRecordACreatedEvent() {
+        User expectedUser = new User(UUID.randomUUID(), "johnSmith123", "hashedPassword");
+        when(mockReactiveUserRepository.save(Mockito.any(User.class)))
+            .thenReturn(Mono.just(expectedUser));
+
+        StepVerifier
+            .create(reactiveUserService.saveUser(new User(null, "johnSmith123", "password")))
+            .expectNext(expectedUser).verifyComplete();
+
+        ArgumentCaptor<UserEvent> userEvent = ArgumentCaptor.forClass(UserEvent.class);
+        verify(mockReactiveUserEventRepository).append(userEvent.capture());
+        assertThat(userEvent.getValue().getType()).isEqualTo(Type.CREATED);
+        assertThat(userEvent.getValue().getUserId()).isEqualTo(expectedUser.getId());
+    }
+
+    @Test
+    public void deleteUserByIdShouldNotRecordAnEventWhenNothingWasDeleted() {
+        UUID id = UUID.randomUUID();
+        when(mockReactiveUserRepository.removeById(id))
+            .thenReturn(Mono.just(DeleteResult.acknowledged(0)));
+
+        StepVerifier.create(reactiveUserService.deleteUserById(id))
+                    .expectNextMatches(deleteResult -> deleteResult.getDeletedCount() == 0)
+                    .verifyComplete();
+
+        verify(mockReactiveUserEventRepository, never()).append(Mockito.any());
+    }
+
+    @Test
+    public void saveUserShouldErrorWithValidationExceptionWhenUserIsNull() {
+        StepVerifier.create(reactiveUserService.saveUser(null))
+                    .expectErrorSatisfies(exception -> assertThat(exception)
+                        .isInstanceOf(ValidationException.class).hasMessage("User cannot be null"))
+                    .verify();
+    }
+
+    @Test
+    public void saveUserShouldErrorWithUsernameTakenExceptionWhenUserUsernameAlreadyExists() {
+        when(mockReactiveUserRepository.save(Mockito.any(User.class)))
+            .thenReturn(Mono.error(new DuplicateKeyException("E11000 duplicate key error")));
+
+        StepVerifier
+            .create(reactiveUserService.saveUser(new User(null, "johnSmith123", "password")))
+            .expectErrorMessage("Cannot save user as johnSmith123 is already taken")
+            .verify();
+    }
+
+    @Test
+    public void getUserByIdShouldReturnAUserWhenUserExists() {
+        UUID savedUserId = UUID.randomUUID();
+        User savedUser = new User(savedUserId, "johnSmith123", "password");
+        when(mockReactiveUserRepository.findById(savedUserId)).thenReturn(Mono.just(savedUser));
+
+        StepVerifier.create(reactiveUserService.getUserById(savedUserId)).expectNext(savedUser)
+                    .verifyComplete();
+    }
+
+    @Test
+    public void getUserByIdShouldErrorWithValidationExceptionWhenUsingNullId() {
+        StepVerifier.create(reactiveUserService.getUserById(null))
+                    .expectError(ValidationException.class).verify();
+    }
+
+    @Test
+    public void getUserByUsernameShouldErrorWithNullOrEmptyExceptionWhenUsernameIsEmpty() {
+        StepVerifier.create(reactiveUserService.getUserByUsername(""))
+                    .expectError(NullOrEmptyException.class).verify();
+    }
+
+    @Test
+    public void updateUserShouldReturnUpdateResultWhenUsingAValidUser() {
+        User updatedUser = new User(UUID.randomUUID(), "jeffSmith123", "password");
+        UpdateResult mockUpdateResult = Mockito.mock(UpdateResult.class);
+        when(mockReactiveUserRepository.update(Mockito.any(User.class)))
+            .thenReturn(Mono.just(mockUpdateResult));
+
+        StepVerifier.create(reactiveUserService.updateUser(updatedUser))
+                    .expectNext(mockUpdateResult).verifyComplete();
+    }
+
+    @Test
+    public void updateUserShouldErrorWithUsernameTakenExceptionWhenUserUsernameAlreadyExists() {
+        when(mockReactiveUserRepository.update(Mockito.any(User.class)))
+            .thenReturn(Mono.error(new DuplicateKeyException("E11000 duplicate key error")));
+
+        StepVerifier.create(
+            reactiveUserService.updateUser(new User(UUID.randomUUID(), "johnSmith123", "password")))
+                    .expectError(UsernameTakenException.class).verify();
+    }
+
+    @Test
+    public void deleteUserByIdShouldReturnDeleteResultWhenUsingAValidId() {
+        UUID deletedUserId = UUID.randomUUID();
+        DeleteResult mockDeleteResult = Mockito.mock(DeleteResult.class);
+        when(mockReactiveUserRepository.removeById(deletedUserId))
+            .thenReturn(Mono.just(mockDeleteResult));
+
+        StepVerifier.create(reactiveUserService.deleteUserById(deletedUserId))
+                    .expectNext(mockDeleteResult).verifyComplete();
+    }
+}
@@ -0,0 +1,152 @@
+package com.postitapplications.user.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.postitapplications.exception.exceptions.NullOrEmptyException;
+import com.postitapplications.exception.exceptions.ValidationException;
+import com.postitapplications.user.document.User;
+import com.postitapplications.user.dto.AuthenticationRequest;
+import com.postitapplications.user.exception.AuthenticationFailedException;
+import com.postitapplications.user.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+@SpringBootTest
+public class UserAuthenticationServiceTests {
+
+    private UserAuthenticationService userAuthenticationService;
+    private PasswordHasher passwordHasher;
+    private User savedUser;
+    @MockBean
+    private UserRepository mockUserRepository;
+
+    @BeforeEach
+    public void setUp() {
+        passwordHasher = Mockito.spy(new PasswordHasher(4, 1, 10, new SimpleMeterRegistry()));
+        savedUser = new User(UUID.randomUUID(), "johnSmith123", passwordHasher.hash("password"));
+        when(mockUserRepository.findByUsername("johnSmith123")).thenReturn(savedUser);
+        userAuthenticationService = new UserAuthenticationService(mockUserRepository,
+            passwordHasher, Duration.ofSeconds(10), 100);
+    }
+
+    @Test
+    public void authenticateShouldReturnTheUserWithoutItsPasswordOnAMatch() {
+        User authenticatedUser = userAuthenticationService
+            .authenticate(new AuthenticationRequest("johnSmith123", "password"));
+
+        assertThat(authenticatedUser.getId()).isEqualTo(savedUser.getId());
+        assertThat(authenticatedUser.getPassword()).isNull();
+    }
+
+    @Test
+    public void authenticateShouldThrowAuthenticationFailedExceptionForAWrongPassword() {
+        Exception exception = assertThrows(AuthenticationFailedException.class, () -> {
+            userAuthenticationService
+                .authenticate(new AuthenticationRequest("johnSmith123", "wrongPassword"));
+        });
+
+        assertThat(exception.getMessage()).isEqualTo("Username or password is incorrect");
+    }
+
+    @Test
+    public void authenticateShouldThrowAuthenticationFailedExceptionForAnUnknownUser() {
+        Exception exception = assertThrows(AuthenticationFailedException.class, () -> {
+            userAuthenticationService
+                .authenticate(new AuthenticationRequest("unknownUser", "password"));
+        });
+
+        assertThat(exception.getMessage()).isEqualTo("Username or password is incorrect");
+    }
+
+    @Test
+    public void authenticateShouldOnlyCheckTheHashOnceForRepeatedLogins() {
+        AuthenticationRequest authenticationRequest = new AuthenticationRequest("johnSmith123",
+            "password");
+
+        userAuthenticationService.authenticate(authenticationRequest);
+        userAuthenticationService.authenticate(authenticationRequest);
+
+        verify(passwordHasher, times(1)).matches("password", savedUser.getPassword());
+    }
+
+    @Test
+    public void authenticateShouldCheckTheHashAgainWhenThePasswordChanges() {
+        AuthenticationRequest authenticationRequest = new AuthenticationRequest("johnSmith123",
+            "password");
+        userAuthenticationService.authenticate(authenticationRequest);
+        User updatedUser = new User(savedUser.getId(), "johnSmith123",
+            passwordHasher.hash("newPassword"));
+        when(mockUserRepository.findByUsername("johnSmith123")).thenReturn(updatedUser);
+
+        assertThrows(AuthenticationFailedException.class, () -> {
+            userAuthenticationService.authenticate(authenticationRequest);
+        });
+    }
+
+    @Test
+    public void authenticateShouldAcceptALegacyPlaintextPasswordAndHashIt() {
+        User legacyUser = new User(UUID.randomUUID(), "legacyUser", "password", 2L);
+        ArgumentCaptor<String> hashedPassword = ArgumentCaptor.forClass(String.class);
+        when(mockUserRepository.findByUsername("legacyUser")).thenReturn(legacyUser);
+
+        User authenticatedUser = userAuthenticationService
+            .authenticate(new AuthenticationRequest("legacyUser", "password"));
+
+        assertThat(authenticatedUser.getId()).isEqualTo(legacyUser.getId());
+        verify(mockUserRepository).patch(Mockito.eq(legacyUser.getId()), Mockito.eq(2L),
+            Mockito.isNull(), hashedPassword.capture());
+        assertThat(PasswordHasher.isHashed(hashedPassword.getValue())).isTrue();
+    }
+
+    @Test
+    public void authenticateShouldRejectAWrongPasswordForALegacyPlaintextPassword() {
+        when(mockUserRepository.findByUsername("legacyUser"))
+            .thenReturn(new User(UUID.randomUUID(), "legacyUser", "password"));
+
+        assertThrows(AuthenticationFailedException.class, () -> {
+            userAuthenticationService
+                .authenticate(new AuthenticationRequest("legacyUser", "wrongPassword"));
+        });
+        verify(mockUserRepository, never()).patch(Mockito.any(), Mockito.any(), Mockito.any(),
+            Mockito.any());
+    }
+
+    @Test
+    public void authenticateShouldNotRehashAPasswordThatIsAlreadyHashed() {
+        userAuthenticationService.authenticate(new AuthenticationRequest("johnSmith123",
+            "password"));
+
+        verify(mockUserRepository, never()).patch(Mockito.any(), Mockito.any(), Mockito.any(),
+            Mockito.any());
+    }
+
+    @Test
+    public void authenticateShouldThrowValidationExceptionWhenRequestIsNull() {
+        Exception exception = assertThrows(ValidationException.class, () -> {
+            userAuthenticationService.authenticate(null);
+        });
+
+        assertThat(exception.getMessage()).isEqualTo("Authentication request cannot be null");
+    }
+
+    @Test
+    public void authenticateShouldThrowNullOrEmptyExceptionWhenPasswordIsEmpty() {
+        Exception exception = assertThrows(NullOrEmptyException.class, () -> {
+            userAuthenticationService.authenticate(new AuthenticationRequest("johnSmith123", ""));
+        });
+
+        assertThat(exception.getMessage()).isEqualTo("User's password cannot be null or empty");
+    }
+}
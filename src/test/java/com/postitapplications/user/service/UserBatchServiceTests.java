@@ -0,0 +1,361 @@
+package com.postitapplications.user.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.ClientSession;
+import com.postitapplications.exception.exceptions.NullOrEmptyException;
+import com.postitapplications.exception.exceptions.ValidationException;
+import com.postitapplications.user.document.User;
+import com.postitapplications.user.document.UserEvent;
+import com.postitapplications.user.document.UserEvent.Type;
+import com.postitapplications.user.dto.BatchDeleteResult;
+import com.postitapplications.user.dto.BatchItemResult.Status;
+import com.postitapplications.user.dto.BatchSaveResult;
+import com.postitapplications.user.dto.UserLookupRequest;
+import com.postitapplications.user.repository.UserEventRepository;
+import com.postitapplications.user.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+
+@SpringBootTest
+public class UserBatchServiceTests {
+
+    private final PasswordHasher passwordHasher = new PasswordHasher(4, 1, 10,
+        new SimpleMeterRegistry());
+    private UserBatchService userBatchService;
+    @MockBean
+    private UserRepository mockUserRepository;
+    @MockBean
+    private UserEventRepository mockUserEventRepository;
+
+    @Test
+    public void saveUsersShouldReturnCreatedResultsOnSuccessfulSave() {
+        when(mockUserRepository.findTakenUsernames(Mockito.any())).thenReturn(Set.of());
+        userBatchService = newUserBatchService(1000, 10000, 500);
+
+        BatchSaveResult result = userBatchService.saveUsers(
+            Arrays.asList(new User(null, "johnSmith123", "password"),
+                new User(null, "joanneSmith123", "password")));
+
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getItems().get(0).getId()).isNotNull();
+        assertThat(result.getItems().get(1).getUsername()).isEqualTo("joanneSmith123");
+    }
+
+    @Test
+    public void saveUsersShouldReportInvalidUsersWithoutSavingThem() {
+        when(mockUserRepository.findTakenUsernames(Mockito.any())).thenReturn(Set.of());
+        userBatchService = newUserBatchService(1000, 10000, 500);
+
+        BatchSaveResult result = userBatchService.saveUsers(
+            Arrays.asList(new User(null, "johnSmith123", "password"), null,
+                new User(null, "", "password")));
+
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getInvalid()).isEqualTo(2);
+        assertThat(result.getItems().get(1).getMessage()).isEqualTo("User cannot be null");
+        assertThat(result.getItems().get(2).getMessage())
+            .isEqualTo("User's username cannot be null or empty");
+    }
+
+    @Test
+    public void saveUsersShouldReportConflictsForUsernamesDuplicatedInTheBatch() {
+        when(mockUserRepository.findTakenUsernames(Mockito.any())).thenReturn(Set.of());
+        userBatchService = newUserBatchService(1000, 10000, 500);
+
+        BatchSaveResult result = userBatchService.saveUsers(
+            Arrays.asList(new User(null, "johnSmith123", "password"),
+                new User(null, "johnSmith123", "password")));
+
+        assertThat(result.getItems().get(0).getStatus()).isEqualTo(Status.CREATED);
+        assertThat(result.getItems().get(1).getStatus()).isEqualTo(Status.CONFLICT);
+        assertThat(result.getItems().get(1).getMessage())
+            .isEqualTo("Cannot save user as johnSmith123 is duplicated in the batch");
+    }
+
+    @Test
+    public void saveUsersShouldReportConflictsForUsernamesDifferingOnlyInCase() {
+        when(mockUserRepository.findTakenUsernames(Mockito.any())).thenReturn(Set.of());
+        userBatchService = newUserBatchService(1000, 10000, 500);
+
+        BatchSaveResult result = userBatchService.saveUsers(
+            Arrays.asList(new User(null, "johnSmith123", "password"),
+                new User(null, "JohnSmith123", "password")));
+
+        assertThat(result.getItems().get(0).getStatus()).isEqualTo(Status.CREATED);
+        assertThat(result.getItems().get(1).getStatus()).isEqualTo(Status.CONFLICT);
+        assertThat(result.getItems().get(1).getMessage())
+            .isEqualTo("Cannot save user as JohnSmith123 is duplicated in the batch");
+    }
+
+    @Test
+    public void saveUsersShouldReportConflictsForUsernamesAlreadyTaken() {
+        when(mockUserRepository.findTakenUsernames(Mockito.any()))
+            .thenReturn(Set.of("johnSmith123"));
+        userBatchService = newUserBatchService(1000, 10000, 500);
+
+        BatchSaveResult result = userBatchService.saveUsers(
+            Arrays.asList(new User(null, "johnSmith123", "password"),
+                new User(null, "joanneSmith123", "password")));
+
+        assertThat(result.getItems().get(0).getStatus()).isEqualTo(Status.CONFLICT);
+        assertThat(result.getItems().get(0).getMessage())
+            .isEqualTo("Cannot save user as johnSmith123 is already taken");
+        assertThat(result.getItems().get(1).getStatus()).isEqualTo(Status.CREATED);
+    }
+
+    @Test
+    public void saveUsersShouldReportConflictsForDuplicateKeyErrorsOnInsert() {
+        BulkWriteError duplicateKeyError = new BulkWriteError(11000, "E11000 duplicate key error",
+            new BsonDocument(), 1);
+        MongoBulkWriteException bulkWriteException = new MongoBulkWriteException(
+            BulkWriteResult.unacknowledged(), Collections.singletonList(duplicateKeyError), null,
+            new ServerAddress());
+        when(mockUserRepository.findTakenUsernames(Mockito.any())).thenReturn(Set.of());
+        when(mockUserRepository.insertAll(Mockito.any()))
+            .thenThrow(new BulkOperationException("Bulk write failed", bulkWriteException));
+        userBatchService = newUserBatchService(1000, 10000, 500);
+
+        BatchSaveResult result = userBatchService.saveUsers(
+            Arrays.asList(new User(null, "johnSmith123", "password"),
+                new User(null, "joanneSmith123", "password")));
+
+        assertThat(result.getItems().get(0).getStatus()).isEqualTo(Status.CREATED);
+        assertThat(result.getItems().get(1).getStatus()).isEqualTo(Status.CONFLICT);
+    }
+
+    @Test
+    public void saveUsersShouldRecordACreatedEventForEveryInsertedUser() {
+        when(mockUserRepository.findTakenUsernames(Mockito.any())).thenReturn(Set.of());
+        when(mockUserRepository.insertAll(Mockito.any()))
+            .thenThrow(duplicateKeyException(1));
+        userBatchService = newUserBatchService(1000, 10000, 500);
+
+        BatchSaveResult result = userBatchService.saveUsers(
+            Arrays.asList(new User(null, "johnSmith123", "password"),
+                new User(null, "joanneSmith123", "password")));
+
+        ArgumentCaptor<List<UserEvent>> userEvents = ArgumentCaptor.forClass(List.class);
+        verify(mockUserEventRepository).appendAll(userEvents.capture());
+        assertThat(userEvents.getValue()).extracting(UserEvent::getType, UserEvent::getUserId)
+                                         .containsExactly(tuple(Type.CREATED,
+                                             result.getItems().get(0).getId()));
+    }
+
+    @Test
+    public void saveUsersShouldRetryTheUsersThatDidNotFailWhenTheTransactionRolledBack() {
+        when(mockUserRepository.findTakenUsernames(Mockito.any())).thenReturn(Set.of());
+        when(mockUserRepository.insertAll(Mockito.any()))
+            .thenThrow(duplicateKeyException(1))
+            .thenReturn(BulkWriteResult.acknowledged(1, 0, 0, 0, Collections.emptyList()));
+        MongoDatabaseFactory mongoDatabaseFactory = Mockito.mock(MongoDatabaseFactory.class);
+        when(mongoDatabaseFactory.getSession(Mockito.any()))
+            .thenReturn(Mockito.mock(ClientSession.class));
+        userBatchService = new UserBatchService(mockUserRepository, passwordHasher,
+            new UserEventOutbox(mockUserEventRepository,
+                new MongoTransactionManager(mongoDatabaseFactory)), 1000, 10000, 500);
+
+        BatchSaveResult result = userBatchService.saveUsers(
+            Arrays.asList(new User(null, "johnSmith123", "password"),
+                new User(null, "joanneSmith123", "password")));
+
+        ArgumentCaptor<List<User>> insertedUsers = ArgumentCaptor.forClass(List.class);
+        verify(mockUserRepository, times(2)).insertAll(insertedUsers.capture());
+        assertThat(insertedUsers.getAllValues().get(1)).extracting(User::getUsername)
+                                                      .containsExactly("johnSmith123");
+        assertThat(result.getItems().get(0).getStatus()).isEqualTo(Status.CREATED);
+        assertThat(result.getItems().get(1).getStatus()).isEqualTo(Status.CONFLICT);
+        verify(mockUserEventRepository, times(1)).appendAll(Mockito.any());
+    }
+
+    @Test
+    public void saveUsersShouldInsertInChunksOfTheConfiguredSize() {
+        when(mockUserRepository.findTakenUsernames(Mockito.any())).thenReturn(Set.of());
+        userBatchService = newUserBatchService(2, 10000, 500);
+
+        userBatchService.saveUsers(Arrays.asList(new User(null, "johnSmith1", "password"),
+            new User(null, "johnSmith2", "password"), new User(null, "johnSmith3", "password")));
+
+        verify(mockUserRepository, times(2)).insertAll(Mockito.any());
+        verify(mockUserRepository, times(1)).findTakenUsernames(Mockito.any());
+    }
+
+    @Test
+    public void saveUsersShouldThrowValidationExceptionWhenUsersIsNull() {
+        userBatchService = newUserBatchService(1000, 10000, 500);
+
+        Exception exception = assertThrows(ValidationException.class, () -> {
+            userBatchService.saveUsers(null);
+        });
+
+        assertThat(exception.getMessage()).isEqualTo("Users cannot be null");
+    }
+
+    @Test
+    public void saveUsersShouldThrowValidationExceptionWhenBatchIsTooLarge() {
+        userBatchService = newUserBatchService(1000, 1, 500);
+        List<User> users = Arrays.asList(new User(null, "johnSmith1", "password"),
+            new User(null, "johnSmith2", "password"));
+
+        Exception exception = assertThrows(ValidationException.class, () -> {
+            userBatchService.saveUsers(users);
+        });
+
+        assertThat(exception.getMessage()).isEqualTo("Cannot save more than 1 users in one batch");
+    }
+
+    @Test
+    public void deleteUsersShouldRemoveTheDistinctIdsInChunks() {
+        UUID firstId = UUID.randomUUID();
+        UUID secondId = UUID.randomUUID();
+        UUID thirdId = UUID.randomUUID();
+        when(mockUserRepository.removeAllByIds(List.of(firstId, secondId)))
+            .thenReturn(DeleteResult.acknowledged(2));
+        when(mockUserRepository.removeAllByIds(List.of(thirdId)))
+            .thenReturn(DeleteResult.acknowledged(0));
+        userBatchService = newUserBatchService(2, 10000, 500);
+
+        BatchDeleteResult result = userBatchService
+            .deleteUsers(List.of(firstId, secondId, firstId, thirdId));
+
+        assertThat(result.getRequested()).isEqualTo(3);
+        assertThat(result.getDeleted()).isEqualTo(2);
+    }
+
+    @Test
+    public void deleteUsersShouldRecordADeletedEventForEveryIdInAChunkThatRemovedUsers() {
+        UUID removedId = UUID.randomUUID();
+        UUID missingId = UUID.randomUUID();
+        when(mockUserRepository.removeAllByIds(Mockito.any()))
+            .thenReturn(DeleteResult.acknowledged(1));
+        userBatchService = newUserBatchService(1000, 10000, 500);
+
+        userBatchService.deleteUsers(List.of(removedId, missingId));
+
+        ArgumentCaptor<List<UserEvent>> userEvents = ArgumentCaptor.forClass(List.class);
+        verify(mockUserEventRepository).appendAll(userEvents.capture());
+        assertThat(userEvents.getValue()).extracting(UserEvent::getType, UserEvent::getUserId)
+                                         .containsExactly(tuple(Type.DELETED, removedId),
+                                             tuple(Type.DELETED, missingId));
+    }
+
+    @Test
+    public void deleteUsersShouldNotRecordAnEventForAChunkThatRemovedNoUsers() {
+        when(mockUserRepository.removeAllByIds(Mockito.any()))
+            .thenReturn(DeleteResult.acknowledged(0));
+        userBatchService = newUserBatchService(1000, 10000, 500);
+
+        userBatchService.deleteUsers(List.of(UUID.randomUUID()));
+
+        verify(mockUserEventRepository).appendAll(List.of());
+    }
+
+    @Test
+    public void deleteUsersShouldThrowValidationExceptionWhenIdsIsNull() {
+        userBatchService = newUserBatchService(1000, 10000, 500);
+
+        Exception exception = assertThrows(ValidationException.class, () -> {
+            userBatchService.deleteUsers(null);
+        });
+
+        assertThat(exception.getMessage()).isEqualTo("Ids cannot be null");
+    }
+
+    @Test
+    public void deleteUsersShouldThrowValidationExceptionWhenBatchIsTooLarge() {
+        userBatchService = newUserBatchService(1000, 1, 500);
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+
+        Exception exception = assertThrows(ValidationException.class, () -> {
+            userBatchService.deleteUsers(ids);
+        });
+
+        assertThat(exception.getMessage())
+            .isEqualTo("Cannot delete more than 1 users in one batch");
+    }
+
+    @Test
+    public void getUsersShouldReturnUsersFoundByIdsAndUsernames() {
+        UUID savedUserId = UUID.randomUUID();
+        List<User> savedUsers = Arrays.asList(new User(savedUserId, "johnSmith123", "password"),
+            new User(UUID.randomUUID(), "joanneSmith123", "password"));
+        when(mockUserRepository
+            .findAllByIdsOrUsernames(Set.of(savedUserId), Set.of("joanneSmith123")))
+            .thenReturn(savedUsers);
+        userBatchService = newUserBatchService(1000, 10000, 500);
+
+        assertThat(userBatchService.getUsers(
+            new UserLookupRequest(List.of(savedUserId), List.of("joanneSmith123"))))
+            .isEqualTo(savedUsers);
+    }
+
+    @Test
+    public void getUsersShouldNotQueryTheRepositoryWhenNothingIsRequested() {
+        userBatchService = newUserBatchService(1000, 10000, 500);
+
+        assertThat(userBatchService.getUsers(new UserLookupRequest(null, null))).isEmpty();
+        verify(mockUserRepository, times(0)).findAllByIdsOrUsernames(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void getUsersShouldThrowValidationExceptionWhenLookupIsTooLarge() {
+        userBatchService = newUserBatchService(1000, 10000, 1);
+
+        Exception exception = assertThrows(ValidationException.class, () -> {
+            userBatchService.getUsers(
+                new UserLookupRequest(List.of(UUID.randomUUID()), List.of("johnSmith123")));
+        });
+
+        assertThat(exception.getMessage())
+            .isEqualTo("Cannot look up more than 1 users in one call");
+    }
+
+    @Test
+    public void getUsersShouldThrowNullOrEmptyExceptionWhenAUsernameIsEmpty() {
+        userBatchService = newUserBatchService(1000, 10000, 500);
+
+        Exception exception = assertThrows(NullOrEmptyException.class, () -> {
+            userBatchService.getUsers(new UserLookupRequest(null, List.of("")));
+        });
+
+        assertThat(exception.getMessage()).isEqualTo("User's username cannot be null or empty");
+    }
+
+    private static BulkOperationException duplicateKeyException(int index) {
+        BulkWriteError duplicateKeyError = new BulkWriteError(11000, "E11000 duplicate key error",
+            new BsonDocument(), index);
+        return new BulkOperationException("Bulk write failed", new MongoBulkWriteException(
+            BulkWriteResult.unacknowledged(), Collections.singletonList(duplicateKeyError), null,
+            new ServerAddress()));
+    }
+
+    private UserBatchService newUserBatchService(int chunkSize, int maxBatchSize,
+        int maxLookupSize) {
+        return new UserBatchService(mockUserRepository, passwordHasher,
+            new UserEventOutbox(mockUserEventRepository, null), chunkSize, maxBatchSize,
+            maxLookupSize);
+    }
+}
@@ -0,0 +1,205 @@
+package com.postitapplications.user.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+import com.postitapplications.exception.exceptions.ValidationException;
+import com.postitapplications.user.document.UserEvent;
+import com.postitapplications.user.document.UserEvent.Type;
+import com.postitapplications.user.dto.UserEventPage;
+import com.postitapplications.user.exception.EventCursorExpiredException;
+import com.postitapplications.user.repository.UserEventRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+@SpringBootTest
+public class UserEventServiceTests {
+
+    private UserEventService userEventService;
+    @MockBean
+    private UserEventRepository mockUserEventRepository;
+
+    @AfterEach
+    public void tearDown() {
+        if (userEventService != null) {
+            userEventService.shutdown();
+        }
+    }
+
+    @Test
+    public void getEventsShouldReturnTheEventsAfterTheCursorAndTheNextCursor() {
+        when(mockUserEventRepository.findAfter(35, 100))
+            .thenReturn(List.of(event(36, Instant.now()), event(37, Instant.now())));
+        userEventService = newUserEventService(Duration.ofSeconds(20));
+
+        UserEventPage userEventPage = userEventService.getEvents("z", null, null).join();
+
+        assertThat(userEventPage.getEvents()).extracting(UserEvent::getSequence)
+                                             .containsExactly(36L, 37L);
+        assertThat(userEventPage.getNextCursor()).startsWith("11.");
+    }
+
+    @Test
+    public void getEventsShouldReturnAnEmptyPageWithTheSameCursorWhenThereAreNoNewEvents() {
+        when(mockUserEventRepository.findAfter(0, 100)).thenReturn(List.of());
+        userEventService = newUserEventService(Duration.ofSeconds(20));
+
+        UserEventPage userEventPage = userEventService.getEvents(null, null, null).join();
+
+        assertThat(userEventPage.getEvents()).isEmpty();
+        assertThat(userEventPage.getNextCursor()).startsWith("0.");
+    }
+
+    @Test
+    public void getEventsShouldStopAtAGapThatMayStillBeFilled() {
+        when(mockUserEventRepository.findAfter(0, 100))
+            .thenReturn(List.of(event(1, Instant.now()), event(3, Instant.now())));
+        userEventService = newUserEventService(Duration.ofSeconds(20));
+
+        UserEventPage userEventPage = userEventService.getEvents(null, null, null).join();
+
+        assertThat(userEventPage.getEvents()).extracting(UserEvent::getSequence)
+                                             .containsExactly(1L);
+        assertThat(userEventPage.getNextCursor()).startsWith("1.");
+    }
+
+    @Test
+    public void getEventsShouldSkipAGapOnceItIsOlderThanTheGapTimeout() {
+        Instant settled = Instant.now().minusSeconds(10);
+        when(mockUserEventRepository.findAfter(0, 100))
+            .thenReturn(List.of(event(1, settled), event(3, settled)));
+        userEventService = newUserEventService(Duration.ofSeconds(20));
+
+        UserEventPage userEventPage = userEventService.getEvents(null, null, null).join();
+
+        assertThat(userEventPage.getEvents()).extracting(UserEvent::getSequence)
+                                             .containsExactly(1L, 3L);
+        assertThat(userEventPage.getNextCursor()).startsWith("3.");
+    }
+
+    @Test
+    public void getEventsShouldCapTheLimitAtTheMaximum() {
+        when(mockUserEventRepository.findAfter(0, 1000)).thenReturn(List.of());
+        userEventService = newUserEventService(Duration.ofSeconds(20));
+
+        userEventService.getEvents(null, 5000, null).join();
+
+        Mockito.verify(mockUserEventRepository).findAfter(0, 1000);
+    }
+
+    @Test
+    public void getEventsShouldCompleteAWaitingRequestOnceNewEventsArrive() {
+        when(mockUserEventRepository.findAfter(0, 100)).thenReturn(List.of());
+        userEventService = newUserEventService(Duration.ofSeconds(20));
+
+        CompletableFuture<UserEventPage> userEventPage = userEventService
+            .getEvents(null, null, 10);
+
+        assertThat(userEventPage).isNotDone();
+        assertThat(userEventService.getWaitingCount()).isEqualTo(1);
+
+        when(mockUserEventRepository.getLatestSequence()).thenReturn(1L);
+        when(mockUserEventRepository.findAfter(0, 100))
+            .thenReturn(List.of(event(1, Instant.now())));
+        userEventService.poll();
+
+        assertThat(userEventPage.join().getEvents()).hasSize(1);
+        assertThat(userEventService.getWaitingCount()).isZero();
+    }
+
+    @Test
+    public void getEventsShouldCompleteAWaitingRequestWithAnEmptyPageOnceTheWaitExpires()
+        throws InterruptedException {
+        when(mockUserEventRepository.findAfter(0, 100)).thenReturn(List.of());
+        userEventService = newUserEventService(Duration.ofMillis(1));
+
+        CompletableFuture<UserEventPage> userEventPage = userEventService
+            .getEvents(null, null, 10);
+        Thread.sleep(5);
+        userEventService.poll();
+
+        assertThat(userEventPage.join().getEvents()).isEmpty();
+        assertThat(userEventPage.join().getNextCursor()).startsWith("0.");
+    }
+
+    @Test
+    public void getEventsShouldThrowValidationExceptionWhenCursorIsInvalid() {
+        userEventService = newUserEventService(Duration.ofSeconds(20));
+
+        Exception exception = assertThrows(ValidationException.class, () -> {
+            userEventService.getEvents("not a cursor", null, null);
+        });
+
+        assertThat(exception.getMessage()).isEqualTo("not a cursor is not a valid event cursor");
+    }
+
+    @Test
+    public void getEventsShouldResumeFromACursorItReturned() {
+        when(mockUserEventRepository.findAfter(0, 100))
+            .thenReturn(List.of(event(1, Instant.now())));
+        when(mockUserEventRepository.findAfter(1, 100))
+            .thenReturn(List.of(event(2, Instant.now())));
+        userEventService = newUserEventService(Duration.ofSeconds(20));
+
+        String nextCursor = userEventService.getEvents(null, null, null).join().getNextCursor();
+
+        assertThat(userEventService.getEvents(nextCursor, null, null).join().getEvents())
+            .extracting(UserEvent::getSequence).containsExactly(2L);
+    }
+
+    @Test
+    public void getEventsShouldThrowEventCursorExpiredExceptionWhenTheCursorIsOlderThanRetention() {
+        String expiredCursor = "1." + Long.toString(
+            Instant.now().minus(Duration.ofDays(8)).getEpochSecond(), Character.MAX_RADIX);
+        userEventService = newUserEventService(Duration.ofSeconds(20));
+
+        Exception exception = assertThrows(EventCursorExpiredException.class, () -> {
+            userEventService.getEvents(expiredCursor, null, null);
+        });
+
+        assertThat(exception.getMessage()).isEqualTo(String.format(
+            "Event cursor %s has expired as the events after it are no longer retained",
+            expiredCursor));
+    }
+
+    @Test
+    public void getEventsShouldThrowValidationExceptionWhenLimitIsLessThanOne() {
+        userEventService = newUserEventService(Duration.ofSeconds(20));
+
+        Exception exception = assertThrows(ValidationException.class, () -> {
+            userEventService.getEvents(null, 0, null);
+        });
+
+        assertThat(exception.getMessage()).isEqualTo("Event limit must be at least 1");
+    }
+
+    @Test
+    public void getEventsShouldThrowValidationExceptionWhenWaitIsNegative() {
+        userEventService = newUserEventService(Duration.ofSeconds(20));
+
+        Exception exception = assertThrows(ValidationException.class, () -> {
+            userEventService.getEvents(null, null, -1);
+        });
+
+        assertThat(exception.getMessage()).isEqualTo("Event wait cannot be negative");
+    }
+
+    private UserEventService newUserEventService(Duration maxWait) {
+        return new UserEventService(mockUserEventRepository, 100, 1000, maxWait,
+            Duration.ofHours(1), Duration.ofSeconds(5), Duration.ofDays(7));
+    }
+
+    private static UserEvent event(long sequence, Instant occurredAt) {
+        return new UserEvent(Type.UPDATED, UUID.randomUUID(), "johnSmith123")
+            .withSequence(sequence, occurredAt);
+    }
+}
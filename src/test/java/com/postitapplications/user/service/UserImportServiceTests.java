@@ -0,0 +1,120 @@
+package com.postitapplications.user.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.postitapplications.user.document.User;
+import com.postitapplications.user.dto.BatchItemResult;
+import com.postitapplications.user.dto.BatchSaveResult;
+import com.postitapplications.user.dto.ImportProgress;
+import com.postitapplications.user.dto.ImportProgress.Status;
+import com.postitapplications.user.exception.ImportNotFoundException;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+@SpringBootTest
+public class UserImportServiceTests {
+
+    private UserImportService userImportService;
+    @MockBean
+    private UserBatchService mockUserBatchService;
+
+    @BeforeEach
+    public void setUp() {
+        when(mockUserBatchService.saveUsers(Mockito.any()))
+            .thenAnswer(invocation -> createdResult(invocation.getArgument(0)));
+        userImportService = new UserImportService(mockUserBatchService, new ObjectMapper(), 2,
+            Duration.ofHours(1));
+    }
+
+    @Test
+    public void importUsersShouldSaveEveryRecordInTheStream() {
+        ImportProgress progress = userImportService.importUsers(null,
+            ndjson("{\"username\":\"johnSmith1\",\"password\":\"password\"}",
+                "{\"username\":\"johnSmith2\",\"password\":\"password\"}",
+                "{\"username\":\"johnSmith3\",\"password\":\"password\"}"));
+
+        assertThat(progress.getStatus()).isEqualTo(Status.COMPLETED);
+        assertThat(progress.getRead()).isEqualTo(3);
+        assertThat(progress.getWritten()).isEqualTo(3);
+        assertThat(progress.getRejected()).isEqualTo(0);
+    }
+
+    @Test
+    public void importUsersShouldFlushInBatchesOfTheConfiguredSize() {
+        userImportService.importUsers(null,
+            ndjson("{\"username\":\"johnSmith1\",\"password\":\"password\"}",
+                "{\"username\":\"johnSmith2\",\"password\":\"password\"}",
+                "{\"username\":\"johnSmith3\",\"password\":\"password\"}"));
+
+        verify(mockUserBatchService, times(2)).saveUsers(Mockito.any());
+    }
+
+    @Test
+    public void importUsersShouldRejectMalformedRecordsAndContinue() {
+        ImportProgress progress = userImportService.importUsers(null,
+            ndjson("{\"username\":\"johnSmith1\",\"password\":\"password\"}", "{not json",
+                "", "{\"username\":\"johnSmith2\",\"password\":\"password\"}"));
+
+        assertThat(progress.getRead()).isEqualTo(3);
+        assertThat(progress.getWritten()).isEqualTo(2);
+        assertThat(progress.getRejected()).isEqualTo(1);
+    }
+
+    @Test
+    public void importUsersShouldCountItemsNotCreatedByTheBatchAsRejected() {
+        Mockito.doReturn(new BatchSaveResult(
+            List.of(BatchItemResult.created(0, UUID.randomUUID(), "johnSmith1"),
+                BatchItemResult.conflict(1, "johnSmith1", "taken")))).when(mockUserBatchService)
+               .saveUsers(Mockito.any());
+
+        ImportProgress progress = userImportService.importUsers(null,
+            ndjson("{\"username\":\"johnSmith1\",\"password\":\"password\"}",
+                "{\"username\":\"johnSmith1\",\"password\":\"password\"}"));
+
+        assertThat(progress.getWritten()).isEqualTo(1);
+        assertThat(progress.getRejected()).isEqualTo(1);
+    }
+
+    @Test
+    public void getImportProgressShouldReturnFinishedImports() {
+        userImportService.importUsers("migration-1",
+            ndjson("{\"username\":\"johnSmith1\",\"password\":\"password\"}"));
+
+        assertThat(userImportService.getImportProgress("migration-1").getWritten()).isEqualTo(1);
+    }
+
+    @Test
+    public void getImportProgressShouldThrowImportNotFoundExceptionForUnknownImports() {
+        Exception exception = assertThrows(ImportNotFoundException.class, () -> {
+            userImportService.getImportProgress("unknown");
+        });
+
+        assertThat(exception.getMessage()).isEqualTo("Import with id: unknown was not found");
+    }
+
+    private static InputStream ndjson(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static BatchSaveResult createdResult(List<User> users) {
+        return new BatchSaveResult(IntStream.range(0, users.size()).mapToObj(
+            index -> BatchItemResult.created(index, UUID.randomUUID(),
+                users.get(index).getUsername())).collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,167 @@
+package com.postitapplications.user.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.postitapplications.exception.exceptions.NullOrEmptyException;
+import com.postitapplications.exception.exceptions.ValidationException;
+import com.postitapplications.user.document.User;
+import com.postitapplications.user.dto.UserPage;
+import com.postitapplications.user.repository.UserRepository;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+@SpringBootTest
+public class UserQueryServiceTests {
+
+    private UserQueryService userQueryService;
+    @MockBean
+    private UserRepository mockUserRepository;
+
+    @BeforeEach
+    public void setUp() {
+        userQueryService = new UserQueryService(mockUserRepository, 2, 3, 2, 3);
+    }
+
+    @Test
+    public void getUsersShouldReturnANextCursorWhenMoreUsersExist() {
+        List<User> users = List.of(new User(null, "johnSmith1", null),
+            new User(null, "johnSmith2", null), new User(null, "johnSmith3", null));
+        when(mockUserRepository.findPage("username", null, 3, Set.of("id", "username")))
+            .thenReturn(users);
+
+        UserPage userPage = userQueryService.getUsers("username", null, null, null);
+
+        assertThat(userPage.getUsers()).extracting(User::getUsername)
+                                       .containsExactly("johnSmith1", "johnSmith2");
+        assertThat(userPage.getNextCursor()).isNotNull();
+    }
+
+    @Test
+    public void getUsersShouldNotReturnANextCursorOnTheLastPage() {
+        when(mockUserRepository.findPage(Mockito.any(), Mockito.any(), Mockito.anyInt(),
+            Mockito.any())).thenReturn(List.of(new User(null, "johnSmith1", null)));
+
+        assertThat(userQueryService.getUsers("username", null, null, null).getNextCursor())
+            .isNull();
+    }
+
+    @Test
+    public void getUsersShouldQueryAfterTheValueInTheNextCursor() {
+        UUID lastUserId = UUID.randomUUID();
+        when(mockUserRepository.findPage("id", null, 2, Set.of("id", "username")))
+            .thenReturn(List.of(new User(lastUserId, "johnSmith1", null),
+                new User(UUID.randomUUID(), "johnSmith2", null)));
+        String nextCursor = userQueryService.getUsers("id", null, 1, null).getNextCursor();
+
+        userQueryService.getUsers("id", nextCursor, 1, null);
+
+        verify(mockUserRepository).findPage("id", lastUserId, 2, Set.of("id", "username"));
+    }
+
+    @Test
+    public void getUsersShouldCapThePageSize() {
+        userQueryService.getUsers("id", null, 100, null);
+
+        verify(mockUserRepository).findPage("id", null, 4, Set.of("id", "username"));
+    }
+
+    @Test
+    public void getUsersShouldAlwaysProjectTheSortField() {
+        userQueryService.getUsers("username", null, null, List.of("id"));
+
+        verify(mockUserRepository).findPage("username", null, 3, Set.of("id", "username"));
+    }
+
+    @Test
+    public void getUsersShouldThrowValidationExceptionForAnUnknownSortField() {
+        Exception exception = assertThrows(ValidationException.class, () -> {
+            userQueryService.getUsers("password", null, null, null);
+        });
+
+        assertThat(exception.getMessage()).startsWith("Cannot sort users by password");
+    }
+
+    @Test
+    public void getUsersShouldThrowValidationExceptionForAnUnknownField() {
+        Exception exception = assertThrows(ValidationException.class, () -> {
+            userQueryService.getUsers("id", null, null, List.of("email"));
+        });
+
+        assertThat(exception.getMessage()).startsWith("Cannot project users on email");
+    }
+
+    @Test
+    public void getUsersShouldThrowValidationExceptionWhenProjectingThePassword() {
+        Exception exception = assertThrows(ValidationException.class, () -> {
+            userQueryService.getUsers("id", null, null, List.of("username", "password"));
+        });
+
+        assertThat(exception.getMessage()).startsWith("Cannot project users on password");
+    }
+
+    @Test
+    public void getUsersShouldThrowValidationExceptionForANonPositivePageSize() {
+        Exception exception = assertThrows(ValidationException.class, () -> {
+            userQueryService.getUsers("id", null, 0, null);
+        });
+
+        assertThat(exception.getMessage()).isEqualTo("Page size must be at least 1");
+    }
+
+    @Test
+    public void searchUsersShouldReturnUsersMatchingThePrefix() {
+        List<User> users = List.of(new User(UUID.randomUUID(), "johnSmith1", null));
+        when(mockUserRepository.findByUsernamePrefix("john", 2)).thenReturn(users);
+
+        assertThat(userQueryService.searchUsers("john", null)).isEqualTo(users);
+    }
+
+    @Test
+    public void searchUsersShouldCapTheLimit() {
+        userQueryService.searchUsers("john", 100);
+
+        verify(mockUserRepository).findByUsernamePrefix("john", 3);
+    }
+
+    @Test
+    public void searchUsersShouldThrowNullOrEmptyExceptionForAnEmptyPrefix() {
+        Exception exception = assertThrows(NullOrEmptyException.class, () -> {
+            userQueryService.searchUsers("", null);
+        });
+
+        assertThat(exception.getMessage()).isEqualTo("Search prefix cannot be null or empty");
+    }
+
+    @Test
+    public void searchUsersShouldThrowValidationExceptionForANonPositiveLimit() {
+        Exception exception = assertThrows(ValidationException.class, () -> {
+            userQueryService.searchUsers("john", 0);
+        });
+
+        assertThat(exception.getMessage()).isEqualTo("Search limit must be at least 1");
+    }
+
+    @Test
+    public void getUsersShouldThrowValidationExceptionForACursorFromAnotherSort() {
+        when(mockUserRepository.findPage(Mockito.any(), Mockito.any(), Mockito.anyInt(),
+            Mockito.any())).thenReturn(List.of(new User(UUID.randomUUID(), "johnSmith1", null),
+            new User(UUID.randomUUID(), "johnSmith2", null)));
+        String usernameCursor = userQueryService.getUsers("username", null, 1, null)
+                                                .getNextCursor();
+
+        Exception exception = assertThrows(ValidationException.class, () -> {
+            userQueryService.getUsers("id", usernameCursor, 1, null);
+        });
+
+        assertThat(exception.getMessage()).isEqualTo("Cursor " + usernameCursor + " is invalid");
+    }
+}
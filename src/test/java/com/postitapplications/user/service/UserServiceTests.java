@@ -2,6 +2,8 @@ package com.postitapplications.user.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.mongodb.client.result.DeleteResult;
@@ -10,33 +12,62 @@ import com.postitapplications.exception.exceptions.NullOrEmptyException;
 import com.postitapplications.exception.exceptions.UsernameTakenException;
 import com.postitapplications.exception.exceptions.ValidationException;
 import com.postitapplications.user.document.User;
+import com.postitapplications.user.document.UserEvent;
+import com.postitapplications.user.document.UserEvent.Type;
+import com.postitapplications.user.dto.UserPatch;
+import com.postitapplications.user.exception.VersionConflictException;
+import com.postitapplications.user.repository.ReadConsistency;
+import com.postitapplications.user.repository.UserEventRepository;
 import com.postitapplications.user.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 @SpringBootTest
 public class UserServiceTests {
 
+    private final PasswordHasher passwordHasher = new PasswordHasher(4, 1, 10,
+        new SimpleMeterRegistry());
     private UserService userService;
     @MockBean
     private UserRepository mockUserRepository;
+    @MockBean
+    private UserEventRepository mockUserEventRepository;
 
     @Test
     public void saveUserShouldReturnSavedUserOnSuccessfulSave() {
-        User expectedUser = new User(null, "johnSmith123", "password");
+        User expectedUser = new User(UUID.randomUUID(), "johnSmith123", "hashedPassword");
 
-        when(mockUserRepository.save(expectedUser)).thenReturn(expectedUser);
-        userService = new UserService(mockUserRepository);
+        when(mockUserRepository.save(Mockito.any(User.class))).thenReturn(expectedUser);
+        userService = newUserService();
 
-        assertThat(userService.saveUser(expectedUser)).isEqualTo(expectedUser);
+        assertThat(userService.saveUser(new User(null, "johnSmith123", "password")))
+            .isEqualTo(expectedUser);
+    }
+
+    @Test
+    public void saveUserShouldSaveAHashOfThePassword() {
+        ArgumentCaptor<User> savedUser = ArgumentCaptor.forClass(User.class);
+        userService = newUserService();
+
+        userService.saveUser(new User(null, "johnSmith123", "password"));
+
+        verify(mockUserRepository).save(savedUser.capture());
+        assertThat(savedUser.getValue().getPassword()).isNotEqualTo("password");
+        assertThat(new BCryptPasswordEncoder().matches("password",
+            savedUser.getValue().getPassword())).isTrue();
     }
 
     @Test
     public void saveUserShouldThrowValidationExceptionWhenUserIsNull() {
-        userService = new UserService(mockUserRepository);
+        userService = newUserService();
 
         Exception exception = assertThrows(ValidationException.class, () -> {
             userService.saveUser(null);
@@ -47,7 +78,7 @@ public class UserServiceTests {
 
     @Test
     public void saveUserShouldThrowNullOrEmptyExceptionWhenUserUsernameIsNull() {
-        userService = new UserService(mockUserRepository);
+        userService = newUserService();
 
         Exception exception = assertThrows(NullOrEmptyException.class, () -> {
             userService.saveUser(new User(null, null, "password"));
@@ -58,9 +89,9 @@ public class UserServiceTests {
 
     @Test
     public void saveUserShouldThrowUsernameTakenExceptionWhenUserUsernameAlreadyExists() {
-        User savedUser = new User(UUID.randomUUID(), "johnSmith123", "password");
-        when(mockUserRepository.findByUsername("johnSmith123")).thenReturn(savedUser);
-        userService = new UserService(mockUserRepository);
+        when(mockUserRepository.save(Mockito.any(User.class)))
+            .thenThrow(new DuplicateKeyException("E11000 duplicate key error"));
+        userService = newUserService();
 
         Exception exception = assertThrows(UsernameTakenException.class, () -> {
             userService.saveUser(new User(null, "johnSmith123", "password"));
@@ -71,7 +102,7 @@ public class UserServiceTests {
 
     @Test
     public void saveUserShouldThrowNullOrEmptyExceptionWhenUserUsernameIsEmpty() {
-        userService = new UserService(mockUserRepository);
+        userService = newUserService();
 
         Exception exception = assertThrows(NullOrEmptyException.class, () -> {
             userService.saveUser(new User(null, "", "password"));
@@ -82,7 +113,7 @@ public class UserServiceTests {
 
     @Test
     public void saveUserShouldThrowNullOrEmptyExceptionWhenUserPasswordIsNull() {
-        userService = new UserService(mockUserRepository);
+        userService = newUserService();
 
         Exception exception = assertThrows(NullOrEmptyException.class, () -> {
             userService.saveUser(new User(null, "johnSmith123", null));
@@ -93,7 +124,7 @@ public class UserServiceTests {
 
     @Test
     public void saveUserShouldThrowNullOrEmptyExceptionWhenUserPasswordIsEmpty() {
-        userService = new UserService(mockUserRepository);
+        userService = newUserService();
 
         Exception exception = assertThrows(NullOrEmptyException.class, () -> {
             userService.saveUser(new User(null, "johnSmith123", ""));
@@ -108,7 +139,7 @@ public class UserServiceTests {
         User savedUser = new User(savedUserId, "johnSmith123", "password");
 
         when(mockUserRepository.findById(savedUserId)).thenReturn(savedUser);
-        userService = new UserService(mockUserRepository);
+        userService = newUserService();
 
         assertThat(userService.getUserById(savedUserId)).isEqualTo(savedUser);
     }
@@ -118,14 +149,14 @@ public class UserServiceTests {
         UUID nonExistingUserId = UUID.randomUUID();
 
         when(mockUserRepository.findById(nonExistingUserId)).thenReturn(null);
-        userService = new UserService(mockUserRepository);
+        userService = newUserService();
 
         assertThat(userService.getUserById(nonExistingUserId)).isEqualTo(null);
     }
 
     @Test
     public void getUserByIdShouldThrowValidationExceptionWhenUsingNullId() {
-        userService = new UserService(mockUserRepository);
+        userService = newUserService();
 
         Exception exception = assertThrows(ValidationException.class, () -> {
             userService.getUserById(null);
@@ -139,7 +170,7 @@ public class UserServiceTests {
         User savedUser = new User(UUID.randomUUID(), "johnSmith123", "password");
 
         when(mockUserRepository.findByUsername("johnSmith123")).thenReturn(savedUser);
-        userService = new UserService(mockUserRepository);
+        userService = newUserService();
 
         assertThat(userService.getUserByUsername("johnSmith123")).isEqualTo(savedUser);
     }
@@ -148,14 +179,42 @@ public class UserServiceTests {
     public void getUserByUsernameShouldReturnNullWhenUserDoesNotExist() {
         String invalidUsername = "nonExistingUsername";
         when(mockUserRepository.findByUsername(invalidUsername)).thenReturn(null);
-        userService = new UserService(mockUserRepository);
+        userService = newUserService();
 
         assertThat(userService.getUserByUsername(invalidUsername)).isEqualTo(null);
     }
 
+    @Test
+    public void getUsernameAvailabilityShouldReturnAvailableWhenUserDoesNotExist() {
+        when(mockUserRepository.findByUsername("johnSmith123")).thenReturn(null);
+        userService = newUserService();
+
+        assertThat(userService.getUsernameAvailability("johnSmith123").isAvailable()).isTrue();
+    }
+
+    @Test
+    public void getUsernameAvailabilityShouldReturnUnavailableWhenUserExists() {
+        when(mockUserRepository.findByUsername("johnSmith123"))
+            .thenReturn(new User(UUID.randomUUID(), "johnSmith123", "password"));
+        userService = newUserService();
+
+        assertThat(userService.getUsernameAvailability("johnSmith123").isAvailable()).isFalse();
+    }
+
+    @Test
+    public void getUsernameAvailabilityShouldThrowNullOrEmptyExceptionWhenUsernameIsEmpty() {
+        userService = newUserService();
+
+        Exception exception = assertThrows(NullOrEmptyException.class, () -> {
+            userService.getUsernameAvailability("");
+        });
+
+        assertThat(exception.getMessage()).isEqualTo("User's username cannot be null or empty");
+    }
+
     @Test
     public void getUserByUsernameShouldThrowIllegalArgumentExceptionWhenUsernameIsNull() {
-        userService = new UserService(mockUserRepository);
+        userService = newUserService();
 
         Exception exception = assertThrows(NullOrEmptyException.class, () -> {
             userService.getUserByUsername(null);
@@ -166,7 +225,7 @@ public class UserServiceTests {
 
     @Test
     public void getUserByUsernameShouldThrowIllegalArgumentExceptionWhenUsernameIsEmpty() {
-        userService = new UserService(mockUserRepository);
+        userService = newUserService();
 
         Exception exception = assertThrows(NullOrEmptyException.class, () -> {
             userService.getUserByUsername("");
@@ -180,15 +239,59 @@ public class UserServiceTests {
         User updatedUser = new User(UUID.randomUUID(), "jeffSmith123", "password");
         UpdateResult mockUpdateResult = Mockito.mock(UpdateResult.class);
 
-        when(mockUserRepository.update(updatedUser)).thenReturn(mockUpdateResult);
-        userService = new UserService(mockUserRepository);
+        when(mockUserRepository.update(Mockito.any(User.class))).thenReturn(mockUpdateResult);
+        userService = newUserService();
+
+        assertThat(userService.updateUser(updatedUser).getUpdateResult())
+            .isEqualTo(mockUpdateResult);
+    }
+
+    @Test
+    public void updateUserShouldHashAPasswordThatLooksHashed() {
+        String hashedPassword = passwordHasher.hash("password");
+        ArgumentCaptor<User> updatedUser = ArgumentCaptor.forClass(User.class);
+        when(mockUserRepository.update(Mockito.any(User.class)))
+            .thenReturn(Mockito.mock(UpdateResult.class));
+        userService = newUserService();
+
+        userService.updateUser(new User(UUID.randomUUID(), "johnSmith123", hashedPassword));
+
+        verify(mockUserRepository).update(updatedUser.capture());
+        assertThat(updatedUser.getValue().getPassword()).isNotEqualTo(hashedPassword);
+        assertThat(new BCryptPasswordEncoder().matches(hashedPassword,
+            updatedUser.getValue().getPassword())).isTrue();
+    }
+
+    @Test
+    public void updateUserShouldHashAPlainPassword() {
+        ArgumentCaptor<User> updatedUser = ArgumentCaptor.forClass(User.class);
+        when(mockUserRepository.update(Mockito.any(User.class)))
+            .thenReturn(Mockito.mock(UpdateResult.class));
+        userService = newUserService();
+
+        userService.updateUser(new User(UUID.randomUUID(), "johnSmith123", "password"));
+
+        verify(mockUserRepository).update(updatedUser.capture());
+        assertThat(new BCryptPasswordEncoder().matches("password",
+            updatedUser.getValue().getPassword())).isTrue();
+    }
+
+    @Test
+    public void updateUserShouldThrowUsernameTakenExceptionWhenUserUsernameAlreadyExists() {
+        when(mockUserRepository.update(Mockito.any(User.class)))
+            .thenThrow(new DuplicateKeyException("E11000 duplicate key error"));
+        userService = newUserService();
+
+        Exception exception = assertThrows(UsernameTakenException.class, () -> {
+            userService.updateUser(new User(UUID.randomUUID(), "johnSmith123", "password"));
+        });
 
-        assertThat(userService.updateUser(updatedUser)).isEqualTo(mockUpdateResult);
+        assertThat(exception.getMessage()).isEqualTo("Cannot update user as johnSmith123 is already taken");
     }
 
     @Test
     public void updateUserShouldThrowValidationExceptionWhenUserIsNull() {
-        userService = new UserService(mockUserRepository);
+        userService = newUserService();
 
         Exception exception = assertThrows(ValidationException.class, () -> {
             userService.updateUser(null);
@@ -199,7 +302,7 @@ public class UserServiceTests {
 
     @Test
     public void updateUserShouldThrowNullOrEmptyExceptionWhenUserUsernameIsNull() {
-        userService = new UserService(mockUserRepository);
+        userService = newUserService();
 
         Exception exception = assertThrows(NullOrEmptyException.class, () -> {
             userService.updateUser(new User(UUID.randomUUID(), null, "password"));
@@ -210,7 +313,7 @@ public class UserServiceTests {
 
     @Test
     public void updateUserShouldThrowNullOrEmptyExceptionWhenUserUsernameIsEmpty() {
-        userService = new UserService(mockUserRepository);
+        userService = newUserService();
 
         Exception exception = assertThrows(NullOrEmptyException.class, () -> {
             userService.updateUser(new User(UUID.randomUUID(), "", "password"));
@@ -221,7 +324,7 @@ public class UserServiceTests {
 
     @Test
     public void updateUserShouldThrowNullOrEmptyExceptionWhenUserPasswordIsNull() {
-        userService = new UserService(mockUserRepository);
+        userService = newUserService();
 
         Exception exception = assertThrows(NullOrEmptyException.class, () -> {
             userService.updateUser(new User(UUID.randomUUID(), "johnSmith123", null));
@@ -232,7 +335,7 @@ public class UserServiceTests {
 
     @Test
     public void updateUserShouldThrowNullOrEmptyExceptionWhenUserPasswordIsEmpty() {
-        userService = new UserService(mockUserRepository);
+        userService = newUserService();
 
         Exception exception = assertThrows(NullOrEmptyException.class, () -> {
             userService.updateUser(new User(UUID.randomUUID(), "johnSmith123", ""));
@@ -243,7 +346,7 @@ public class UserServiceTests {
 
     @Test
     public void updateUserShouldThrowValidationExceptionWhenUserIdIsNull() {
-        userService = new UserService(mockUserRepository);
+        userService = newUserService();
 
         Exception exception = assertThrows(ValidationException.class, () -> {
             userService.updateUser(new User(null, "johnSmith123", "password"));
@@ -258,14 +361,14 @@ public class UserServiceTests {
         DeleteResult mockDeleteResult = Mockito.mock(DeleteResult.class);
 
         when(mockUserRepository.removeById(deletedUserId)).thenReturn(mockDeleteResult);
-        userService = new UserService(mockUserRepository);
+        userService = newUserService();
 
         assertThat(userService.deleteUserById(deletedUserId)).isEqualTo(mockDeleteResult);
     }
 
     @Test
     public void deleteUserByIdShouldThrowValidationExceptionWhenIdIsNull() {
-        userService = new UserService(mockUserRepository);
+        userService = newUserService();
 
         Exception exception = assertThrows(ValidationException.class, () -> {
             userService.deleteUserById(null);
@@ -273,4 +376,183 @@ public class UserServiceTests {
 
         assertThat(exception.getMessage()).isEqualTo("Id cannot be null");
     }
+
+    @Test
+    public void patchUserShouldOnlyPassTheChangedFieldsToTheRepository() {
+        UUID savedUserId = UUID.randomUUID();
+        User patchedUser = new User(savedUserId, "joanneSmith123", "hashedPassword");
+        when(mockUserRepository.patch(savedUserId, null, "joanneSmith123", null))
+            .thenReturn(patchedUser);
+        userService = newUserService();
+
+        assertThat(userService.patchUser(savedUserId, null, new UserPatch("joanneSmith123", null)))
+            .isEqualTo(patchedUser);
+    }
+
+    @Test
+    public void patchUserShouldPassAHashOfANewPasswordToTheRepository() {
+        UUID savedUserId = UUID.randomUUID();
+        ArgumentCaptor<String> patchedPassword = ArgumentCaptor.forClass(String.class);
+        userService = newUserService();
+
+        userService.patchUser(savedUserId, null, new UserPatch(null, "newPassword"));
+
+        verify(mockUserRepository)
+            .patch(Mockito.eq(savedUserId), Mockito.isNull(), Mockito.isNull(),
+                patchedPassword.capture());
+        assertThat(new BCryptPasswordEncoder().matches("newPassword", patchedPassword.getValue()))
+            .isTrue();
+    }
+
+    @Test
+    public void patchUserShouldThrowValidationExceptionWhenNoFieldChanges() {
+        userService = newUserService();
+
+        Exception exception = assertThrows(ValidationException.class, () -> {
+            userService.patchUser(UUID.randomUUID(), null, new UserPatch(null, null));
+        });
+
+        assertThat(exception.getMessage()).isEqualTo("Patch must change at least one field");
+    }
+
+    @Test
+    public void patchUserShouldThrowNullOrEmptyExceptionWhenUsernameIsEmpty() {
+        userService = newUserService();
+
+        Exception exception = assertThrows(NullOrEmptyException.class, () -> {
+            userService.patchUser(UUID.randomUUID(), null, new UserPatch("", null));
+        });
+
+        assertThat(exception.getMessage()).isEqualTo("User's username cannot be null or empty");
+    }
+
+    @Test
+    public void patchUserShouldThrowUsernameTakenExceptionWhenUsernameAlreadyExists() {
+        when(mockUserRepository.patch(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
+            .thenThrow(new DuplicateKeyException("E11000 duplicate key error"));
+        userService = newUserService();
+
+        Exception exception = assertThrows(UsernameTakenException.class, () -> {
+            userService.patchUser(UUID.randomUUID(), null, new UserPatch("johnSmith123", null));
+        });
+
+        assertThat(exception.getMessage())
+            .isEqualTo("Cannot update user as johnSmith123 is already taken");
+    }
+
+    @Test
+    public void updateUserShouldThrowVersionConflictExceptionWhenTheVersionIsStale() {
+        UUID savedUserId = UUID.randomUUID();
+        UpdateResult mockUpdateResult = Mockito.mock(UpdateResult.class);
+        when(mockUpdateResult.getMatchedCount()).thenReturn(0L);
+        when(mockUserRepository.update(Mockito.any(User.class))).thenReturn(mockUpdateResult);
+        when(mockUserRepository.findById(savedUserId))
+            .thenReturn(new User(savedUserId, "johnSmith123", "password", 2L));
+        userService = newUserService();
+
+        Exception exception = assertThrows(VersionConflictException.class, () -> {
+            userService.updateUser(new User(savedUserId, "johnSmith123", "password", 1L));
+        });
+
+        assertThat(exception.getMessage()).isEqualTo(
+            "User with id: " + savedUserId + " has been modified since version 1");
+    }
+
+    @Test
+    public void updateUserShouldNotThrowVersionConflictExceptionWhenTheUserDoesNotExist() {
+        UpdateResult mockUpdateResult = Mockito.mock(UpdateResult.class);
+        when(mockUpdateResult.getMatchedCount()).thenReturn(0L);
+        when(mockUserRepository.update(Mockito.any(User.class))).thenReturn(mockUpdateResult);
+        userService = newUserService();
+
+        assertThat(userService
+            .updateUser(new User(UUID.randomUUID(), "johnSmith123", "password", 1L))
+            .getUpdateResult().getMatchedCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void patchUserShouldThrowVersionConflictExceptionWhenTheVersionIsStale() {
+        UUID savedUserId = UUID.randomUUID();
+        when(mockUserRepository.findById(savedUserId))
+            .thenReturn(new User(savedUserId, "johnSmith123", "password", 2L));
+        userService = newUserService();
+
+        assertThrows(VersionConflictException.class, () -> {
+            userService.patchUser(savedUserId, 1L, new UserPatch("joanneSmith123", null));
+        });
+    }
+
+    @Test
+    public void saveUserShouldAppendACreatedEventForTheSavedUser() {
+        User savedUser = new User(UUID.randomUUID(), "johnSmith123", "hashedPassword");
+        ArgumentCaptor<UserEvent> userEvent = ArgumentCaptor.forClass(UserEvent.class);
+        when(mockUserRepository.save(Mockito.any(User.class))).thenReturn(savedUser);
+        userService = newUserService();
+
+        userService.saveUser(new User(null, "johnSmith123", "password"));
+
+        verify(mockUserEventRepository).append(userEvent.capture());
+        assertThat(userEvent.getValue().getType()).isEqualTo(Type.CREATED);
+        assertThat(userEvent.getValue().getUserId()).isEqualTo(savedUser.getId());
+        assertThat(userEvent.getValue().getUsername()).isEqualTo("johnSmith123");
+    }
+
+    @Test
+    public void saveUserShouldNotAppendAnEventWhenTheUsernameIsTaken() {
+        when(mockUserRepository.save(Mockito.any(User.class)))
+            .thenThrow(new DuplicateKeyException("E11000 duplicate key error"));
+        userService = newUserService();
+
+        assertThrows(UsernameTakenException.class,
+            () -> userService.saveUser(new User(null, "johnSmith123", "password")));
+        verify(mockUserEventRepository, never()).append(Mockito.any());
+    }
+
+    @Test
+    public void updateUserShouldAppendAnUpdatedEventWhenTheUserWasModified() {
+        UUID id = UUID.randomUUID();
+        ArgumentCaptor<UserEvent> userEvent = ArgumentCaptor.forClass(UserEvent.class);
+        when(mockUserRepository.update(Mockito.any(User.class)))
+            .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        userService = newUserService();
+
+        userService.updateUser(new User(id, "johnSmith124", "password"));
+
+        verify(mockUserEventRepository).append(userEvent.capture());
+        assertThat(userEvent.getValue().getType()).isEqualTo(Type.UPDATED);
+        assertThat(userEvent.getValue().getUserId()).isEqualTo(id);
+    }
+
+    @Test
+    public void deleteUserByIdShouldAppendADeletedEventWhenTheUserWasDeleted() {
+        UUID id = UUID.randomUUID();
+        ArgumentCaptor<UserEvent> userEvent = ArgumentCaptor.forClass(UserEvent.class);
+        when(mockUserRepository.removeById(id)).thenReturn(DeleteResult.acknowledged(1));
+        userService = newUserService();
+
+        userService.deleteUserById(id);
+
+        verify(mockUserEventRepository).append(userEvent.capture());
+        assertThat(userEvent.getValue().getType()).isEqualTo(Type.DELETED);
+        assertThat(userEvent.getValue().getUserId()).isEqualTo(id);
+    }
+
+    @Test
+    public void deleteUserByIdShouldNotAppendAnEventWhenNoUserWasDeleted() {
+        UUID id = UUID.randomUUID();
+        when(mockUserRepository.removeById(id)).thenReturn(DeleteResult.acknowledged(0));
+        userService = newUserService();
+
+        userService.deleteUserById(id);
+
+        verify(mockUserEventRepository, never()).append(Mockito.any());
+    }
+
+    private UserService newUserService() {
+        UserEventOutbox userEventOutbox = new UserEventOutbox(mockUserEventRepository, null);
+        return new UserService(mockUserRepository, passwordHasher,
+            new UserUpdateBuffer(mockUserRepository, new ReadConsistency(Duration.ofSeconds(90)),
+                userEventOutbox, false, Duration.ofMillis(5), 500, Duration.ofSeconds(5),
+                new SimpleMeterRegistry()), userEventOutbox);
+    }
 }
@@ -0,0 +1,322 @@
+package com.postitapplications.user.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.UpdateResult;
+import com.postitapplications.user.document.User;
+import com.postitapplications.user.document.UserEvent;
+import com.postitapplications.user.dto.UpdateOutcome;
+import com.postitapplications.user.dto.UpdateOutcome.Status;
+import com.postitapplications.user.exception.UpdateUnavailableException;
+import com.postitapplications.user.repository.ReadConsistency;
+import com.postitapplications.user.repository.UserEventRepository;
+import com.postitapplications.user.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+
+@SpringBootTest
+public class UserUpdateBufferTests {
+
+    private static final UpdateResult MATCHED = UpdateResult.acknowledged(1, 1L, null);
+    private static final UpdateResult NOT_MATCHED = UpdateResult.acknowledged(0, 0L, null);
+    private static final Duration AWAIT_TIMEOUT = Duration.ofSeconds(5);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ReadConsistency readConsistency = new ReadConsistency(Duration.ofSeconds(90));
+    private UserUpdateBuffer userUpdateBuffer;
+    @MockBean
+    private UserRepository mockUserRepository;
+    @MockBean
+    private UserEventRepository mockUserEventRepository;
+    private UserEventOutbox userEventOutbox;
+
+    @BeforeEach
+    public void setUp() {
+        userEventOutbox = new UserEventOutbox(mockUserEventRepository, null);
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        if (userUpdateBuffer != null) {
+            userUpdateBuffer.shutdown();
+        }
+
+        readConsistency.clear();
+    }
+
+    @Test
+    public void updateShouldWriteDirectlyWhenWriteBehindIsDisabled() {
+        User user = new User(UUID.randomUUID(), "johnSmith123", "password");
+        when(mockUserRepository.update(user)).thenReturn(MATCHED);
+        userUpdateBuffer = new UserUpdateBuffer(mockUserRepository, readConsistency,
+            userEventOutbox, false, Duration.ofMillis(5), 500, AWAIT_TIMEOUT, meterRegistry);
+
+        assertThat(userUpdateBuffer.update(user).getUpdateResult()).isEqualTo(MATCHED);
+        verify(mockUserRepository, never()).updateAll(Mockito.any());
+    }
+
+    @Test
+    public void updateShouldWriteVersionedUpdatesDirectly() {
+        User user = new User(UUID.randomUUID(), "johnSmith123", "password", 3L);
+        when(mockUserRepository.update(user)).thenReturn(MATCHED);
+        userUpdateBuffer = new UserUpdateBuffer(mockUserRepository, readConsistency,
+            userEventOutbox, true, Duration.ofHours(1), 500, AWAIT_TIMEOUT, meterRegistry);
+
+        assertThat(userUpdateBuffer.update(user).getUpdateResult()).isEqualTo(MATCHED);
+        verify(mockUserRepository, never()).updateAll(Mockito.any());
+    }
+
+    @Test
+    public void updateShouldCoalesceUpdatesToTheSameUserIntoOneWrite() {
+        UUID id = UUID.randomUUID();
+        when(mockUserRepository.updateAll(Mockito.any())).thenReturn(List.of(MATCHED));
+        userUpdateBuffer = new UserUpdateBuffer(mockUserRepository, readConsistency,
+            userEventOutbox, true, Duration.ofHours(1), 500, AWAIT_TIMEOUT, meterRegistry);
+
+        CompletableFuture<UpdateOutcome> firstUpdate = CompletableFuture.supplyAsync(
+            () -> userUpdateBuffer.update(new User(id, "johnSmith123", "password")));
+        awaitPendingCount(1);
+        CompletableFuture<UpdateOutcome> secondUpdate = CompletableFuture.supplyAsync(
+            () -> userUpdateBuffer.update(new User(id, "johnSmith124", "password")));
+        awaitCoalescedCount(1);
+        userUpdateBuffer.flush();
+
+        ArgumentCaptor<List<User>> writtenUsers = ArgumentCaptor.forClass(List.class);
+        assertThat(firstUpdate.join().getUpdateResult()).isEqualTo(MATCHED);
+        assertThat(secondUpdate.join().getUpdateResult()).isEqualTo(MATCHED);
+        verify(mockUserRepository, times(1)).updateAll(writtenUsers.capture());
+        assertThat(writtenUsers.getValue()).extracting(User::getUsername)
+                                           .containsExactly("johnSmith124");
+    }
+
+    @Test
+    public void updateShouldReportACoalescedUpdateAsSupersededByTheUserThatWasWritten() {
+        UUID id = UUID.randomUUID();
+        when(mockUserRepository.updateAll(Mockito.any())).thenReturn(List.of(MATCHED));
+        userUpdateBuffer = new UserUpdateBuffer(mockUserRepository, readConsistency,
+            userEventOutbox, true, Duration.ofHours(1), 500, AWAIT_TIMEOUT, meterRegistry);
+
+        CompletableFuture<UpdateOutcome> firstUpdate = CompletableFuture.supplyAsync(
+            () -> userUpdateBuffer.update(new User(id, "johnSmith123", "password")));
+        awaitPendingCount(1);
+        CompletableFuture<UpdateOutcome> secondUpdate = CompletableFuture.supplyAsync(
+            () -> userUpdateBuffer.update(new User(id, "johnSmith124", "password")));
+        awaitCoalescedCount(1);
+        userUpdateBuffer.flush();
+
+        assertThat(firstUpdate.join().getStatus()).isEqualTo(Status.SUPERSEDED);
+        assertThat(firstUpdate.join().getUser().getUsername()).isEqualTo("johnSmith124");
+        assertThat(secondUpdate.join().getStatus()).isEqualTo(Status.APPLIED);
+        assertThat(secondUpdate.join().getUser().getUsername()).isEqualTo("johnSmith124");
+    }
+
+    @Test
+    public void updateShouldAppendOneUpdatedEventForTheUserThatWasWritten() {
+        UUID id = UUID.randomUUID();
+        when(mockUserRepository.updateAll(Mockito.any())).thenReturn(List.of(MATCHED));
+        userUpdateBuffer = new UserUpdateBuffer(mockUserRepository, readConsistency,
+            userEventOutbox, true, Duration.ofHours(1), 500, AWAIT_TIMEOUT, meterRegistry);
+
+        CompletableFuture<UpdateOutcome> firstUpdate = CompletableFuture.supplyAsync(
+            () -> userUpdateBuffer.update(new User(id, "johnSmith123", "password")));
+        awaitPendingCount(1);
+        CompletableFuture<UpdateOutcome> secondUpdate = CompletableFuture.supplyAsync(
+            () -> userUpdateBuffer.update(new User(id, "johnSmith124", "password")));
+        awaitCoalescedCount(1);
+        userUpdateBuffer.flush();
+        CompletableFuture.allOf(firstUpdate, secondUpdate).join();
+
+        ArgumentCaptor<List<UserEvent>> userEvents = ArgumentCaptor.forClass(List.class);
+        verify(mockUserEventRepository).appendAll(userEvents.capture());
+        assertThat(userEvents.getValue()).extracting(UserEvent::getUsername)
+                                         .containsExactly("johnSmith124");
+        verify(mockUserEventRepository, never()).append(Mockito.any());
+    }
+
+    @Test
+    public void updateShouldNotAppendAnEventWhenTheBufferedUpdateChangedNothing() {
+        when(mockUserRepository.updateAll(Mockito.any())).thenReturn(List.of(NOT_MATCHED));
+        userUpdateBuffer = new UserUpdateBuffer(mockUserRepository, readConsistency,
+            userEventOutbox, true, Duration.ofMillis(5), 500, AWAIT_TIMEOUT, meterRegistry);
+
+        userUpdateBuffer.update(new User(UUID.randomUUID(), "johnSmith123", "password"));
+
+        verify(mockUserEventRepository).appendAll(List.of());
+    }
+
+    @Test
+    public void updateShouldFlushOnceTheBatchIsFull() {
+        when(mockUserRepository.updateAll(Mockito.any())).thenReturn(List.of(MATCHED, MATCHED));
+        userUpdateBuffer = new UserUpdateBuffer(mockUserRepository, readConsistency,
+            userEventOutbox, true, Duration.ofHours(1), 2, AWAIT_TIMEOUT, meterRegistry);
+
+        CompletableFuture<UpdateOutcome> firstUpdate = CompletableFuture.supplyAsync(
+            () -> userUpdateBuffer.update(new User(UUID.randomUUID(), "johnSmith123", "password")));
+        awaitPendingCount(1);
+
+        assertThat(userUpdateBuffer.update(new User(UUID.randomUUID(), "johnSmith124", "password"))
+            .getUpdateResult()).isEqualTo(MATCHED);
+        assertThat(firstUpdate.join().getUpdateResult()).isEqualTo(MATCHED);
+        assertThat(meterRegistry.get("user.update.buffer.batch.size").summary().totalAmount())
+            .isEqualTo(2);
+    }
+
+    @Test
+    public void updateShouldFlushOnTheConfiguredInterval() {
+        when(mockUserRepository.updateAll(Mockito.any())).thenReturn(List.of(MATCHED));
+        userUpdateBuffer = new UserUpdateBuffer(mockUserRepository, readConsistency,
+            userEventOutbox, true, Duration.ofMillis(5), 500, AWAIT_TIMEOUT, meterRegistry);
+
+        assertThat(userUpdateBuffer.update(new User(UUID.randomUUID(), "johnSmith123", "password"))
+            .getUpdateResult()).isEqualTo(MATCHED);
+    }
+
+    @Test
+    public void updateShouldPinTheCallingThreadToThePrimaryAfterABufferedWrite() {
+        when(mockUserRepository.updateAll(Mockito.any())).thenReturn(List.of(MATCHED));
+        userUpdateBuffer = new UserUpdateBuffer(mockUserRepository, readConsistency,
+            userEventOutbox, true, Duration.ofMillis(5), 500, AWAIT_TIMEOUT, meterRegistry);
+
+        userUpdateBuffer.update(new User(UUID.randomUUID(), "johnSmith123", "password"));
+
+        assertThat(readConsistency.isPinnedToPrimary()).isTrue();
+    }
+
+    @Test
+    public void updateShouldThrowDuplicateKeyExceptionForTheUpdateThatFailedInTheBatch() {
+        User conflictingUser = new User(UUID.randomUUID(), "johnSmith123", "password");
+        User otherUser = new User(UUID.randomUUID(), "johnSmith124", "password");
+        when(mockUserRepository.updateAll(Mockito.any()))
+            .thenThrow(bulkOperationException(1, 0));
+        when(mockUserRepository.update(conflictingUser))
+            .thenThrow(new DuplicateKeyException("E11000 duplicate key error"));
+        userUpdateBuffer = new UserUpdateBuffer(mockUserRepository, readConsistency,
+            userEventOutbox, true, Duration.ofHours(1), 2, AWAIT_TIMEOUT, meterRegistry);
+
+        CompletableFuture<UpdateOutcome> conflictingUpdate = CompletableFuture
+            .supplyAsync(() -> userUpdateBuffer.update(conflictingUser));
+        awaitPendingCount(1);
+
+        assertThat(userUpdateBuffer.update(otherUser).getUpdateResult()).isEqualTo(MATCHED);
+        Exception exception = assertThrows(CompletionException.class, conflictingUpdate::join);
+        assertThat(exception.getCause()).isInstanceOf(DuplicateKeyException.class);
+        verify(mockUserRepository, never()).update(otherUser);
+    }
+
+    @Test
+    public void updateShouldReportAnUnfailedUpdateAsNotMatchedWhenTheUserIsGone() {
+        User conflictingUser = new User(UUID.randomUUID(), "johnSmith123", "password");
+        User deletedUser = new User(UUID.randomUUID(), "johnSmith124", "password");
+        when(mockUserRepository.updateAll(Mockito.any()))
+            .thenThrow(bulkOperationException(0, 0));
+        when(mockUserRepository.update(conflictingUser))
+            .thenThrow(new DuplicateKeyException("E11000 duplicate key error"));
+        when(mockUserRepository.findAllByIdsOrUsernames(List.of(deletedUser.getId()), List.of()))
+            .thenReturn(List.of());
+        userUpdateBuffer = new UserUpdateBuffer(mockUserRepository, readConsistency,
+            userEventOutbox, true, Duration.ofHours(1), 2, AWAIT_TIMEOUT, meterRegistry);
+
+        CompletableFuture.supplyAsync(() -> userUpdateBuffer.update(conflictingUser));
+        awaitPendingCount(1);
+
+        assertThat(userUpdateBuffer.update(deletedUser).getUpdateResult())
+            .isEqualTo(NOT_MATCHED);
+        verify(mockUserRepository, never()).update(deletedUser);
+    }
+
+    @Test
+    public void updateShouldCancelTheUpdateWhenItIsStillPendingAfterTheTimeout() {
+        userUpdateBuffer = new UserUpdateBuffer(mockUserRepository, readConsistency,
+            userEventOutbox, true, Duration.ofHours(1), 500, Duration.ofMillis(50), meterRegistry);
+
+        Exception exception = assertThrows(UpdateUnavailableException.class, () -> {
+            userUpdateBuffer.update(new User(UUID.randomUUID(), "johnSmith123", "password"));
+        });
+        userUpdateBuffer.flush();
+
+        assertThat(exception.getMessage())
+            .isEqualTo("Timed out waiting for the update to be written, so it was cancelled");
+        assertThat(userUpdateBuffer.getPendingCount()).isEqualTo(0);
+        verify(mockUserRepository, never()).updateAll(Mockito.any());
+    }
+
+    @Test
+    public void updateShouldReportTheUpdateAsAcceptedWhenItIsBeingWrittenAfterTheTimeout() {
+        CountDownLatch writeReleased = new CountDownLatch(1);
+        when(mockUserRepository.updateAll(Mockito.any())).thenAnswer(invocation -> {
+            writeReleased.await();
+            return List.of(MATCHED);
+        });
+        userUpdateBuffer = new UserUpdateBuffer(mockUserRepository, readConsistency,
+            userEventOutbox, true, Duration.ofHours(1), 1, Duration.ofMillis(50), meterRegistry);
+
+        try {
+            assertThat(userUpdateBuffer
+                .update(new User(UUID.randomUUID(), "johnSmith123", "password")).getStatus())
+                .isEqualTo(Status.ACCEPTED);
+        } finally {
+            writeReleased.countDown();
+        }
+    }
+
+    @Test
+    public void updateShouldWriteDirectlyOnceTheBufferHasShutDown() throws InterruptedException {
+        User user = new User(UUID.randomUUID(), "johnSmith123", "password");
+        when(mockUserRepository.update(user)).thenReturn(MATCHED);
+        userUpdateBuffer = new UserUpdateBuffer(mockUserRepository, readConsistency,
+            userEventOutbox, true, Duration.ofHours(1), 500, AWAIT_TIMEOUT, meterRegistry);
+        userUpdateBuffer.shutdown();
+
+        assertThat(userUpdateBuffer.update(user).getUpdateResult()).isEqualTo(MATCHED);
+        verify(mockUserRepository, never()).updateAll(Mockito.any());
+    }
+
+    private BulkOperationException bulkOperationException(int matchedCount, int failedIndex) {
+        BulkWriteError duplicateKeyError = new BulkWriteError(11000, "E11000 duplicate key error",
+            new BsonDocument(), failedIndex);
+        BulkWriteResult bulkWriteResult = BulkWriteResult.acknowledged(0, matchedCount, 0,
+            matchedCount, Collections.emptyList());
+        return new BulkOperationException("Bulk write failed", new MongoBulkWriteException(
+            bulkWriteResult, Collections.singletonList(duplicateKeyError), null,
+            new ServerAddress()));
+    }
+
+    private void awaitPendingCount(int pendingCount) {
+        while (userUpdateBuffer.getPendingCount() < pendingCount) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private void awaitCoalescedCount(int coalescedCount) {
+        while (meterRegistry.get("user.update.buffer.coalesced").counter().count()
+            < coalescedCount) {
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.postitapplications.user.utility;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+public class BloomFilterTests {
+
+    @Test
+    public void mightContainShouldReturnTrueForEveryValuePut() {
+        BloomFilter bloomFilter = new BloomFilter(1000, 0.01);
+        IntStream.range(0, 1000).forEach(i -> bloomFilter.put("johnSmith" + i));
+
+        assertThat(IntStream.range(0, 1000))
+            .allMatch(i -> bloomFilter.mightContain("johnSmith" + i));
+    }
+
+    @Test
+    public void mightContainShouldStayNearTheConfiguredFalsePositiveRate() {
+        BloomFilter bloomFilter = new BloomFilter(10000, 0.01);
+        IntStream.range(0, 10000).forEach(i -> bloomFilter.put("johnSmith" + i));
+
+        long falsePositives = IntStream.range(0, 10000)
+                                       .filter(i -> bloomFilter.mightContain("joanneSmith" + i))
+                                       .count();
+
+        assertThat(falsePositives).isLessThan(200);
+        assertThat(bloomFilter.getExpectedFalsePositiveRate()).isBetween(0.005, 0.02);
+    }
+
+    @Test
+    public void getApproximateElementCountShouldEstimateTheNumberOfValuesPut() {
+        BloomFilter bloomFilter = new BloomFilter(10000, 0.01);
+        IntStream.range(0, 5000).forEach(i -> bloomFilter.put("johnSmith" + i));
+
+        assertThat(bloomFilter.getApproximateElementCount()).isBetween(4750L, 5250L);
+    }
+
+    @Test
+    public void constructorShouldSizeTheFilterForTheFalsePositiveRate() {
+        BloomFilter bloomFilter = new BloomFilter(1000000, 0.01);
+
+        assertThat(bloomFilter.getSizeInBytes()).isBetween(1190000L, 1210000L);
+        assertThat(bloomFilter.getHashCount()).isEqualTo(7);
+    }
+
+    @Test
+    public void constructorShouldThrowIllegalArgumentExceptionForAnInvalidFalsePositiveRate() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            new BloomFilter(1000, 1);
+        });
+
+        assertThat(exception.getMessage())
+            .isEqualTo("False positive rate must be between 0 and 1 but was 1.0");
+    }
+}
@@ -0,0 +1,37 @@
+package com.postitapplications.user.utility;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.postitapplications.exception.exceptions.ValidationException;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+public class ConsistencyTokensTests {
+
+    @Test
+    public void fromTokenShouldReturnTheInstantTheTokenWasIssuedFor() {
+        Instant writtenAt = Instant.ofEpochMilli(1600000000123L);
+
+        assertThat(ConsistencyTokens.fromToken(ConsistencyTokens.toToken(writtenAt)))
+            .isEqualTo(writtenAt);
+    }
+
+    @Test
+    public void fromTokenShouldReturnNullWhenNoTokenIsGiven() {
+        assertThat(ConsistencyTokens.fromToken(null)).isNull();
+        assertThat(ConsistencyTokens.fromToken(" ")).isNull();
+    }
+
+    @Test
+    public void fromTokenShouldThrowValidationExceptionForAMalformedToken() {
+        Exception exception = assertThrows(ValidationException.class, () -> {
+            ConsistencyTokens.fromToken("not-a-token");
+        });
+
+        assertThat(exception.getMessage())
+            .isEqualTo("X-Consistency-Token not-a-token is not a valid consistency token");
+    }
+}
@@ -0,0 +1,67 @@
+package com.postitapplications.user.utility;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+@SpringBootTest
+public class TransactionHooksTests {
+
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void afterCommitShouldRunImmediatelyOutsideATransaction() {
+        TransactionHooks.afterCommit(runs::incrementAndGet);
+
+        assertThat(runs.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void afterCommitShouldWaitForTheTransactionToCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        TransactionHooks.afterCommit(runs::incrementAndGet);
+
+        assertThat(runs.get()).isZero();
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        assertThat(runs.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void afterCommitShouldNotRunWhenTheTransactionRollsBack() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        TransactionHooks.afterCommit(runs::incrementAndGet);
+        TransactionSynchronizationUtils.invokeAfterCompletion(
+            TransactionSynchronizationManager.getSynchronizations(),
+            TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(runs.get()).isZero();
+    }
+
+    @Test
+    public void afterCompletionShouldRunWhenTheTransactionRollsBack() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        TransactionHooks.afterCompletion(runs::incrementAndGet);
+
+        assertThat(runs.get()).isZero();
+        TransactionSynchronizationUtils.invokeAfterCompletion(
+            TransactionSynchronizationManager.getSynchronizations(),
+            TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertThat(runs.get()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,30 @@
+package com.postitapplications.user.utility;
+
+import com.postitapplications.user.document.User;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public final class UserRequestBodies {
+
+    private UserRequestBodies() {
+    }
+
+    public static Map<String, Object> of(User user) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("id", user.getId());
+        body.put("username", user.getUsername());
+        body.put("password", user.getPassword());
+
+        if (user.getVersion() != null) {
+            body.put("version", user.getVersion());
+        }
+
+        return body;
+    }
+
+    public static List<Map<String, Object>> of(List<User> users) {
+        return users.stream().map(UserRequestBodies::of).collect(Collectors.toList());
+    }
+}
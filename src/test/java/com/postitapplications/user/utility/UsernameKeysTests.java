@@ -0,0 +1,35 @@
+package com.postitapplications.user.utility;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+public class UsernameKeysTests {
+
+    @Test
+    public void ofShouldFoldCase() {
+        assertThat(UsernameKeys.of("JohnSmith123")).isEqualTo(UsernameKeys.of("johnsmith123"));
+    }
+
+    @Test
+    public void ofShouldNormalizeCompatibilityCharacters() {
+        assertThat(UsernameKeys.of("ｊｏｈｎ")).isEqualTo("john");
+    }
+
+    @Test
+    public void ofShouldNormalizeComposedAndDecomposedCharacters() {
+        assertThat(UsernameKeys.of("José")).isEqualTo(UsernameKeys.of("josé"));
+    }
+
+    @Test
+    public void ofShouldFoldCharactersWithMultiCharacterUppercase() {
+        assertThat(UsernameKeys.of("straße")).isEqualTo(UsernameKeys.of("STRASSE"));
+    }
+
+    @Test
+    public void ofShouldReturnNullForANullUsername() {
+        assertThat(UsernameKeys.of(null)).isNull();
+    }
+}
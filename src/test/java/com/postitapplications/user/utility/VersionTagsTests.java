@@ -0,0 +1,78 @@
+package com.postitapplications.user.utility;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.postitapplications.exception.exceptions.ValidationException;
+import com.postitapplications.user.document.User;
+import com.postitapplications.user.exception.VersionConflictException;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+public class VersionTagsTests {
+
+    @Test
+    public void toETagShouldQuoteTheVersion() {
+        assertThat(VersionTags.toETag(3L)).isEqualTo("\"3\"");
+    }
+
+    @Test
+    public void eTagOfShouldUseTheVersionWhenPresent() {
+        assertThat(VersionTags.eTagOf(new User(UUID.randomUUID(), "johnSmith123", "password", 3L)))
+            .isEqualTo("\"3\"");
+    }
+
+    @Test
+    public void eTagOfShouldHashTheContentOfUnversionedUsers() {
+        UUID id = UUID.randomUUID();
+        String eTag = VersionTags.eTagOf(new User(id, "johnSmith123", "password"));
+
+        assertThat(eTag).startsWith("W/\"")
+                        .isEqualTo(VersionTags.eTagOf(new User(id, "johnSmith123", "password")))
+                        .isNotEqualTo(VersionTags.eTagOf(new User(id, "johnSmith124", "password")));
+    }
+
+    @Test
+    public void fromIfMatchShouldReturnTheQuotedVersion() {
+        assertThat(VersionTags.fromIfMatch("\"3\"")).isEqualTo(3L);
+    }
+
+    @Test
+    public void fromIfMatchShouldReturnNullForAWildcard() {
+        assertThat(VersionTags.fromIfMatch("*")).isNull();
+    }
+
+    @Test
+    public void fromIfMatchShouldReturnNullWhenHeaderIsAbsent() {
+        assertThat(VersionTags.fromIfMatch(null)).isNull();
+    }
+
+    @Test
+    public void fromIfMatchShouldThrowVersionConflictExceptionForAWeakTag() {
+        Exception exception = assertThrows(VersionConflictException.class, () -> {
+            VersionTags.fromIfMatch("W/\"3\"");
+        });
+
+        assertThat(exception.getMessage()).isEqualTo(
+            "If-Match W/\"3\" is a weak tag and never matches for a write, send the update "
+                + "without If-Match to version the user");
+    }
+
+    @Test
+    public void fromIfMatchShouldRejectTheWeakTagIssuedForAnUnversionedUser() {
+        String eTag = VersionTags.eTagOf(new User(UUID.randomUUID(), "johnSmith123", "password"));
+
+        assertThrows(VersionConflictException.class, () -> {
+            VersionTags.fromIfMatch(eTag);
+        });
+    }
+
+    @Test
+    public void fromIfMatchShouldThrowValidationExceptionForANonNumericTag() {
+        assertThrows(ValidationException.class, () -> {
+            VersionTags.fromIfMatch("\"abc\"");
+        });
+    }
+}